@@ -0,0 +1,195 @@
+package com.sipios.spring.data.event.benchmark;
+
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+
+import java.math.BigDecimal;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Entity shapes measured by the benchmarks: a flat entity, a wide entity and a graph of bidirectional associations
+ * serialized through the object identity mixin.
+ */
+public final class BenchmarkEntities {
+
+    private BenchmarkEntities() {
+    }
+
+    public enum Shape {
+        FLAT, WIDE, GRAPH
+    }
+
+    static Object create(Shape shape) {
+        return switch (shape) {
+            case FLAT -> new FlatEntity(1L, "Test Name", "test@sipios.com", true, 1700000000000L);
+            case WIDE -> WideEntity.create();
+            case GRAPH -> Customer.create(5, 5);
+        };
+    }
+
+    @DataEventEntity
+    @Getter
+    @AllArgsConstructor
+    static class FlatEntity {
+        private long id;
+        private String name;
+        private String email;
+        private boolean active;
+        private long createdAt;
+    }
+
+    @DataEventEntity
+    @Getter
+    static class WideEntity {
+        private long id;
+        private int field01;
+        private long field02;
+        private double field03;
+        private boolean field04;
+        private String field05;
+        private int field06;
+        private long field07;
+        private double field08;
+        private boolean field09;
+        private String field10;
+        private int field11;
+        private long field12;
+        private double field13;
+        private boolean field14;
+        private String field15;
+        private int field16;
+        private long field17;
+        private double field18;
+        private boolean field19;
+        private String field20;
+        private int field21;
+        private long field22;
+        private double field23;
+        private boolean field24;
+        private String field25;
+        private int field26;
+        private long field27;
+        private double field28;
+        private boolean field29;
+        private String field30;
+        private int field31;
+        private long field32;
+        private double field33;
+        private boolean field34;
+        private String field35;
+        private int field36;
+        private long field37;
+        private double field38;
+        private boolean field39;
+        private String field40;
+
+        static WideEntity create() {
+            WideEntity entity = new WideEntity();
+            entity.id = 1L;
+            entity.field01 = 1;
+            entity.field02 = 2L;
+            entity.field03 = 3.5;
+            entity.field04 = false;
+            entity.field05 = "value-5";
+            entity.field06 = 6;
+            entity.field07 = 7L;
+            entity.field08 = 8.5;
+            entity.field09 = true;
+            entity.field10 = "value-10";
+            entity.field11 = 11;
+            entity.field12 = 12L;
+            entity.field13 = 13.5;
+            entity.field14 = false;
+            entity.field15 = "value-15";
+            entity.field16 = 16;
+            entity.field17 = 17L;
+            entity.field18 = 18.5;
+            entity.field19 = true;
+            entity.field20 = "value-20";
+            entity.field21 = 21;
+            entity.field22 = 22L;
+            entity.field23 = 23.5;
+            entity.field24 = false;
+            entity.field25 = "value-25";
+            entity.field26 = 26;
+            entity.field27 = 27L;
+            entity.field28 = 28.5;
+            entity.field29 = true;
+            entity.field30 = "value-30";
+            entity.field31 = 31;
+            entity.field32 = 32L;
+            entity.field33 = 33.5;
+            entity.field34 = false;
+            entity.field35 = "value-35";
+            entity.field36 = 36;
+            entity.field37 = 37L;
+            entity.field38 = 38.5;
+            entity.field39 = true;
+            entity.field40 = "value-40";
+            return entity;
+        }
+    }
+
+    @DataEventEntity
+    @Getter
+    static class Customer {
+        private long id;
+        private String name;
+        private Address address;
+        private final List<Order> orders = new ArrayList<>();
+
+        static Customer create(int orderCount, int lineCount) {
+            Customer customer = new Customer();
+            customer.id = 1L;
+            customer.name = "Test Name";
+            customer.address = new Address(1L, "1 rue de Rivoli", "Paris", "75001");
+            long lineId = 1;
+            for (int i = 1; i <= orderCount; i++) {
+                Order order = new Order(i, "ORD-" + i, customer, new ArrayList<>());
+                for (int j = 1; j <= lineCount; j++) {
+                    Product product = new Product(j, "Product " + j, BigDecimal.valueOf(j * 10L));
+                    order.getLines().add(new OrderLine(lineId++, j, product, order));
+                }
+                customer.orders.add(order);
+            }
+            return customer;
+        }
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Address {
+        private long id;
+        private String street;
+        private String city;
+        private String zipCode;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Order {
+        private long id;
+        private String reference;
+        private Customer customer;
+        private List<OrderLine> lines;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class OrderLine {
+        private long id;
+        private int quantity;
+        private Product product;
+        private Order order;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    static class Product {
+        private long id;
+        private String name;
+        private BigDecimal price;
+    }
+}
@@ -0,0 +1,43 @@
+package com.sipios.spring.data.event.benchmark;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.dispatcher.DataEventDispatcher;
+import com.sipios.spring.data.event.listener.DataEventListener;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metrics.DataEventMetrics;
+import com.sipios.spring.data.event.outbox.OutboxWriter;
+import com.sipios.spring.data.event.serializer.EventSerializers;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+/**
+ * Wires the library by hand, the way the Spring context would, around an in-memory producer.
+ */
+final class BenchmarkFixtures {
+
+    private BenchmarkFixtures() {
+    }
+
+    static DataEventBroadcaster broadcaster(InMemoryProducer<String> producer) {
+        return new DataEventBroadcaster(new KafkaTemplate<>(() -> producer), new ObjectMapper());
+    }
+
+    static DataEventBroadcaster broadcaster(InMemoryProducer<String> producer, InMemoryProducer<byte[]> binaryProducer) {
+        DataEventBroadcaster broadcaster = broadcaster(producer);
+        broadcaster.setBinaryKafkaTemplate(new KafkaTemplate<>(() -> binaryProducer));
+        return broadcaster;
+    }
+
+    static DataEventMetadataRegistry registry(DataEventBroadcaster broadcaster, DataEventProperties properties) {
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        return new DataEventMetadataRegistry(new EventSerializers(broadcaster, properties, extensions), extensions);
+    }
+
+    static DataEventListener listener(DataEventBroadcaster broadcaster, DataEventProperties properties, DataEventMetadataRegistry registry) {
+        DataEventDispatcher dispatcher = new DataEventDispatcher(broadcaster, properties, DataEventMetrics.NOOP);
+        return new DataEventListener(dispatcher, registry, null, new OutboxWriter(broadcaster, properties), DataEventMetrics.NOOP);
+    }
+}
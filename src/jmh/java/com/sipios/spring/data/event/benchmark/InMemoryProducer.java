@@ -0,0 +1,25 @@
+package com.sipios.spring.data.event.benchmark;
+
+import org.apache.kafka.clients.producer.MockProducer;
+import org.apache.kafka.common.serialization.Serializer;
+
+import java.time.Duration;
+
+/**
+ * Auto-completing in-memory producer, kept open across sends since {@code KafkaTemplate} closes the producer it
+ * obtained after each operation.
+ */
+class InMemoryProducer<V> extends MockProducer<String, V> {
+
+    InMemoryProducer(Serializer<String> keySerializer, Serializer<V> valueSerializer) {
+        super(true, keySerializer, valueSerializer);
+    }
+
+    @Override
+    public void close() {
+    }
+
+    @Override
+    public void close(Duration timeout) {
+    }
+}
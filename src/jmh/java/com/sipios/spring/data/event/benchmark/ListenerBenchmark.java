@@ -0,0 +1,58 @@
+package com.sipios.spring.data.event.benchmark;
+
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.listener.DataEventListener;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of the listener before serialization: metadata lookup, topic resolution, and the early exit taken for entities
+ * that are not annotated.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class ListenerBenchmark {
+
+    private DataEventMetadataRegistry registry;
+    private DataEventListener listener;
+    private Object annotatedEntity;
+    private PostInsertEvent ignoredEvent;
+
+    @Setup
+    public void setup() {
+        DataEventProperties properties = new DataEventProperties();
+        DataEventBroadcaster broadcaster = BenchmarkFixtures.broadcaster(new InMemoryProducer<>(new StringSerializer(), new StringSerializer()));
+        registry = BenchmarkFixtures.registry(broadcaster, properties);
+        listener = BenchmarkFixtures.listener(broadcaster, properties, registry);
+        annotatedEntity = BenchmarkEntities.create(BenchmarkEntities.Shape.FLAT);
+        ignoredEvent = new PostInsertEvent(new NotAnnotatedEntity(1L), 1L, new Object[0], null, null);
+    }
+
+    @Benchmark
+    public Object metadataLookup() {
+        return registry.getMetadata(annotatedEntity);
+    }
+
+    @Benchmark
+    public String topicResolution() {
+        return registry.getMetadata(annotatedEntity).topic(DataEventType.CREATED);
+    }
+
+    @Benchmark
+    public void notAnnotatedEntity() {
+        listener.onPostInsert(ignoredEvent);
+    }
+
+    record NotAnnotatedEntity(long id) {
+    }
+}
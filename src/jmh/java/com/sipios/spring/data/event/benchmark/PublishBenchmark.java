@@ -0,0 +1,65 @@
+package com.sipios.spring.data.event.benchmark;
+
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.listener.DataEventListener;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * End-to-end publication of a committed insert, from the listener to an in-memory producer, through the legacy
+ * broadcaster API and the listener path.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class PublishBenchmark {
+
+    @Param({"FLAT", "WIDE", "GRAPH"})
+    private BenchmarkEntities.Shape shape;
+
+    @Param({"false", "true"})
+    private boolean jsonAsBytes;
+
+    private InMemoryProducer<String> producer;
+    private InMemoryProducer<byte[]> binaryProducer;
+    private DataEventBroadcaster broadcaster;
+    private DataEventListener listener;
+    private Object entity;
+    private PostInsertEvent event;
+
+    @Setup
+    public void setup() {
+        DataEventProperties properties = new DataEventProperties();
+        properties.setSerializationJsonAsBytes(jsonAsBytes);
+        producer = new InMemoryProducer<>(new StringSerializer(), new StringSerializer());
+        binaryProducer = new InMemoryProducer<>(new StringSerializer(), new ByteArraySerializer());
+        broadcaster = BenchmarkFixtures.broadcaster(producer, binaryProducer);
+        listener = BenchmarkFixtures.listener(broadcaster, properties, BenchmarkFixtures.registry(broadcaster, properties));
+        entity = BenchmarkEntities.create(shape);
+        event = new PostInsertEvent(entity, 1L, new Object[0], null, null);
+    }
+
+    @TearDown(Level.Iteration)
+    public void clearProducer() {
+        producer.clear();
+        binaryProducer.clear();
+    }
+
+    @Benchmark
+    public void broadcastEntityCreated() {
+        broadcaster.broadcastEntityCreated(entity, "");
+    }
+
+    @Benchmark
+    public void listenerOnPostInsert() {
+        listener.onPostInsert(event);
+    }
+}
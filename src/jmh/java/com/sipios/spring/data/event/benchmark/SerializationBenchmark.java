@@ -0,0 +1,59 @@
+package com.sipios.spring.data.event.benchmark;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.serializer.JacksonEventSerializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.openjdk.jmh.annotations.*;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Serialization of flat, wide and associated entity graphs with the mapper configured by the broadcaster, including
+ * the object identity mixin.
+ */
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+@State(Scope.Benchmark)
+public class SerializationBenchmark {
+
+    @Param({"FLAT", "WIDE", "GRAPH"})
+    private BenchmarkEntities.Shape shape;
+
+    private ObjectMapper objectMapper;
+    private JacksonEventSerializer serializer;
+    private Object entity;
+    private DataEvent event;
+
+    @Setup
+    public void setup() {
+        DataEventBroadcaster broadcaster = BenchmarkFixtures.broadcaster(new InMemoryProducer<>(new StringSerializer(), new StringSerializer()));
+        objectMapper = broadcaster.getObjectMapper();
+        serializer = broadcaster.getJsonSerializer();
+        entity = BenchmarkEntities.create(shape);
+        event = new DataEvent(DataEventType.CREATED, entity,
+                BenchmarkFixtures.registry(broadcaster, new DataEventProperties()).getMetadata(entity));
+    }
+
+    @Benchmark
+    public String objectMapper() throws JsonProcessingException {
+        return objectMapper.writeValueAsString(entity);
+    }
+
+    @Benchmark
+    public String eventSerializerToString() {
+        return serializer.serializeToString(event);
+    }
+
+    @Benchmark
+    public byte[] eventSerializerToBytes() {
+        return serializer.serialize(event);
+    }
+}
@@ -0,0 +1,15 @@
+package com.sipios.spring.data.event.annotation;
+
+/**
+ * Events published for an HQL or criteria bulk update or delete statement.
+ */
+public enum BulkMode {
+    /**
+     * One event per changed entity, the entities being resolved with a single query sharing the statement restriction.
+     */
+    ENTITIES,
+    /**
+     * A single {@code BulkChange} event describing the statement, its parameters and the number of changed rows.
+     */
+    STATEMENT
+}
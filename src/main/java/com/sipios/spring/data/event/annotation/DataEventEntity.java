@@ -1,6 +1,14 @@
 package com.sipios.spring.data.event.annotation;
 
 
+import com.sipios.spring.data.event.filter.DataEventFilter;
+import com.sipios.spring.data.event.key.IdentifierKeyStrategy;
+import com.sipios.spring.data.event.key.RecordKeyStrategy;
+import com.sipios.spring.data.event.routing.TemplateTopicRouter;
+import com.sipios.spring.data.event.routing.TopicRouter;
+import com.sipios.spring.data.event.serializer.EventSerializer;
+import com.sipios.spring.data.event.sink.DataEventSink;
+
 import java.lang.annotation.ElementType;
 import java.lang.annotation.Retention;
 import java.lang.annotation.Target;
@@ -14,4 +22,107 @@ public @interface DataEventEntity {
     String creationTopic() default "";
     String deletionTopic() default "";
     String updateTopic() default "";
-}
\ No newline at end of file
+
+    /**
+     * Topic template of every event, such as {@code {entity}} or {@code {entity}.{type}.{tenantId}}, taking precedence
+     * over the topics of each event type. See {@link TemplateTopicRouter} for the placeholders.
+     */
+    String topic() default "";
+
+    /**
+     * Custom router choosing the topic of each event, takes precedence over the topics.
+     */
+    Class<? extends TopicRouter> topicRouter() default TopicRouter.class;
+
+    /**
+     * Content of update events, deletion and creation events always carry the whole entity.
+     */
+    PayloadMode payload() default PayloadMode.FULL;
+
+    SerializationFormat format() default SerializationFormat.DEFAULT;
+
+    /**
+     * Source of the payload written by the Jackson based formats, ignored by Avro and custom serializers.
+     */
+    PayloadSource source() default PayloadSource.DEFAULT;
+
+    /**
+     * Custom serializer of the entity events, takes precedence over {@link #format()}.
+     */
+    Class<? extends EventSerializer> serializer() default EventSerializer.class;
+
+    /**
+     * Strategy computing the key of the records, the entity identifier by default.
+     */
+    Class<? extends RecordKeyStrategy> keyStrategy() default IdentifierKeyStrategy.class;
+
+    /**
+     * Number of association levels written in full below the entity, deeper associated entities being written as their
+     * identifier. Unlimited when negative.
+     */
+    int maxDepth() default -1;
+
+    /**
+     * Properties written in the events, all of them when empty.
+     */
+    String[] includes() default {};
+
+    /**
+     * Properties left out of the events.
+     */
+    String[] excludes() default {};
+
+    /**
+     * Properties whose change triggers an update event, any property when empty.
+     */
+    String[] triggerProperties() default {};
+
+    /**
+     * Properties whose change alone does not trigger an update event, such as audit columns.
+     */
+    String[] ignoredProperties() default {};
+
+    /**
+     * Filter deciding which events are published, evaluated before serialization along with the dirty properties
+     * conditions.
+     */
+    Class<? extends DataEventFilter> filter() default DataEventFilter.class;
+
+    /**
+     * Sinks the events are published to, Kafka alone when empty. See {@code KafkaDataEventSink},
+     * {@code LocalDataEventSink} and {@code FileDataEventSink}.
+     */
+    Class<? extends DataEventSink>[] sinks() default {};
+
+    /**
+     * Publication of the update events, the configured one by default. See {@link PublicationMode}.
+     */
+    PublicationMode publication() default PublicationMode.DEFAULT;
+
+    /**
+     * Maximum number of update events per second and per entity in {@link PublicationMode#RATE_LIMITED} mode, the
+     * configured one when not positive.
+     */
+    int maxEventsPerSecond() default -1;
+
+    /**
+     * Number of changes of an entity merged into one update event in {@link PublicationMode#SAMPLED} mode, the
+     * configured one when not positive.
+     */
+    int sampleEvery() default -1;
+
+    /**
+     * Period of the update events in {@link PublicationMode#SNAPSHOT} mode, the configured one when not positive.
+     */
+    long snapshotIntervalMs() default -1;
+
+    /**
+     * Events published for the bulk statements executed through {@code BulkDataEvents}.
+     */
+    BulkMode bulk() default BulkMode.ENTITIES;
+
+    /**
+     * Compression of the Kafka records, the configured one by default. See {@link RecordCompression}.
+     */
+    RecordCompression compression() default RecordCompression.DEFAULT;
+}
@@ -1,7 +1,22 @@
 package com.sipios.spring.data.event.annotation;
 
 import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.dispatcher.DataEventDispatcher;
+import com.sipios.spring.data.event.listener.BulkDataEvents;
 import com.sipios.spring.data.event.listener.DataEventListener;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metrics.DataEventMetricsConfiguration;
+import com.sipios.spring.data.event.outbox.OutboxRelay;
+import com.sipios.spring.data.event.outbox.OutboxWriter;
+import com.sipios.spring.data.event.serializer.EventSerializers;
+import com.sipios.spring.data.event.sink.FileDataEventSink;
+import com.sipios.spring.data.event.sink.KafkaDataEventSink;
+import com.sipios.spring.data.event.sink.LocalDataEventSink;
+import com.sipios.spring.data.event.spill.SpillReplayer;
+import com.sipios.spring.data.event.startup.DataEventStartup;
+import com.sipios.spring.data.event.stream.DataEventStream;
 import org.springframework.context.annotation.Import;
 
 import java.lang.annotation.Documented;
@@ -15,6 +30,6 @@ import static java.lang.annotation.RetentionPolicy.RUNTIME;
 @Target(ElementType.TYPE)
 @Retention(RUNTIME)
 @Documented
-@Import({DataEventBroadcaster.class, DataEventListener.class})
+@Import({DataEventProperties.class, DataEventExtensions.class, DataEventMetricsConfiguration.class, DataEventBroadcaster.class, EventSerializers.class, DataEventMetadataRegistry.class, DataEventDispatcher.class, OutboxWriter.class, OutboxRelay.class, SpillReplayer.class, DataEventListener.class, BulkDataEvents.class, DataEventStartup.class, KafkaDataEventSink.class, LocalDataEventSink.class, FileDataEventSink.class, DataEventStream.class})
 public @interface EnableDataEvent {
 }
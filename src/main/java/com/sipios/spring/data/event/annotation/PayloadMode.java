@@ -0,0 +1,19 @@
+package com.sipios.spring.data.event.annotation;
+
+/**
+ * Content of the message published for an update event.
+ */
+public enum PayloadMode {
+    /**
+     * The whole entity.
+     */
+    FULL,
+    /**
+     * The entity id and the new value of the properties changed by the update, under {@code changes}.
+     */
+    DELTA,
+    /**
+     * Same as {@link #DELTA}, with the previous value of the changed properties under {@code previous}.
+     */
+    DELTA_WITH_OLD
+}
@@ -0,0 +1,20 @@
+package com.sipios.spring.data.event.annotation;
+
+/**
+ * Where the Jackson based serializers read the payload of an event from.
+ */
+public enum PayloadSource {
+    /**
+     * Use the source configured with {@code data-event.serialization.source}.
+     */
+    DEFAULT,
+    /**
+     * The entity object, through its getters.
+     */
+    ENTITY,
+    /**
+     * The committed state carried by the Hibernate event, associations being written as their identifier. Events
+     * without state, such as the ones of stateless sessions, are read from the entity.
+     */
+    STATE
+}
@@ -0,0 +1,28 @@
+package com.sipios.spring.data.event.annotation;
+
+/**
+ * How the update events of an entity are published. Creation and deletion events are always published right away.
+ */
+public enum PublicationMode {
+    /**
+     * Use the mode configured with {@code data-event.publication.mode}.
+     */
+    DEFAULT,
+    /**
+     * Every update event.
+     */
+    ALL,
+    /**
+     * At most a number of update events per second and per entity, the changes made in between being merged into the
+     * next event, published once the rate allows it.
+     */
+    RATE_LIMITED,
+    /**
+     * One update event every given number of changes of an entity, merging them.
+     */
+    SAMPLED,
+    /**
+     * A periodic update event holding the latest state of each entity that changed during the period.
+     */
+    SNAPSHOT
+}
@@ -0,0 +1,33 @@
+package com.sipios.spring.data.event.annotation;
+
+import java.util.Locale;
+
+/**
+ * Compression of the Kafka records of an entity, applied by the producer to the record batches and undone by the
+ * consumers transparently.
+ */
+public enum RecordCompression {
+    /**
+     * Use the compression configured with {@code data-event.compression.type}.
+     */
+    DEFAULT,
+    /**
+     * The {@code compression.type} of the producer configuration.
+     */
+    PRODUCER,
+    NONE,
+    GZIP,
+    SNAPPY,
+    LZ4,
+    /**
+     * Usually the best ratio, suited to large payloads.
+     */
+    ZSTD;
+
+    /**
+     * Value of the {@code compression.type} producer setting.
+     */
+    public String getType() {
+        return name().toLowerCase(Locale.ROOT);
+    }
+}
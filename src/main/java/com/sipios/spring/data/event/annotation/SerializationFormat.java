@@ -0,0 +1,27 @@
+package com.sipios.spring.data.event.annotation;
+
+/**
+ * Built-in encodings of the published events.
+ */
+public enum SerializationFormat {
+    /**
+     * Use the format configured with {@code data-event.serialization.format}.
+     */
+    DEFAULT,
+    /**
+     * JSON text, sent as a {@code String}.
+     */
+    JSON,
+    /**
+     * Binary JSON, requires {@code jackson-dataformat-smile}.
+     */
+    SMILE,
+    /**
+     * Binary JSON, requires {@code jackson-dataformat-cbor}.
+     */
+    CBOR,
+    /**
+     * Avro binary records with a schema generated from the entity class, requires {@code jackson-dataformat-avro}.
+     */
+    AVRO
+}
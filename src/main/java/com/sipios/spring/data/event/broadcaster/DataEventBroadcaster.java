@@ -4,27 +4,116 @@ import com.fasterxml.jackson.annotation.JsonIdentityInfo;
 import com.fasterxml.jackson.annotation.ObjectIdGenerators;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.annotation.RecordCompression;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.delivery.DeadLetterFileHandler;
+import com.sipios.spring.data.event.delivery.DeadLetterTopicHandler;
+import com.sipios.spring.data.event.delivery.InFlightLimiter;
+import com.sipios.spring.data.event.delivery.RetryPolicy;
+import com.sipios.spring.data.event.delivery.SendFailureHandler;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.metrics.DataEventMetrics;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.model.DataEventRecord;
+import com.sipios.spring.data.event.serializer.AssociationModule;
+import com.sipios.spring.data.event.serializer.EventSerializer;
+import com.sipios.spring.data.event.serializer.JacksonEventSerializer;
+import com.sipios.spring.data.event.sink.SinkEvent;
+import com.sipios.spring.data.event.spill.SpillJournal;
+import jakarta.annotation.PostConstruct;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.apache.kafka.common.serialization.ByteArraySerializer;
 import org.hibernate.CallbackException;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.core.ProducerFactory;
 import org.springframework.stereotype.Component;
 
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.BiConsumer;
+
+/**
+ * Serializes data events and sends them to Kafka.
+ * <p>
+ * Every record takes a permit of its topic from the {@link InFlightLimiter} before being sent and gives it back once it
+ * is acknowledged or its failure handled. Retriable failures are sent again following the {@link RetryPolicy}, then
+ * spilled to the {@link SpillJournal} when one is set and the broker is at fault, or handed over to the
+ * {@link SendFailureHandler}. Completion is never awaited on the sending thread, except by the batch methods which flush
+ * the producer and wait for all their records.
+ * <p>
+ * When metadata headers are enabled, records carry the {@link EventHeaders} of their entity, with the id of this instance
+ * and a sequence number increasing with each event sent by this broadcaster, starting from its creation time in
+ * microseconds. The instance id, random unless configured, distinguishes the sequences of concurrent instances and of
+ * restarts whose clock went back, so that the instance id and the sequence number identify a record. Records sent again
+ * by retries, written to the outbox or spilled keep their headers, and their compression. Records of entities with a
+ * {@link RecordCompression} go through a template whose producer compresses them accordingly.
+ */
 @Component
 public class DataEventBroadcaster {
 
+    static final int PARALLEL_CHUNK_SIZE = 64;
+
+    /**
+     * Header holding the event type label, set on the records of entities whose event types share a topic.
+     */
+    public static final String EVENT_TYPE_HEADER = "data-event-type";
+
+    private static final Map<DataEventType, List<Header>> TYPE_HEADERS = new EnumMap<>(DataEventType.class);
+
+    static {
+        for (DataEventType type : DataEventType.values()) {
+            TYPE_HEADERS.put(type, List.of(new RecordHeader(EVENT_TYPE_HEADER, type.getLabel().getBytes(StandardCharsets.UTF_8))));
+        }
+    }
+
+    private static final Log logger = LogFactory.getLog(DataEventBroadcaster.class);
+
     private final KafkaTemplate<String, String> kafkaTemplate;
     private final ObjectMapper objectMapper;
+    private final JacksonEventSerializer jsonSerializer;
+    private volatile KafkaTemplate<String, byte[]> binaryKafkaTemplate;
+    private KafkaTemplate<String, byte[]> transactionalKafkaTemplate;
+    private DataEventMetrics metrics = DataEventMetrics.NOOP;
+    private InFlightLimiter inFlightLimiter = InFlightLimiter.UNLIMITED;
+    private RetryPolicy retryPolicy = RetryPolicy.NONE;
+    private SendFailureHandler sendFailureHandler = SendFailureHandler.RAISE;
+    private volatile SpillJournal spillJournal;
+    private final Map<RecordCompression, KafkaTemplate<String, byte[]>> compressedKafkaTemplates = new ConcurrentHashMap<>();
+    private final AtomicLong sequence = new AtomicLong(TimeUnit.MILLISECONDS.toMicros(System.currentTimeMillis()));
+    private volatile Header instanceHeader = createInstanceHeader(UUID.randomUUID().toString());
 
     public DataEventBroadcaster(KafkaTemplate<String, String> kafkaTemplate, ObjectMapper objectMapper) {
         this.kafkaTemplate = kafkaTemplate;
         this.objectMapper = configureObjectMapper(objectMapper);
+        this.jsonSerializer = new JacksonEventSerializer(this.objectMapper);
     }
 
     private void broadcast(String topic, String message) {
         kafkaTemplate.send(topic, message);
     }
 
-    private String getTopic(String eventType, Object entity) {
-        return entity.getClass().getSimpleName().toLowerCase() + "." + eventType;
+    private String getTopic(DataEventType eventType, Object entity) {
+        return eventType.getDefaultTopic(entity.getClass());
     }
 
     private String getMessage(Object entity) throws CallbackException {
@@ -35,30 +124,633 @@ public class DataEventBroadcaster {
         }
     }
 
+    /**
+     * Mapper configured for data events, to be copied by serializers using another format.
+     */
+    public ObjectMapper getObjectMapper() {
+        return objectMapper;
+    }
+
+    /**
+     * Default serializer, whose events are sent as JSON text.
+     */
+    public JacksonEventSerializer getJsonSerializer() {
+        return jsonSerializer;
+    }
+
+    /**
+     * Template used by binary serializers, by default derived from the main template with a byte array value serializer.
+     */
+    public void setBinaryKafkaTemplate(KafkaTemplate<String, byte[]> binaryKafkaTemplate) {
+        this.binaryKafkaTemplate = binaryKafkaTemplate;
+    }
+
+    /**
+     * Template of the records of the entities using a compression, by default derived from the main template with a byte
+     * array value serializer and the compression type.
+     */
+    public void setCompressedKafkaTemplate(RecordCompression compression, KafkaTemplate<String, byte[]> compressedKafkaTemplate) {
+        compressedKafkaTemplates.put(compression, compressedKafkaTemplate);
+    }
+
+    /**
+     * Template of the Kafka transactions of {@link #broadcastTransaction(List, Executor)}, by default derived from the
+     * main template when transactional mode is enabled.
+     */
+    public void setTransactionalKafkaTemplate(KafkaTemplate<String, byte[]> transactionalKafkaTemplate) {
+        this.transactionalKafkaTemplate = transactionalKafkaTemplate;
+    }
+
+    /**
+     * Id of this instance, carried by the records along with their sequence number.
+     */
+    public void setInstanceId(String instanceId) {
+        this.instanceHeader = createInstanceHeader(instanceId);
+    }
+
+    /**
+     * Sets the configured instance id, which otherwise is the transactional id prefix in transactional mode, and a
+     * random id generated at startup.
+     */
+    @Autowired(required = false)
+    public void configureHeaders(DataEventProperties properties) {
+        if (!properties.getHeadersInstanceId().isEmpty()) {
+            setInstanceId(properties.getHeadersInstanceId());
+        }
+    }
+
+    /**
+     * Derives the transactional template from the main template when transactional mode is enabled, with the
+     * configured transactional id prefix, or a prefix unique to this instance, which then identifies the instance in
+     * the record headers unless an instance id is configured.
+     */
+    @Autowired(required = false)
+    public void configureTransactions(DataEventProperties properties) {
+        if (!properties.isTransactionalEnabled() || transactionalKafkaTemplate != null) {
+            return;
+        }
+        String prefix = properties.getTransactionalIdPrefix().isEmpty()
+                ? "data-event-" + UUID.randomUUID() + "-"
+                : properties.getTransactionalIdPrefix();
+        @SuppressWarnings("unchecked")
+        ProducerFactory<String, byte[]> producerFactory = (ProducerFactory<String, byte[]>) (ProducerFactory<?, ?>) kafkaTemplate.getProducerFactory();
+        KafkaTemplate<String, byte[]> template = new KafkaTemplate<>(producerFactory, Map.of(
+                ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                ProducerConfig.TRANSACTIONAL_ID_CONFIG, prefix));
+        if (!template.isTransactional()) {
+            throw new IllegalStateException("Transactional data events need a DefaultKafkaProducerFactory or a transaction capable producer factory");
+        }
+        setTransactionalKafkaTemplate(template);
+        if (properties.getHeadersInstanceId().isEmpty()) {
+            setInstanceId(prefix);
+        }
+    }
+
+    @Autowired(required = false)
+    public void setMetrics(DataEventMetrics metrics) {
+        this.metrics = metrics;
+    }
+
+    /**
+     * Configures the in flight limit, the retries and the failure handler, a {@link SendFailureHandler} bean taking
+     * precedence over the configured failure policy.
+     */
+    @Autowired(required = false)
+    public void configureDelivery(DataEventProperties properties, ObjectProvider<SendFailureHandler> sendFailureHandlers) {
+        setInFlightLimiter(new InFlightLimiter(properties.getSendMaxInFlightPerTopic(), properties.getSendAcquireTimeoutMs()));
+        setRetryPolicy(new RetryPolicy(properties.getSendRetryMaxAttempts(), properties.getSendRetryBackoffMs(),
+                properties.getSendRetryBackoffMultiplier(), properties.getSendRetryMaxBackoffMs()));
+        setSendFailureHandler(sendFailureHandlers.getIfAvailable(() -> switch (properties.getSendFailurePolicy()) {
+            case RAISE -> SendFailureHandler.RAISE;
+            case DEAD_LETTER_TOPIC -> new DeadLetterTopicHandler(getBinaryKafkaTemplate(), properties.getSendDeadLetterTopicSuffix());
+            case DEAD_LETTER_FILE -> new DeadLetterFileHandler(Path.of(properties.getSendDeadLetterDirectory()));
+        }));
+    }
+
+    public void setInFlightLimiter(InFlightLimiter inFlightLimiter) {
+        this.inFlightLimiter = inFlightLimiter;
+    }
+
+    public void setRetryPolicy(RetryPolicy retryPolicy) {
+        this.retryPolicy = retryPolicy;
+    }
+
+    public void setSendFailureHandler(SendFailureHandler sendFailureHandler) {
+        this.sendFailureHandler = sendFailureHandler;
+    }
+
+    /**
+     * Journal taking the records failing because of the broker, and every record while it holds some, {@code null} to
+     * disable spilling.
+     */
+    public void setSpillJournal(SpillJournal spillJournal) {
+        this.spillJournal = spillJournal;
+    }
+
+    @PostConstruct
+    void bindMetrics() {
+        if (inFlightLimiter.isEnabled()) {
+            metrics.bindInFlightLimiter(inFlightLimiter);
+        }
+    }
+
     public void broadcastEntityCreated(Object entity, String topicLabel) throws CallbackException {
-        String topic = "".equals(topicLabel)?getTopic("created", entity): topicLabel;
+        String topic = "".equals(topicLabel)?getTopic(DataEventType.CREATED, entity): topicLabel;
         String message = getMessage(entity);
         broadcast(topic, message);
     }
 
     public void broadcastEntityUpdated(Object entity, String topicLabel) throws CallbackException {
-        String topic = "".equals(topicLabel)?getTopic("updated", entity): topicLabel;
+        String topic = "".equals(topicLabel)?getTopic(DataEventType.UPDATED, entity): topicLabel;
         String message = getMessage(entity);
         broadcast(topic, message);
     }
 
     public void broadcastEntityDeleted(Object entity, String topicLabel) throws CallbackException {
-        String topic = "".equals(topicLabel)?getTopic("deleted", entity): topicLabel;
+        String topic = "".equals(topicLabel)?getTopic(DataEventType.DELETED, entity): topicLabel;
         String message = getMessage(entity);
         broadcast(topic, message);
     }
 
+    /**
+     * Sends an event without waiting for its acknowledgement, a raised send failure being logged.
+     */
+    public void broadcast(DataEvent event) throws CallbackException {
+        send(event).whenComplete((result, error) -> {
+            if (error != null) {
+                logger.error("Could not send data event to " + event.topic(), unwrap(error));
+            }
+        });
+    }
+
+    /**
+     * Sends every event, then flushes the producer once and waits for all the acknowledgements.
+     */
+    public void broadcastAll(List<DataEvent> events) throws CallbackException {
+        List<CompletableFuture<?>> futures = new ArrayList<>(events.size());
+        for (DataEvent event : events) {
+            futures.add(send(event));
+        }
+        await(futures);
+    }
+
+    /**
+     * Serializes the events in parallel on the given executor, then sends them in their original order, flushes the
+     * producer once and waits for all the acknowledgements.
+     * <p>
+     * The events are split in chunks of {@value #PARALLEL_CHUNK_SIZE}. Since the entities are read from other threads
+     * than their session's, the events are only serialized in parallel when all their serializers are
+     * {@linkplain EventSerializer#isSessionFree() session free}, and on the calling thread otherwise.
+     */
+    public void broadcastAll(List<DataEvent> events, Executor serializationExecutor) throws CallbackException {
+        PreparedEvent[] prepared = prepareAll(events, serializationExecutor);
+        List<CompletableFuture<?>> futures = new ArrayList<>(prepared.length);
+        for (PreparedEvent event : prepared) {
+            futures.add(send(event));
+        }
+        await(futures);
+    }
+
+    /**
+     * Sends every event within a single Kafka transaction, committed once all of them are acknowledged, so that
+     * {@code read_committed} consumers see all of them or none.
+     * <p>
+     * Records are sent as bytes through the transactional template, on a producer taken from the transactional
+     * producers cached by its factory so that concurrent transactions do not wait for each other. A failure aborts the
+     * whole transaction and is raised: records are not retried, limited, spilled nor handed over to the failure handler,
+     * since none of them can be sent again alone within the aborted transaction. Compression is the one of the
+     * transactional producer.
+     *
+     * @param serializationExecutor executor serializing the events in parallel, {@code null} to serialize them on the
+     *                              calling thread
+     */
+    public void broadcastTransaction(List<DataEvent> events, Executor serializationExecutor) throws CallbackException {
+        if (transactionalKafkaTemplate == null) {
+            throw new IllegalStateException("Transactional mode is not enabled");
+        }
+        PreparedEvent[] prepared = serializationExecutor != null ? prepareAll(events, serializationExecutor) : prepareAll(events);
+        long start = System.nanoTime();
+        RuntimeException failure = null;
+        try {
+            transactionalKafkaTemplate.executeInTransaction(operations -> {
+                for (PreparedEvent event : prepared) {
+                    operations.send(createRecord(event.event().topic(), event.key(), toBytes(event.payload()), event.headers()));
+                }
+                return null;
+            });
+        } catch (RuntimeException error) {
+            failure = error;
+            throw new CallbackException("Could not send data events in a Kafka transaction", error);
+        } finally {
+            if (metrics.isEnabled()) {
+                long duration = System.nanoTime() - start;
+                for (PreparedEvent event : prepared) {
+                    metrics.sent(event.event(), duration, failure);
+                }
+            }
+        }
+    }
+
+    private PreparedEvent[] prepareAll(List<DataEvent> events) throws CallbackException {
+        PreparedEvent[] prepared = new PreparedEvent[events.size()];
+        for (int i = 0; i < prepared.length; i++) {
+            prepared[i] = prepare(events.get(i), sequence.incrementAndGet());
+        }
+        return prepared;
+    }
+
+    /**
+     * Prepares the events in parallel, their sequence numbers being reserved beforehand so that they follow the order of
+     * the events.
+     */
+    private PreparedEvent[] prepareAll(List<DataEvent> events, Executor serializationExecutor) throws CallbackException {
+        if (!isSessionFree(events)) {
+            return prepareAll(events);
+        }
+        PreparedEvent[] prepared = new PreparedEvent[events.size()];
+        long firstSequence = sequence.getAndAdd(events.size()) + 1;
+        List<CompletableFuture<Void>> chunks = new ArrayList<>(events.size() / PARALLEL_CHUNK_SIZE + 1);
+        for (int from = 0; from < events.size(); from += PARALLEL_CHUNK_SIZE) {
+            int start = from;
+            int end = Math.min(events.size(), from + PARALLEL_CHUNK_SIZE);
+            chunks.add(CompletableFuture.runAsync(() -> {
+                for (int i = start; i < end; i++) {
+                    prepared[i] = prepare(events.get(i), firstSequence + i);
+                }
+            }, serializationExecutor));
+        }
+        try {
+            CompletableFuture.allOf(chunks.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException error) {
+            throw new CallbackException("Could not serialize data events", error);
+        }
+        return prepared;
+    }
+
+    /**
+     * Sends the events of each topic as a single record holding an array of their payloads.
+     */
+    public void broadcastEnvelopes(List<DataEvent> events) throws CallbackException {
+        Map<EnvelopeKey, List<DataEvent>> envelopes = new LinkedHashMap<>();
+        for (DataEvent event : events) {
+            envelopes.computeIfAbsent(new EnvelopeKey(event.topic(), getSerializer(event), getEnvelopeHeaders(event), event.metadata().compression()),
+                    key -> new ArrayList<>()).add(event);
+        }
+        List<CompletableFuture<?>> futures = new ArrayList<>(envelopes.size());
+        envelopes.forEach((key, envelope) -> {
+            Object payload = key.serializer() == jsonSerializer
+                    ? jsonSerializer.serializeEnvelopeToString(envelope)
+                    : key.serializer().serializeEnvelope(envelope);
+            futures.add(deliver(key.topic(), null, payload, key.headers(), key.compression(), null));
+        });
+        await(futures);
+    }
+
+    /**
+     * Serializes an event into a record to be sent later with {@link #sendAll(List)}, along with its headers.
+     */
+    public DataEventRecord serialize(DataEvent event) throws CallbackException {
+        boolean timed = metrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        byte[] payload;
+        try {
+            payload = getSerializer(event).serialize(event);
+        } catch (RuntimeException error) {
+            metrics.failed(event);
+            throw error;
+        }
+        if (timed) {
+            metrics.serialized(event, System.nanoTime() - start, payload.length);
+        }
+        return new DataEventRecord(event.topic(), event.metadata().key(event), payload, getHeaders(event, sequence.incrementAndGet()),
+                event.metadata().compression());
+    }
+
+    /**
+     * Sends serialized records, then flushes the producer once and waits for all the acknowledgements.
+     * <p>
+     * Records are sent as bytes, JSON payloads being the UTF-8 bytes a {@code StringSerializer} would have produced.
+     */
+    public void sendAll(List<DataEventRecord> records) throws CallbackException {
+        List<CompletableFuture<?>> futures = new ArrayList<>(records.size());
+        for (DataEventRecord record : records) {
+            futures.add(deliver(record.topic(), record.key(), record.payload(), record.headers(), record.compression(), null));
+        }
+        await(futures);
+    }
+
+    /**
+     * Sends the record of an event handed over to the Kafka sink, serialized once for all the sinks of the event,
+     * without waiting for its acknowledgement, a raised send failure being logged.
+     */
+    public void broadcastSerialized(SinkEvent event) throws CallbackException {
+        send(event).whenComplete((result, error) -> {
+            if (error != null) {
+                logger.error("Could not send data event to " + event.record().topic(), unwrap(error));
+            }
+        });
+    }
+
+    /**
+     * Sends the records of events handed over to the Kafka sink, serialized once for all the sinks of each event, then
+     * flushes the producer once and waits for all the acknowledgements.
+     */
+    public void broadcastSerialized(List<SinkEvent> events) throws CallbackException {
+        List<CompletableFuture<?>> futures = new ArrayList<>(events.size());
+        for (SinkEvent sinkEvent : events) {
+            futures.add(send(sinkEvent));
+        }
+        await(futures);
+    }
+
+    /**
+     * Sends records straight to the producer, without in flight limit, retries, spill nor failure handler, then flushes
+     * the producer once and waits for all the acknowledgements.
+     */
+    public void replayAll(List<DataEventRecord> records) throws CallbackException {
+        List<CompletableFuture<?>> futures = new ArrayList<>(records.size());
+        for (DataEventRecord record : records) {
+            futures.add(sendRecord(record.topic(), record.key(), record.payload(), record.headers(), record.compression()));
+        }
+        await(futures);
+    }
+
+    private CompletableFuture<?> send(DataEvent event) throws CallbackException {
+        return send(prepare(event, sequence.incrementAndGet()));
+    }
+
+    private CompletableFuture<?> send(SinkEvent sinkEvent) throws CallbackException {
+        DataEventRecord record = sinkEvent.record();
+        return send(new PreparedEvent(sinkEvent.event(), record.key(), record.payload(), record.headers()));
+    }
+
+    /**
+     * Serializes an event, as text for the JSON serializer which is sent through the main template, as bytes otherwise.
+     */
+    private PreparedEvent prepare(DataEvent event, long sequence) throws CallbackException {
+        EventSerializer serializer = getSerializer(event);
+        boolean timed = metrics.isEnabled();
+        long start = timed ? System.nanoTime() : 0;
+        Object payload;
+        int size;
+        try {
+            if (serializer == jsonSerializer) {
+                JacksonEventSerializer.TextPayload message = jsonSerializer.serializeToText(event);
+                payload = message.text();
+                size = message.size();
+            } else {
+                byte[] bytes = serializer.serialize(event);
+                payload = bytes;
+                size = bytes.length;
+            }
+        } catch (RuntimeException error) {
+            metrics.failed(event);
+            throw error;
+        }
+        if (timed) {
+            metrics.serialized(event, System.nanoTime() - start, size);
+        }
+        return new PreparedEvent(event, event.metadata().key(event), payload, getHeaders(event, sequence));
+    }
+
+    private CompletableFuture<?> send(PreparedEvent prepared) throws CallbackException {
+        DataEvent event = prepared.event();
+        RecordCompression compression = event.metadata().compression();
+        if (!metrics.isEnabled()) {
+            return deliver(event.topic(), prepared.key(), prepared.payload(), prepared.headers(), compression, null);
+        }
+        long start = System.nanoTime();
+        return deliver(event.topic(), prepared.key(), prepared.payload(), prepared.headers(), compression,
+                (result, error) -> metrics.sent(event, System.nanoTime() - start, unwrap(error)));
+    }
+
+    /**
+     * Sends a record once a permit of its topic is available, then retries it and spills it or hands it over to the
+     * failure handler. The record is spilled right away while the spill journal is not empty.
+     * <p>
+     * The returned future completes once the record is acknowledged or its failure handled, and fails when the failure
+     * is raised. A failure raised while handing the record over to the producer, such as a full producer buffer or a
+     * missing permit, is thrown right away.
+     *
+     * @param outcome called with the outcome of the last send, before the failure handler, may be {@code null}
+     */
+    private CompletableFuture<Object> deliver(String topic, String key, Object payload, List<Header> headers, RecordCompression compression,
+                                              BiConsumer<Object, Throwable> outcome) throws CallbackException {
+        SpillJournal spill = spillJournal;
+        if (spill != null && !spill.isEmpty() && spill(spill, topic, key, payload, headers, compression)) {
+            return CompletableFuture.completedFuture(null);
+        }
+        CompletableFuture<Object> sent;
+        boolean permitted = false;
+        boolean synchronous = false;
+        try {
+            permitted = inFlightLimiter.acquire(topic);
+            sent = permitted ? sendRecord(topic, key, payload, headers, compression) : CompletableFuture.failedFuture(
+                    new TimeoutException("No in flight permit of topic " + topic + " became available"));
+            synchronous = !permitted;
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            sent = CompletableFuture.failedFuture(error);
+            synchronous = true;
+        } catch (RuntimeException error) {
+            sent = CompletableFuture.failedFuture(error);
+            synchronous = true;
+        }
+        sent = retry(sent, topic, key, payload, headers, compression, 1);
+        if (outcome != null) {
+            sent = sent.whenComplete(outcome);
+        }
+        if (spill != null) {
+            sent = sent.exceptionallyCompose(error -> isSpillable(unwrap(error)) && spill(spill, topic, key, payload, headers, compression)
+                    ? CompletableFuture.completedFuture(null)
+                    : CompletableFuture.failedFuture(error));
+        }
+        if (sendFailureHandler != SendFailureHandler.RAISE) {
+            sent = sent.exceptionallyComposeAsync(error -> {
+                @SuppressWarnings("unchecked")
+                CompletableFuture<Object> handled = (CompletableFuture<Object>) sendFailureHandler.handle(new DataEventRecord(topic, key, toBytes(payload), headers, compression), unwrap(error));
+                return handled;
+            });
+        }
+        if (permitted && inFlightLimiter.isEnabled()) {
+            sent = sent.whenComplete((result, error) -> inFlightLimiter.release(topic));
+        }
+        if (synchronous && sent.isCompletedExceptionally()) {
+            Throwable error = unwrap(sent.exceptionNow());
+            if (error instanceof RuntimeException runtimeError) {
+                throw runtimeError;
+            }
+            throw new CallbackException("Could not send data event to " + topic, sent.exceptionNow() instanceof Exception exception ? exception : new CompletionException(error));
+        }
+        return sent;
+    }
+
+    /**
+     * Appends a record to the spill journal, which keeps its records in order by taking every record while it is not
+     * empty.
+     */
+    private boolean spill(SpillJournal spill, String topic, String key, Object payload, List<Header> headers, RecordCompression compression) {
+        if (!spill.append(new DataEventRecord(topic, key, toBytes(payload), headers, compression))) {
+            return false;
+        }
+        metrics.spilled(topic);
+        return true;
+    }
+
+    /**
+     * Whether the record failed because of the broker rather than because of its content.
+     */
+    private static boolean isSpillable(Throwable error) {
+        return error instanceof TimeoutException || RetryPolicy.isRetriable(error);
+    }
+
+    private CompletableFuture<Object> retry(CompletableFuture<Object> sent, String topic, String key, Object payload, List<Header> headers,
+                                            RecordCompression compression, int attempt) {
+        if (attempt >= retryPolicy.maxAttempts()) {
+            return sent;
+        }
+        return sent.exceptionallyCompose(error -> {
+            if (!retryPolicy.shouldRetry(attempt, unwrap(error))) {
+                return CompletableFuture.failedFuture(error);
+            }
+            metrics.retried(topic);
+            Executor delayed = CompletableFuture.delayedExecutor(retryPolicy.backoffMs(attempt), TimeUnit.MILLISECONDS);
+            return CompletableFuture.supplyAsync(() -> sendRecord(topic, key, payload, headers, compression), delayed)
+                    .thenCompose(next -> retry(next, topic, key, payload, headers, compression, attempt + 1));
+        });
+    }
+
+    @SuppressWarnings("unchecked")
+    private CompletableFuture<Object> sendRecord(String topic, String key, Object payload, List<Header> headers, RecordCompression compression) {
+        CompletableFuture<?> future;
+        if (compression != null) {
+            future = getCompressedKafkaTemplate(compression).send(createRecord(topic, key, toBytes(payload), headers));
+        } else if (headers == null) {
+            future = payload instanceof String message
+                    ? kafkaTemplate.send(topic, key, message)
+                    : getBinaryKafkaTemplate().send(topic, key, (byte[]) payload);
+        } else {
+            future = payload instanceof String message
+                    ? kafkaTemplate.send(createRecord(topic, key, message, headers))
+                    : getBinaryKafkaTemplate().send(createRecord(topic, key, (byte[]) payload, headers));
+        }
+        return (CompletableFuture<Object>) future;
+    }
+
+    private static <V> ProducerRecord<String, V> createRecord(String topic, String key, V value, List<Header> headers) {
+        return new ProducerRecord<>(topic, null, key, value, headers);
+    }
+
+    /**
+     * Headers of the record of an event, its metadata headers when enabled, otherwise its type when its entity shares
+     * topics across event types.
+     */
+    private List<Header> getHeaders(DataEvent event, long sequence) {
+        EventHeaders headers = event.metadata().headers();
+        if (headers != null) {
+            return headers.getHeaders(event, instanceHeader, sequence);
+        }
+        return event.metadata().typeHeader() ? TYPE_HEADERS.get(event.type()) : null;
+    }
+
+    /**
+     * Headers of the envelope of events, the ones shared by their records.
+     */
+    private static List<Header> getEnvelopeHeaders(DataEvent event) {
+        EventHeaders headers = event.metadata().headers();
+        if (headers != null) {
+            return headers.getSharedHeaders(event.type());
+        }
+        return event.metadata().typeHeader() ? TYPE_HEADERS.get(event.type()) : null;
+    }
+
+    private boolean isSessionFree(List<DataEvent> events) {
+        EventSerializer checked = null;
+        for (DataEvent event : events) {
+            EventSerializer serializer = getSerializer(event);
+            if (serializer != checked) {
+                if (!serializer.isSessionFree()) {
+                    return false;
+                }
+                checked = serializer;
+            }
+        }
+        return true;
+    }
+
+    private static Header createInstanceHeader(String instanceId) {
+        return new RecordHeader(EventHeaders.INSTANCE_HEADER, instanceId.getBytes(StandardCharsets.UTF_8));
+    }
+
+    private static byte[] toBytes(Object payload) {
+        return payload instanceof String message ? message.getBytes(StandardCharsets.UTF_8) : (byte[]) payload;
+    }
+
+    private static Throwable unwrap(Throwable error) {
+        return error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+    }
+
+    private EventSerializer getSerializer(DataEvent event) {
+        EventSerializer serializer = event.metadata().serializer();
+        return serializer != null ? serializer : jsonSerializer;
+    }
+
+    private void await(List<CompletableFuture<?>> futures) throws CallbackException {
+        kafkaTemplate.flush();
+        if (binaryKafkaTemplate != null) {
+            binaryKafkaTemplate.flush();
+        }
+        compressedKafkaTemplates.values().forEach(KafkaTemplate::flush);
+        try {
+            CompletableFuture.allOf(futures.toArray(CompletableFuture[]::new)).join();
+        } catch (CompletionException error) {
+            throw new CallbackException("Could not send data events", error);
+        }
+    }
+
+    @SuppressWarnings("unchecked")
+    private KafkaTemplate<String, byte[]> getBinaryKafkaTemplate() {
+        KafkaTemplate<String, byte[]> template = binaryKafkaTemplate;
+        if (template == null) {
+            synchronized (this) {
+                template = binaryKafkaTemplate;
+                if (template == null) {
+                    ProducerFactory<String, byte[]> producerFactory = (ProducerFactory<String, byte[]>) (ProducerFactory<?, ?>) kafkaTemplate.getProducerFactory();
+                    template = new KafkaTemplate<>(producerFactory, Map.of(ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class));
+                    binaryKafkaTemplate = template;
+                }
+            }
+        }
+        return template;
+    }
+
+    @SuppressWarnings("unchecked")
+    private KafkaTemplate<String, byte[]> getCompressedKafkaTemplate(RecordCompression compression) {
+        KafkaTemplate<String, byte[]> template = compressedKafkaTemplates.get(compression);
+        if (template != null) {
+            return template;
+        }
+        return compressedKafkaTemplates.computeIfAbsent(compression, key -> {
+            ProducerFactory<String, byte[]> producerFactory = (ProducerFactory<String, byte[]>) (ProducerFactory<?, ?>) kafkaTemplate.getProducerFactory();
+            return new KafkaTemplate<>(producerFactory, Map.of(
+                    ProducerConfig.VALUE_SERIALIZER_CLASS_CONFIG, ByteArraySerializer.class,
+                    ProducerConfig.COMPRESSION_TYPE_CONFIG, key.getType()));
+        });
+    }
+
     private ObjectMapper configureObjectMapper(ObjectMapper originalMapper) {
         ObjectMapper mapper = originalMapper.copy();
         mapper.addMixIn(Object.class, ObjectIdMixin.class);
+        mapper.registerModule(new AssociationModule());
         return mapper;
     }
 
+    private record EnvelopeKey(String topic, EventSerializer serializer, List<Header> headers, RecordCompression compression) {
+    }
+
+    private record PreparedEvent(DataEvent event, String key, Object payload, List<Header> headers) {
+    }
+
     @JsonIdentityInfo(generator = ObjectIdGenerators.PropertyGenerator.class, property = "id")
     private static class ObjectIdMixin {
     }
@@ -0,0 +1,86 @@
+package com.sipios.spring.data.event.broadcaster;
+
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Metadata headers of the records of an entity, letting consumers route and skip records without reading their
+ * payload.
+ * <p>
+ * Every record carries its event type, its entity class name and the fingerprint of the schema of its entity, built once
+ * per event type. Records of a single event also carry the entity id, and the instance id and sequence number given by
+ * the broadcaster, which together identify the record for consumers removing duplicates. Text values are UTF-8 encoded,
+ * numbers are 8 bytes big-endian.
+ */
+public final class EventHeaders {
+
+    public static final String ENTITY_HEADER = "data-event-entity";
+    public static final String ID_HEADER = "data-event-id";
+    public static final String INSTANCE_HEADER = "data-event-instance";
+    public static final String SEQUENCE_HEADER = "data-event-sequence";
+    public static final String SCHEMA_HEADER = "data-event-schema";
+
+    private final Map<DataEventType, List<Header>> sharedHeaders = new EnumMap<>(DataEventType.class);
+
+    private EventHeaders(Class<?> entityClass, long schemaFingerprint) {
+        Header entity = new RecordHeader(ENTITY_HEADER, entityClass.getName().getBytes(StandardCharsets.UTF_8));
+        Header schema = schemaFingerprint != 0 ? new RecordHeader(SCHEMA_HEADER, toBytes(schemaFingerprint)) : null;
+        for (DataEventType type : DataEventType.values()) {
+            List<Header> headers = new ArrayList<>(3);
+            headers.add(new RecordHeader(DataEventBroadcaster.EVENT_TYPE_HEADER, type.getLabel().getBytes(StandardCharsets.UTF_8)));
+            headers.add(entity);
+            if (schema != null) {
+                headers.add(schema);
+            }
+            sharedHeaders.put(type, Collections.unmodifiableList(headers));
+        }
+    }
+
+    /**
+     * Headers of the records of an entity class.
+     *
+     * @param schemaFingerprint fingerprint of the schema of the payloads, {@code 0} when unknown, in which case the records
+     *                          carry no schema header
+     */
+    public static EventHeaders forEntity(Class<?> entityClass, long schemaFingerprint) {
+        return new EventHeaders(entityClass, schemaFingerprint);
+    }
+
+    /**
+     * Headers shared by all the records of an event type, the ones of batch envelopes.
+     */
+    public List<Header> getSharedHeaders(DataEventType type) {
+        return sharedHeaders.get(type);
+    }
+
+    /**
+     * Headers of the record of a single event.
+     *
+     * @param instance the instance header of the broadcaster sending it
+     */
+    public List<Header> getHeaders(DataEvent event, Header instance, long sequence) {
+        List<Header> shared = sharedHeaders.get(event.type());
+        List<Header> headers = new ArrayList<>(shared.size() + 3);
+        headers.addAll(shared);
+        if (event.id() != null) {
+            headers.add(new RecordHeader(ID_HEADER, String.valueOf(event.id()).getBytes(StandardCharsets.UTF_8)));
+        }
+        headers.add(instance);
+        headers.add(new RecordHeader(SEQUENCE_HEADER, toBytes(sequence)));
+        return headers;
+    }
+
+    private static byte[] toBytes(long value) {
+        return ByteBuffer.allocate(Long.BYTES).putLong(value).array();
+    }
+}
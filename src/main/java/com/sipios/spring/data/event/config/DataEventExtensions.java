@@ -0,0 +1,35 @@
+package com.sipios.spring.data.event.config;
+
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import org.springframework.beans.BeanUtils;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Provides the instances of the extension classes referenced by {@link DataEventEntity} attributes.
+ * <p>
+ * An extension class is looked up as a bean first and instantiated with its no argument constructor otherwise. Either
+ * way, a single instance per class is shared by every entity referencing it.
+ */
+@Component
+public class DataEventExtensions {
+
+    private final BeanFactory beanFactory;
+    private final Map<Class<?>, Object> instances = new ConcurrentHashMap<>();
+
+    public DataEventExtensions(BeanFactory beanFactory) {
+        this.beanFactory = beanFactory;
+    }
+
+    public <T> T getInstance(Class<T> type) {
+        return type.cast(instances.computeIfAbsent(type, this::createInstance));
+    }
+
+    private Object createInstance(Class<?> type) {
+        Object bean = beanFactory.getBeanProvider(type).getIfAvailable();
+        return bean != null ? bean : BeanUtils.instantiateClass(type);
+    }
+}
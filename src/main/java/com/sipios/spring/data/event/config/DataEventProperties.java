@@ -0,0 +1,194 @@
+package com.sipios.spring.data.event.config;
+
+import com.sipios.spring.data.event.annotation.PayloadSource;
+import com.sipios.spring.data.event.annotation.PublicationMode;
+import com.sipios.spring.data.event.annotation.RecordCompression;
+import com.sipios.spring.data.event.annotation.SerializationFormat;
+import com.sipios.spring.data.event.delivery.SendFailurePolicy;
+import com.sipios.spring.data.event.dispatcher.OverflowPolicy;
+import com.sipios.spring.data.event.startup.TopicProvisioning;
+import com.sipios.spring.data.event.stream.BufferOverflow;
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+@Component
+@Getter
+@Setter
+public class DataEventProperties {
+
+    @Value("${data-event.async.enabled:false}")
+    private boolean asyncEnabled = false;
+
+    @Value("${data-event.async.queue-capacity:8192}")
+    private int asyncQueueCapacity = 8192;
+
+    @Value("${data-event.async.dispatcher-threads:1}")
+    private int asyncDispatcherThreads = 1;
+
+    @Value("${data-event.async.virtual-threads:false}")
+    private boolean asyncVirtualThreads = false;
+
+    @Value("${data-event.async.overflow-policy:BLOCK}")
+    private OverflowPolicy asyncOverflowPolicy = OverflowPolicy.BLOCK;
+
+    @Value("${data-event.async.shutdown-timeout-ms:10000}")
+    private long asyncShutdownTimeoutMs = 10000;
+
+    @Value("${data-event.batch.enabled:false}")
+    private boolean batchEnabled = false;
+
+    @Value("${data-event.batch.envelope:false}")
+    private boolean batchEnvelope = false;
+
+    @Value("${data-event.transactional.enabled:false}")
+    private boolean transactionalEnabled = false;
+
+    @Value("${data-event.transactional.id-prefix:}")
+    private String transactionalIdPrefix = "";
+
+    @Value("${data-event.conflation.enabled:false}")
+    private boolean conflationEnabled = false;
+
+    @Value("${data-event.conflation.window-ms:0}")
+    private long conflationWindowMs = 0;
+
+    @Value("${data-event.serialization.format:JSON}")
+    private SerializationFormat serializationFormat = SerializationFormat.JSON;
+
+    @Value("${data-event.serialization.parallel.enabled:false}")
+    private boolean serializationParallelEnabled = false;
+
+    @Value("${data-event.serialization.parallel.threshold:256}")
+    private int serializationParallelThreshold = 256;
+
+    @Value("${data-event.serialization.parallel.threads:0}")
+    private int serializationParallelThreads = 0;
+
+    @Value("${data-event.serialization.parallel.virtual-threads:false}")
+    private boolean serializationParallelVirtualThreads = false;
+
+    @Value("${data-event.serialization.source:ENTITY}")
+    private PayloadSource serializationSource = PayloadSource.ENTITY;
+
+    @Value("${data-event.serialization.json-as-bytes:false}")
+    private boolean serializationJsonAsBytes = false;
+
+    @Value("${data-event.send.max-in-flight-per-topic:0}")
+    private int sendMaxInFlightPerTopic = 0;
+
+    @Value("${data-event.send.acquire-timeout-ms:10000}")
+    private long sendAcquireTimeoutMs = 10000;
+
+    @Value("${data-event.send.retry.max-attempts:1}")
+    private int sendRetryMaxAttempts = 1;
+
+    @Value("${data-event.send.retry.backoff-ms:100}")
+    private long sendRetryBackoffMs = 100;
+
+    @Value("${data-event.send.retry.backoff-multiplier:2}")
+    private double sendRetryBackoffMultiplier = 2;
+
+    @Value("${data-event.send.retry.max-backoff-ms:10000}")
+    private long sendRetryMaxBackoffMs = 10000;
+
+    @Value("${data-event.send.failure-policy:RAISE}")
+    private SendFailurePolicy sendFailurePolicy = SendFailurePolicy.RAISE;
+
+    @Value("${data-event.send.dead-letter.topic-suffix:.dlt}")
+    private String sendDeadLetterTopicSuffix = ".dlt";
+
+    @Value("${data-event.send.dead-letter.directory:data-event-dead-letters}")
+    private String sendDeadLetterDirectory = "data-event-dead-letters";
+
+    @Value("${data-event.spill.enabled:false}")
+    private boolean spillEnabled = false;
+
+    @Value("${data-event.spill.directory:data-event-spill}")
+    private String spillDirectory = "data-event-spill";
+
+    @Value("${data-event.spill.segment-bytes:67108864}")
+    private long spillSegmentBytes = 64 * 1024 * 1024;
+
+    @Value("${data-event.spill.max-bytes:1073741824}")
+    private long spillMaxBytes = 1024 * 1024 * 1024;
+
+    @Value("${data-event.spill.replay.batch-size:1000}")
+    private int spillReplayBatchSize = 1000;
+
+    @Value("${data-event.spill.replay.interval-ms:1000}")
+    private long spillReplayIntervalMs = 1000;
+
+    @Value("${data-event.outbox.enabled:false}")
+    private boolean outboxEnabled = false;
+
+    @Value("${data-event.outbox.table:data_event_outbox}")
+    private String outboxTable = "data_event_outbox";
+
+    @Value("${data-event.outbox.relay.enabled:true}")
+    private boolean outboxRelayEnabled = true;
+
+    @Value("${data-event.outbox.relay.batch-size:1000}")
+    private int outboxRelayBatchSize = 1000;
+
+    @Value("${data-event.outbox.relay.poll-interval-ms:100}")
+    private long outboxRelayPollIntervalMs = 100;
+
+    @Value("${data-event.startup.warm-up.enabled:true}")
+    private boolean startupWarmUpEnabled = true;
+
+    @Value("${data-event.startup.topics.mode:NONE}")
+    private TopicProvisioning startupTopicsMode = TopicProvisioning.NONE;
+
+    @Value("${data-event.startup.topics.partitions:1}")
+    private int startupTopicsPartitions = 1;
+
+    @Value("${data-event.startup.topics.replication-factor:-1}")
+    private short startupTopicsReplicationFactor = -1;
+
+    @Value("${data-event.startup.topics.timeout-ms:10000}")
+    private long startupTopicsTimeoutMs = 10000;
+
+    @Value("${data-event.topic.template:}")
+    private String topicTemplate = "";
+
+    @Value("${data-event.publication.mode:ALL}")
+    private PublicationMode publicationMode = PublicationMode.ALL;
+
+    @Value("${data-event.publication.max-events-per-second:10}")
+    private int publicationMaxEventsPerSecond = 10;
+
+    @Value("${data-event.publication.sample-every:10}")
+    private int publicationSampleEvery = 10;
+
+    @Value("${data-event.publication.sample-max-idle-ms:10000}")
+    private long publicationSampleMaxIdleMs = 10000;
+
+    @Value("${data-event.publication.snapshot-interval-ms:1000}")
+    private long publicationSnapshotIntervalMs = 1000;
+
+    @Value("${data-event.sink.file.directory:data-events}")
+    private String sinkFileDirectory = "data-events";
+
+    @Value("${data-event.sink.file.sync:false}")
+    private boolean sinkFileSync = false;
+
+    @Value("${data-event.sink.file.max-open-files:64}")
+    private int sinkFileMaxOpenFiles = 64;
+
+    @Value("${data-event.stream.buffer-size:256}")
+    private int streamBufferSize = 256;
+
+    @Value("${data-event.stream.overflow:DROP_OLDEST}")
+    private BufferOverflow streamOverflow = BufferOverflow.DROP_OLDEST;
+
+    @Value("${data-event.headers.enabled:false}")
+    private boolean headersEnabled = false;
+
+    @Value("${data-event.headers.instance-id:}")
+    private String headersInstanceId = "";
+
+    @Value("${data-event.compression.type:PRODUCER}")
+    private RecordCompression compressionType = RecordCompression.PRODUCER;
+}
@@ -0,0 +1,69 @@
+package com.sipios.spring.data.event.delivery;
+
+import com.sipios.spring.data.event.model.DataEventRecord;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Base64;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Appends the records that could not be sent to a file per topic, {@code <topic>.dlq} in the given directory.
+ * <p>
+ * Each record is written on its own line as its Base64 encoded key, {@code -} when it has none, a space and its Base64
+ * encoded payload, followed by a space and its Base64 encoded headers when it has some, as encoded by
+ * {@link DataEventRecord#encodeHeaders()}, so that the file can be replayed once the broker is back. The failure is raised when the file cannot
+ * be written.
+ * <p>
+ * Since routed topics can come from entity fields, the bytes of a topic other than the letters, digits, {@code .},
+ * {@code _} and {@code -} Kafka allows are percent-encoded in its file name, which therefore always stays in the
+ * directory.
+ */
+public class DeadLetterFileHandler implements SendFailureHandler {
+
+    private static final String NO_KEY = "-";
+    private static final String HEX_DIGITS = "0123456789ABCDEF";
+
+    private final Path directory;
+
+    public DeadLetterFileHandler(Path directory) {
+        this.directory = directory;
+    }
+
+    @Override
+    public CompletableFuture<?> handle(DataEventRecord record, Throwable error) {
+        try {
+            append(record);
+            return CompletableFuture.completedFuture(null);
+        } catch (IOException writeError) {
+            writeError.addSuppressed(error);
+            return CompletableFuture.failedFuture(writeError);
+        }
+    }
+
+    private synchronized void append(DataEventRecord record) throws IOException {
+        Base64.Encoder encoder = Base64.getEncoder();
+        String key = record.key() == null ? NO_KEY : encoder.encodeToString(record.key().getBytes(StandardCharsets.UTF_8));
+        byte[] headers = record.encodeHeaders();
+        String line = key + ' ' + encoder.encodeToString(record.payload())
+                + (headers == null ? "" : ' ' + encoder.encodeToString(headers)) + '\n';
+        Files.createDirectories(directory);
+        Files.writeString(directory.resolve(getFileName(record.topic())), line, StandardCharsets.UTF_8,
+                StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+    }
+
+    private static String getFileName(String topic) {
+        StringBuilder fileName = new StringBuilder(topic.length() + 4);
+        for (byte b : topic.getBytes(StandardCharsets.UTF_8)) {
+            if (b >= 'a' && b <= 'z' || b >= 'A' && b <= 'Z' || b >= '0' && b <= '9' || b == '.' || b == '_' || b == '-') {
+                fileName.append((char) b);
+            } else {
+                fileName.append('%').append(HEX_DIGITS.charAt((b >> 4) & 0xF)).append(HEX_DIGITS.charAt(b & 0xF));
+            }
+        }
+        return fileName.append(".dlq").toString();
+    }
+}
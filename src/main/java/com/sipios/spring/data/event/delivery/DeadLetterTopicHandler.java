@@ -0,0 +1,33 @@
+package com.sipios.spring.data.event.delivery;
+
+import com.sipios.spring.data.event.model.DataEventRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Sends the records that could not be sent to a dead letter topic, named after their topic with a suffix, with their
+ * headers.
+ * <p>
+ * The failure is raised when the dead letter topic cannot be written either.
+ */
+public class DeadLetterTopicHandler implements SendFailureHandler {
+
+    private final KafkaTemplate<String, byte[]> kafkaTemplate;
+    private final String topicSuffix;
+
+    public DeadLetterTopicHandler(KafkaTemplate<String, byte[]> kafkaTemplate, String topicSuffix) {
+        this.kafkaTemplate = kafkaTemplate;
+        this.topicSuffix = topicSuffix;
+    }
+
+    @Override
+    public CompletableFuture<?> handle(DataEventRecord record, Throwable error) {
+        String topic = record.topic() + topicSuffix;
+        if (record.headers() == null) {
+            return kafkaTemplate.send(topic, record.key(), record.payload());
+        }
+        return kafkaTemplate.send(new ProducerRecord<>(topic, null, record.key(), record.payload(), record.headers()));
+    }
+}
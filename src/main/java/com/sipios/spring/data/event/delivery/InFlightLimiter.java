@@ -0,0 +1,72 @@
+package com.sipios.spring.data.event.delivery;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * Bounds the number of records sent to a topic and not yet acknowledged or handled.
+ * <p>
+ * A sender takes a permit of the record topic before handing it over to the producer and gives it back once the record
+ * is acknowledged or handled by the {@link SendFailureHandler}. When every permit of a topic is taken, the sender waits
+ * for one up to the acquire timeout, so that a slow broker slows publication down instead of filling the producer
+ * buffer, and a failing one surfaces as a failure instead of a thread stuck in {@code send}.
+ */
+public class InFlightLimiter {
+
+    public static final InFlightLimiter UNLIMITED = new InFlightLimiter(0, 0);
+
+    private final int maxPerTopic;
+    private final long acquireTimeoutMs;
+    private final Map<String, Semaphore> permits = new ConcurrentHashMap<>();
+    private final AtomicInteger inFlight = new AtomicInteger();
+
+    /**
+     * @param maxPerTopic      maximum number of records in flight per topic, unlimited when not positive
+     * @param acquireTimeoutMs how long to wait for a permit
+     */
+    public InFlightLimiter(int maxPerTopic, long acquireTimeoutMs) {
+        this.maxPerTopic = maxPerTopic;
+        this.acquireTimeoutMs = acquireTimeoutMs;
+    }
+
+    public boolean isEnabled() {
+        return maxPerTopic > 0;
+    }
+
+    public int getMaxPerTopic() {
+        return maxPerTopic;
+    }
+
+    /**
+     * Takes a permit of the topic, waiting for one up to the acquire timeout.
+     *
+     * @return whether a permit was taken
+     */
+    public boolean acquire(String topic) throws InterruptedException {
+        if (!isEnabled()) {
+            return true;
+        }
+        if (!permits.computeIfAbsent(topic, key -> new Semaphore(maxPerTopic)).tryAcquire(acquireTimeoutMs, TimeUnit.MILLISECONDS)) {
+            return false;
+        }
+        inFlight.incrementAndGet();
+        return true;
+    }
+
+    public void release(String topic) {
+        if (isEnabled()) {
+            inFlight.decrementAndGet();
+            permits.get(topic).release();
+        }
+    }
+
+    /**
+     * Number of records in flight on every topic.
+     */
+    public int getInFlightCount() {
+        return inFlight.get();
+    }
+}
@@ -0,0 +1,43 @@
+package com.sipios.spring.data.event.delivery;
+
+import org.apache.kafka.common.errors.RetriableException;
+
+/**
+ * How many times a record is sent before being handed over to the {@link SendFailureHandler}, and how long to wait
+ * between two attempts.
+ * <p>
+ * Only retriable Kafka errors, such as a delivery timeout, are retried. The producer already retries them internally
+ * until its {@code delivery.timeout.ms}, so this policy only matters for incidents outlasting it.
+ *
+ * @param maxAttempts       number of sends of a record, including the first one
+ * @param backoffMs         wait before the first retry
+ * @param backoffMultiplier factor applied to the wait after each retry
+ * @param maxBackoffMs      upper bound of the wait
+ */
+public record RetryPolicy(int maxAttempts, long backoffMs, double backoffMultiplier, long maxBackoffMs) {
+
+    public static final RetryPolicy NONE = new RetryPolicy(1, 0, 1, 0);
+
+    public boolean shouldRetry(int attempt, Throwable error) {
+        return attempt < maxAttempts && isRetriable(error);
+    }
+
+    /**
+     * Whether the error or one of its causes is a retriable Kafka error, the template wrapping producer errors.
+     */
+    public static boolean isRetriable(Throwable error) {
+        for (Throwable cause = error; cause != null; cause = cause.getCause()) {
+            if (cause instanceof RetriableException) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Wait before the attempt following the given one.
+     */
+    public long backoffMs(int attempt) {
+        return (long) Math.min(maxBackoffMs, backoffMs * Math.pow(backoffMultiplier, attempt - 1));
+    }
+}
@@ -0,0 +1,22 @@
+package com.sipios.spring.data.event.delivery;
+
+import com.sipios.spring.data.event.model.DataEventRecord;
+
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * Decides what happens to a record that could not be sent, once its retries are exhausted.
+ * <p>
+ * Handlers are called outside the producer network thread. The returned future completes normally when the failure is
+ * handled, for instance when the record was dead-lettered, and exceptionally when it must be raised to the publisher:
+ * batched publication then fails with the error, while a single event publication logs it.
+ * <p>
+ * A bean of this type replaces the handler chosen with {@code data-event.send.failure-policy}.
+ */
+@FunctionalInterface
+public interface SendFailureHandler {
+
+    SendFailureHandler RAISE = (record, error) -> CompletableFuture.failedFuture(error);
+
+    CompletableFuture<?> handle(DataEventRecord record, Throwable error);
+}
@@ -0,0 +1,19 @@
+package com.sipios.spring.data.event.delivery;
+
+/**
+ * Built-in {@link SendFailureHandler} used when no handler bean is defined.
+ */
+public enum SendFailurePolicy {
+    /**
+     * Fail the publication with the send error.
+     */
+    RAISE,
+    /**
+     * Send the record to a dead letter topic, named after its topic.
+     */
+    DEAD_LETTER_TOPIC,
+    /**
+     * Append the record to a dead letter file of its topic.
+     */
+    DEAD_LETTER_FILE
+}
@@ -0,0 +1,321 @@
+package com.sipios.spring.data.event.dispatcher;
+
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metrics.DataEventMetrics;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.sink.DataEventSink;
+import com.sipios.spring.data.event.sink.SinkEvent;
+import com.sipios.spring.data.event.stream.DataEventStream;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Hands committed events over to the {@link DataEventBroadcaster}.
+ * <p>
+ * By default events are broadcast on the committing thread. When asynchronous dispatch is enabled, they are put in a
+ * bounded queue drained by dedicated dispatcher threads, so that serialization and Kafka latency stay out of the
+ * commit path.
+ * <p>
+ * When batching is enabled, the events committed by a Spring managed transaction are buffered and published together
+ * after commit, with a single producer flush. In transactional mode, they are published within a single Kafka
+ * transaction.
+ * <p>
+ * Large batches can be serialized in parallel on a dedicated executor, their records being sent in order afterwards.
+ * <p>
+ * When conflation is enabled, the events of a same entity are merged by {@link EventConflater}, within a Spring managed
+ * transaction, and in asynchronous mode within the configured time window.
+ * <p>
+ * Events of entities having sinks are handed over to them instead of being broadcast. Every published event is also
+ * handed over to the in-process {@link DataEventStream} subscribers, if any.
+ * <p>
+ * Update events of entities having a {@link PublicationPolicy} first go through the {@link PublicationThrottle}, which
+ * holds them until their policy allows them to be published.
+ */
+@Component
+public class DataEventDispatcher {
+
+    private static final Log logger = LogFactory.getLog(DataEventDispatcher.class);
+    private static final long POLL_TIMEOUT_MS = 100;
+
+    private final DataEventBroadcaster dataEventBroadcaster;
+    private final DataEventProperties properties;
+    private final DataEventMetrics metrics;
+    private final AtomicLong droppedEvents = new AtomicLong();
+    private final PublicationThrottle publicationThrottle = new PublicationThrottle(this::submit);
+    private final List<Thread> dispatcherThreads = new ArrayList<>();
+    private BlockingQueue<List<DataEvent>> queue;
+    private ExecutorService serializationExecutor;
+    private DataEventStream stream;
+    private volatile boolean running;
+
+    public DataEventDispatcher(DataEventBroadcaster dataEventBroadcaster, DataEventProperties properties, DataEventMetrics metrics) {
+        this.dataEventBroadcaster = dataEventBroadcaster;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @Autowired(required = false)
+    public void setStream(DataEventStream stream) {
+        this.stream = stream;
+    }
+
+    @PostConstruct
+    void start() {
+        if (properties.isSerializationParallelEnabled()) {
+            serializationExecutor = createSerializationExecutor();
+        }
+        if (properties.isAsyncEnabled()) {
+            startDispatcherThreads();
+        }
+    }
+
+    @PreDestroy
+    void stop() {
+        publicationThrottle.stop();
+        if (queue != null) {
+            stopDispatcherThreads();
+        }
+        if (serializationExecutor != null) {
+            serializationExecutor.shutdown();
+        }
+    }
+
+    /**
+     * Starts the dispatcher threads. A conflation window needs a single one, since windows collected by several threads
+     * would be published in any order, an older state of an entity possibly after its final one.
+     */
+    private void startDispatcherThreads() {
+        if (properties.isConflationEnabled() && properties.getConflationWindowMs() > 0 && properties.getAsyncDispatcherThreads() > 1) {
+            throw new IllegalStateException("A data event conflation window needs a single dispatcher thread, "
+                    + properties.getAsyncDispatcherThreads() + " are configured");
+        }
+        queue = new ArrayBlockingQueue<>(properties.getAsyncQueueCapacity());
+        running = true;
+        Thread.Builder builder = properties.isAsyncVirtualThreads()
+                ? Thread.ofVirtual().name("data-event-dispatcher-", 0)
+                : Thread.ofPlatform().daemon().name("data-event-dispatcher-", 0);
+        for (int i = 0; i < properties.getAsyncDispatcherThreads(); i++) {
+            dispatcherThreads.add(builder.start(this::drain));
+        }
+        metrics.bindDispatcher(this);
+    }
+
+    private void stopDispatcherThreads() {
+        running = false;
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(properties.getAsyncShutdownTimeoutMs());
+        for (Thread thread : dispatcherThreads) {
+            try {
+                long remaining = TimeUnit.NANOSECONDS.toMillis(deadline - System.nanoTime());
+                if (remaining <= 0 || !thread.join(Duration.ofMillis(remaining))) {
+                    thread.interrupt();
+                }
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+                break;
+            }
+        }
+        if (!queue.isEmpty()) {
+            logger.warn(queue.size() + " data events were not broadcast before shutdown");
+        }
+    }
+
+    private ExecutorService createSerializationExecutor() {
+        if (properties.isSerializationParallelVirtualThreads()) {
+            return Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("data-event-serializer-", 0).factory());
+        }
+        int threads = properties.getSerializationParallelThreads();
+        return Executors.newWorkStealingPool(threads > 0 ? threads : Runtime.getRuntime().availableProcessors());
+    }
+
+    public void dispatch(DataEvent event) {
+        if (event.metadata().publication() != null) {
+            DataEvent published = publicationThrottle.offer(event);
+            if (published == null) {
+                metrics.throttled(event.metadata(), event.type());
+                return;
+            }
+            event = published;
+        }
+        if ((properties.isBatchEnabled() || properties.isTransactionalEnabled() || properties.isConflationEnabled())
+                && TransactionSynchronizationManager.isSynchronizationActive()) {
+            TransactionalEventBuffer.getOrBind(this).add(event);
+        } else {
+            submit(List.of(event));
+        }
+    }
+
+    void dispatchAll(List<DataEvent> events) {
+        List<DataEvent> dispatched = properties.isConflationEnabled() ? EventConflater.conflate(events) : events;
+        if (!dispatched.isEmpty()) {
+            submit(dispatched);
+        }
+    }
+
+    public long getDroppedEventCount() {
+        return droppedEvents.get();
+    }
+
+    public int getQueueSize() {
+        return queue == null ? 0 : queue.size();
+    }
+
+    private void submit(List<DataEvent> events) {
+        if (!running) {
+            publish(events);
+            return;
+        }
+        if (queue.offer(events)) {
+            return;
+        }
+        switch (properties.getAsyncOverflowPolicy()) {
+            case BLOCK -> enqueue(events);
+            case DROP -> droppedEvents.addAndGet(events.size());
+            case SYNCHRONOUS -> publish(events);
+        }
+    }
+
+    private void enqueue(List<DataEvent> events) {
+        try {
+            queue.put(events);
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            publish(events);
+        }
+    }
+
+    /**
+     * Broadcasts the events of the entities without sinks, and hands the others over to their sinks, each event being
+     * serialized at most once for all of them. Every sink is called even when another one fails, the first failure
+     * being raised afterwards.
+     */
+    private void publish(List<DataEvent> events) {
+        if (stream != null) {
+            stream.publish(events);
+        }
+        if (!hasSinks(events)) {
+            broadcast(events);
+            return;
+        }
+        List<DataEvent> broadcastEvents = new ArrayList<>(events.size());
+        Map<DataEventSink, List<SinkEvent>> sinkEvents = new LinkedHashMap<>();
+        for (DataEvent event : events) {
+            List<DataEventSink> sinks = event.metadata().sinks();
+            if (sinks == null) {
+                broadcastEvents.add(event);
+                continue;
+            }
+            SinkEvent sinkEvent = new SinkEvent(event, dataEventBroadcaster::serialize);
+            for (DataEventSink sink : sinks) {
+                sinkEvents.computeIfAbsent(sink, key -> new ArrayList<>()).add(sinkEvent);
+            }
+        }
+        RuntimeException failure = null;
+        if (!broadcastEvents.isEmpty()) {
+            try {
+                broadcast(broadcastEvents);
+            } catch (RuntimeException error) {
+                failure = error;
+            }
+        }
+        for (Map.Entry<DataEventSink, List<SinkEvent>> entry : sinkEvents.entrySet()) {
+            try {
+                entry.getKey().publish(entry.getValue());
+            } catch (RuntimeException error) {
+                if (failure == null) {
+                    failure = error;
+                } else {
+                    failure.addSuppressed(error);
+                }
+            }
+        }
+        if (failure != null) {
+            throw failure;
+        }
+    }
+
+    private static boolean hasSinks(List<DataEvent> events) {
+        for (DataEvent event : events) {
+            if (event.metadata().sinks() != null) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private void broadcast(List<DataEvent> events) {
+        if (properties.isTransactionalEnabled()) {
+            boolean parallel = serializationExecutor != null && events.size() >= properties.getSerializationParallelThreshold();
+            dataEventBroadcaster.broadcastTransaction(events, parallel ? serializationExecutor : null);
+        } else if (!properties.isBatchEnabled()) {
+            events.forEach(dataEventBroadcaster::broadcast);
+        } else if (properties.isBatchEnvelope()) {
+            dataEventBroadcaster.broadcastEnvelopes(events);
+        } else if (serializationExecutor != null && events.size() >= properties.getSerializationParallelThreshold()) {
+            dataEventBroadcaster.broadcastAll(events, serializationExecutor);
+        } else {
+            dataEventBroadcaster.broadcastAll(events);
+        }
+    }
+
+    private void drain() {
+        long conflationWindowMs = properties.isConflationEnabled() ? properties.getConflationWindowMs() : 0;
+        while (running || !queue.isEmpty()) {
+            List<DataEvent> events;
+            try {
+                events = queue.poll(POLL_TIMEOUT_MS, TimeUnit.MILLISECONDS);
+            } catch (InterruptedException error) {
+                return;
+            }
+            if (events == null) {
+                continue;
+            }
+            if (conflationWindowMs > 0) {
+                events = collectWindow(events, conflationWindowMs);
+            }
+            try {
+                publish(events);
+            } catch (RuntimeException error) {
+                logger.error("Could not broadcast " + events.size() + " data events", error);
+            }
+        }
+    }
+
+    /**
+     * Collects the events queued during the conflation window opened by the first ones, and conflates them.
+     */
+    private List<DataEvent> collectWindow(List<DataEvent> first, long windowMs) {
+        List<DataEvent> window = new ArrayList<>(first);
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(windowMs);
+        try {
+            long remaining;
+            while ((remaining = deadline - System.nanoTime()) > 0) {
+                List<DataEvent> next = running ? queue.poll(remaining, TimeUnit.NANOSECONDS) : queue.poll();
+                if (next == null) {
+                    break;
+                }
+                window.addAll(next);
+            }
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+        }
+        return EventConflater.conflate(window);
+    }
+}
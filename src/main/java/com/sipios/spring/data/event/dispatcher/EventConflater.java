@@ -0,0 +1,81 @@
+package com.sipios.spring.data.event.dispatcher;
+
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * Merges the successive events of a same entity, identified by its class and id, into the one describing its final
+ * state.
+ * <ul>
+ *     <li>creation then updates is a creation of the final state</li>
+ *     <li>successive updates are an update from the first previous state to the last state, with all the properties
+ *     that were dirty in any of them</li>
+ *     <li>updates then deletion is a deletion</li>
+ *     <li>creation then deletion is nothing</li>
+ * </ul>
+ * A merged event takes the place of the first event of its entity. Events following a deletion, and events without id,
+ * are kept as they are.
+ */
+final class EventConflater {
+
+    private EventConflater() {
+    }
+
+    static List<DataEvent> conflate(List<DataEvent> events) {
+        if (events.size() < 2) {
+            return events;
+        }
+        List<DataEvent> conflated = new ArrayList<>(events.size());
+        Map<EntityKey, Integer> positions = new HashMap<>();
+        for (DataEvent event : events) {
+            if (event.id() == null) {
+                conflated.add(event);
+                continue;
+            }
+            EntityKey key = new EntityKey(event.metadata().entityClass(), event.id());
+            Integer position = positions.get(key);
+            DataEvent previous = position != null ? conflated.get(position) : null;
+            if (previous == null || previous.type() == DataEventType.DELETED) {
+                positions.put(key, conflated.size());
+                conflated.add(event);
+            } else {
+                conflated.set(position, merge(previous, event));
+            }
+        }
+        conflated.removeIf(Objects::isNull);
+        return conflated;
+    }
+
+    /**
+     * Merges an event into the previous one of its entity, {@code null} when they cancel each other out.
+     */
+    static DataEvent merge(DataEvent previous, DataEvent event) {
+        if (event.type() == DataEventType.DELETED) {
+            return previous.type() == DataEventType.CREATED ? null : event;
+        }
+        if (previous.type() == DataEventType.CREATED) {
+            return new DataEvent(DataEventType.CREATED, event.entity(), event.metadata(), event.id(), event.persister(),
+                    event.state(), null, null);
+        }
+        return new DataEvent(event.type(), event.entity(), event.metadata(), event.id(), event.persister(),
+                event.state(), previous.oldState(), mergeDirtyProperties(previous.dirtyProperties(), event.dirtyProperties()));
+    }
+
+    private static int[] mergeDirtyProperties(int[] previous, int[] current) {
+        if (previous == null || current == null) {
+            return null;
+        }
+        return IntStream.concat(Arrays.stream(previous), Arrays.stream(current)).distinct().sorted().toArray();
+    }
+
+    private record EntityKey(Class<?> entityClass, Object id) {
+    }
+}
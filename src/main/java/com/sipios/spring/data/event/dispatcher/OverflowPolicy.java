@@ -0,0 +1,19 @@
+package com.sipios.spring.data.event.dispatcher;
+
+/**
+ * What the committing thread does when the asynchronous dispatch queue is full.
+ */
+public enum OverflowPolicy {
+    /**
+     * Wait for room in the queue.
+     */
+    BLOCK,
+    /**
+     * Drop the event and count it.
+     */
+    DROP,
+    /**
+     * Broadcast the event synchronously on the committing thread.
+     */
+    SYNCHRONOUS
+}
@@ -0,0 +1,47 @@
+package com.sipios.spring.data.event.dispatcher;
+
+import com.sipios.spring.data.event.annotation.PublicationMode;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Publication policy of the update events of an entity, applied by {@link PublicationThrottle}.
+ *
+ * @param mode          rate limited, sampled or snapshot
+ * @param periodNanos   minimum time between two events of an entity when rate limited, the snapshot period otherwise
+ * @param sampleEvery   number of changes merged into one event when sampled
+ * @param maxIdleNanos  time after which the sampled changes of an entity that stopped changing are published anyway
+ */
+public record PublicationPolicy(PublicationMode mode, long periodNanos, int sampleEvery, long maxIdleNanos) {
+
+    public static PublicationPolicy rateLimited(int maxEventsPerSecond) {
+        if (maxEventsPerSecond <= 0) {
+            throw new IllegalArgumentException("The maximum number of events per second must be positive");
+        }
+        return new PublicationPolicy(PublicationMode.RATE_LIMITED, TimeUnit.SECONDS.toNanos(1) / maxEventsPerSecond, 0, 0);
+    }
+
+    public static PublicationPolicy sampled(int sampleEvery, long maxIdleMs) {
+        if (sampleEvery <= 0 || maxIdleMs <= 0) {
+            throw new IllegalArgumentException("The sampling interval and the maximum idle time must be positive");
+        }
+        return new PublicationPolicy(PublicationMode.SAMPLED, 0, sampleEvery, TimeUnit.MILLISECONDS.toNanos(maxIdleMs));
+    }
+
+    public static PublicationPolicy snapshot(long intervalMs) {
+        if (intervalMs <= 0) {
+            throw new IllegalArgumentException("The snapshot interval must be positive");
+        }
+        return new PublicationPolicy(PublicationMode.SNAPSHOT, TimeUnit.MILLISECONDS.toNanos(intervalMs), 0, 0);
+    }
+
+    /**
+     * Period at which the held changes are checked.
+     */
+    long tickNanos() {
+        return switch (mode) {
+            case SAMPLED -> Math.max(maxIdleNanos / 2, TimeUnit.MILLISECONDS.toNanos(1));
+            default -> Math.max(periodNanos, TimeUnit.MILLISECONDS.toNanos(1));
+        };
+    }
+}
@@ -0,0 +1,372 @@
+package com.sipios.spring.data.event.dispatcher;
+
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Consumer;
+
+/**
+ * Last value cache applying the {@link PublicationPolicy} of the entities before their update events are broadcast.
+ * <p>
+ * Each entity, identified by its class and id, has a slot holding its changes not published yet, merged by
+ * {@link EventConflater} into the one describing its latest state. The slots of an entity class live in their own
+ * concurrent map and are only updated with atomic operations, so that changes of different entities never contend. A
+ * scheduler thread, started with the first entity class having a policy, releases the held changes once their policy
+ * allows it and evicts the slots of the entities that stopped changing.
+ * <p>
+ * Creation and deletion events are never held, a deletion discarding the changes held for its entity. A slot stays
+ * {@code RELEASING} from the time the scheduler takes its change until that change is published, and a deletion of its
+ * entity blocks until the slot is settled before closing it, so that a change held before a deletion is never published
+ * after it. Changes merged into a closed slot are dropped, while the ones merged into an evicted slot move to a new
+ * slot. Once stopped, an update takes the change held for its entity the same way, and is published merged with it.
+ */
+final class PublicationThrottle {
+
+    private static final Log logger = LogFactory.getLog(PublicationThrottle.class);
+
+    private static final int OPEN = 0;
+    private static final int RELEASING = 1;
+    private static final int EVICTING = 2;
+    private static final int EVICTED = 3;
+    private static final int DELETED = 4;
+
+    private final Consumer<List<DataEvent>> publisher;
+    private final Map<Class<?>, Lane> lanes = new ConcurrentHashMap<>();
+    private ScheduledExecutorService scheduler;
+    private volatile boolean stopped;
+
+    /**
+     * @param publisher publishes the changes released by the scheduler thread
+     */
+    PublicationThrottle(Consumer<List<DataEvent>> publisher) {
+        this.publisher = publisher;
+    }
+
+    /**
+     * Event to publish right away, {@code null} when the change is held until its policy allows it. Sampled changes
+     * are released merged with the previous ones.
+     */
+    DataEvent offer(DataEvent event) {
+        PublicationPolicy policy = event.metadata().publication();
+        if (policy == null || event.id() == null) {
+            return event;
+        }
+        Lane lane = lanes.get(event.metadata().entityClass());
+        if (stopped) {
+            if (lane == null) {
+                return event;
+            }
+            DataEvent held = lane.close(event.id());
+            return event.type() == DataEventType.UPDATED ? merge(held, event) : event;
+        }
+        if (lane == null) {
+            lane = lanes.computeIfAbsent(event.metadata().entityClass(), entityClass -> createLane(policy));
+        }
+        return lane.offer(event, System.nanoTime());
+    }
+
+    /**
+     * Number of changes currently held.
+     */
+    int getHeldCount() {
+        int count = 0;
+        for (Lane lane : lanes.values()) {
+            for (Slot slot : lane.slots.values()) {
+                if (slot.pending.get() != null) {
+                    count++;
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * Stops the scheduler thread and publishes every held change, later changes being published right away, merged
+     * with the one held for their entity if it was not drained yet.
+     */
+    void stop() {
+        stopped = true;
+        synchronized (this) {
+            if (scheduler != null) {
+                scheduler.shutdownNow();
+                try {
+                    scheduler.awaitTermination(1, TimeUnit.SECONDS);
+                } catch (InterruptedException error) {
+                    Thread.currentThread().interrupt();
+                }
+            }
+        }
+        List<DataEvent> released = new ArrayList<>();
+        List<Release> releases = new ArrayList<>();
+        for (Lane lane : lanes.values()) {
+            lane.drain(released, releases);
+        }
+        try {
+            if (!released.isEmpty()) {
+                publisher.accept(released);
+            }
+        } finally {
+            settle(releases);
+        }
+    }
+
+    private Lane createLane(PublicationPolicy policy) {
+        Lane lane = new Lane(policy);
+        synchronized (this) {
+            if (scheduler == null) {
+                scheduler = Executors.newSingleThreadScheduledExecutor(Thread.ofPlatform().daemon().name("data-event-publication").factory());
+            }
+            long tickNanos = policy.tickNanos();
+            scheduler.scheduleAtFixedRate(() -> release(lane), tickNanos, tickNanos, TimeUnit.NANOSECONDS);
+        }
+        return lane;
+    }
+
+    private void release(Lane lane) {
+        List<DataEvent> released = new ArrayList<>();
+        List<Release> releases = new ArrayList<>();
+        lane.tick(System.nanoTime(), released, releases);
+        if (released.isEmpty()) {
+            return;
+        }
+        try {
+            publisher.accept(released);
+        } catch (RuntimeException error) {
+            logger.error("Could not broadcast " + released.size() + " held data events", error);
+        } finally {
+            settle(releases);
+        }
+    }
+
+    private static void settle(List<Release> releases) {
+        for (Release release : releases) {
+            release.lane().settle(release.id(), release.slot(), release.evicted());
+        }
+    }
+
+    private static DataEvent merge(DataEvent previous, DataEvent event) {
+        return previous == null ? event : event == null ? previous : EventConflater.merge(previous, event);
+    }
+
+    /**
+     * Slots of the entities of one class.
+     */
+    private static final class Lane {
+
+        private final PublicationPolicy policy;
+        private final Map<Object, Slot> slots = new ConcurrentHashMap<>();
+
+        Lane(PublicationPolicy policy) {
+            this.policy = policy;
+        }
+
+        DataEvent offer(DataEvent event, long now) {
+            if (event.type() != DataEventType.UPDATED) {
+                close(event.id());
+                return event;
+            }
+            Slot slot = slots.computeIfAbsent(event.id(), id -> new Slot(now));
+            return switch (policy.mode()) {
+                case RATE_LIMITED -> {
+                    long next = slot.next.get();
+                    if (slot.pending.get() == null && now - next >= 0 && slot.next.compareAndSet(next, now + policy.periodNanos())) {
+                        yield event;
+                    }
+                    hold(event.id(), slot, event, now);
+                    yield null;
+                }
+                case SAMPLED -> {
+                    hold(event.id(), slot, event, now);
+                    yield slot.count.incrementAndGet() % policy.sampleEvery() == 0 && slot.state.get() != DELETED ? slot.pending.getAndSet(null) : null;
+                }
+                default -> {
+                    hold(event.id(), slot, event, now);
+                    yield null;
+                }
+            };
+        }
+
+        /**
+         * Closes the slot of an entity, once the release of the change already taken by the scheduler completed.
+         *
+         * @return the change held for the entity, {@code null} when there is none
+         */
+        DataEvent close(Object id) {
+            DataEvent held = null;
+            Slot slot;
+            while ((slot = slots.get(id)) != null) {
+                int state;
+                while ((state = slot.state.get()) != DELETED && state != EVICTED && !slot.state.compareAndSet(OPEN, DELETED)) {
+                    if (state == RELEASING || state == EVICTING) {
+                        slot.awaitSettled();
+                    }
+                }
+                held = merge(held, slot.pending.getAndSet(null));
+                slots.remove(id, slot);
+            }
+            return held;
+        }
+
+        /**
+         * Merges a change into the slot of its entity, dropping it if the entity was deleted meanwhile, and moving it to
+         * a new slot if the scheduler evicted this one.
+         */
+        private void hold(Object id, Slot slot, DataEvent event, long now) {
+            slot.touched = now;
+            slot.pending.accumulateAndGet(event, PublicationThrottle::merge);
+            int state = slot.state.get();
+            if (state >= EVICTING) {
+                DataEvent orphan = slot.pending.getAndSet(null);
+                if (orphan != null && state != DELETED) {
+                    hold(id, successor(id, slot, now), orphan, now);
+                }
+            }
+        }
+
+        /**
+         * Slot replacing an evicted one.
+         */
+        private Slot successor(Object id, Slot slot, long now) {
+            return slots.compute(id, (key, current) -> current == null || current == slot ? new Slot(now) : current);
+        }
+
+        void tick(long now, List<DataEvent> released, List<Release> releases) {
+            slots.forEach((id, slot) -> {
+                if (!slot.state.compareAndSet(OPEN, RELEASING)) {
+                    return;
+                }
+                boolean taken = false;
+                boolean evicted = false;
+                switch (policy.mode()) {
+                    case RATE_LIMITED -> {
+                        long next = slot.next.get();
+                        if (now - next >= 0) {
+                            if (slot.pending.get() == null) {
+                                evicted = true;
+                            } else if (slot.next.compareAndSet(next, now + policy.periodNanos())) {
+                                taken = take(slot, released);
+                            }
+                        }
+                    }
+                    case SAMPLED -> {
+                        if (now - slot.touched >= policy.maxIdleNanos()) {
+                            taken = take(slot, released);
+                            evicted = true;
+                        }
+                    }
+                    default -> {
+                        taken = take(slot, released);
+                        evicted = !taken;
+                    }
+                }
+                if (taken) {
+                    releases.add(new Release(this, id, slot, evicted));
+                } else {
+                    settle(id, slot, evicted);
+                }
+            });
+        }
+
+        /**
+         * Takes every held change, to be published before the slots are evicted.
+         */
+        void drain(List<DataEvent> released, List<Release> releases) {
+            slots.forEach((id, slot) -> {
+                if (slot.state.compareAndSet(OPEN, RELEASING)) {
+                    take(slot, released);
+                    releases.add(new Release(this, id, slot, true));
+                }
+            });
+        }
+
+        /**
+         * Reopens a slot once its change is published, or evicts it, moving a change merged meanwhile to a new slot
+         * before a waiting deletion can proceed.
+         */
+        void settle(Object id, Slot slot, boolean evicted) {
+            if (!evicted) {
+                slot.settle(OPEN);
+                return;
+            }
+            slot.state.set(EVICTING);
+            DataEvent orphan = slot.pending.getAndSet(null);
+            if (orphan != null) {
+                long now = System.nanoTime();
+                hold(id, successor(id, slot, now), orphan, now);
+            } else {
+                slots.remove(id, slot);
+            }
+            slot.settle(EVICTED);
+        }
+
+        private static boolean take(Slot slot, List<DataEvent> released) {
+            DataEvent event = slot.pending.getAndSet(null);
+            if (event != null) {
+                released.add(event);
+            }
+            return event != null;
+        }
+    }
+
+    /**
+     * Changes held for one entity, with the time its next event may be published when rate limited, its number of
+     * changes when sampled, and its release state.
+     */
+    private static final class Slot {
+
+        private final AtomicReference<DataEvent> pending = new AtomicReference<>();
+        private final AtomicInteger state = new AtomicInteger(OPEN);
+        private final AtomicLong next;
+        private final AtomicInteger count = new AtomicInteger();
+        private volatile long touched;
+
+        Slot(long now) {
+            this.next = new AtomicLong(now);
+            this.touched = now;
+        }
+
+        /**
+         * Ends a release or an eviction, waking up the threads waiting for it.
+         */
+        synchronized void settle(int settled) {
+            state.set(settled);
+            notifyAll();
+        }
+
+        /**
+         * Blocks until the release or eviction of the slot is settled.
+         */
+        synchronized void awaitSettled() {
+            boolean interrupted = false;
+            int current;
+            while ((current = state.get()) == RELEASING || current == EVICTING) {
+                try {
+                    wait();
+                } catch (InterruptedException error) {
+                    interrupted = true;
+                }
+            }
+            if (interrupted) {
+                Thread.currentThread().interrupt();
+            }
+        }
+    }
+
+    /**
+     * Slot whose change is being published, to settle once it is.
+     */
+    private record Release(Lane lane, Object id, Slot slot, boolean evicted) {
+    }
+}
@@ -0,0 +1,52 @@
+package com.sipios.spring.data.event.dispatcher;
+
+import com.sipios.spring.data.event.model.DataEvent;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Collects the events committed by one transaction so that they are dispatched together once the transaction
+ * completes.
+ */
+class TransactionalEventBuffer implements TransactionSynchronization {
+
+    private final DataEventDispatcher dataEventDispatcher;
+    private final List<DataEvent> events = new ArrayList<>();
+    private boolean committed;
+
+    TransactionalEventBuffer(DataEventDispatcher dataEventDispatcher) {
+        this.dataEventDispatcher = dataEventDispatcher;
+    }
+
+    static TransactionalEventBuffer getOrBind(DataEventDispatcher dataEventDispatcher) {
+        TransactionalEventBuffer buffer = (TransactionalEventBuffer) TransactionSynchronizationManager.getResource(dataEventDispatcher);
+        if (buffer == null) {
+            buffer = new TransactionalEventBuffer(dataEventDispatcher);
+            TransactionSynchronizationManager.bindResource(dataEventDispatcher, buffer);
+            TransactionSynchronizationManager.registerSynchronization(buffer);
+        }
+        return buffer;
+    }
+
+    void add(DataEvent event) {
+        if (committed) {
+            dataEventDispatcher.dispatchAll(List.of(event));
+        } else {
+            events.add(event);
+        }
+    }
+
+    @Override
+    public void afterCommit() {
+        committed = true;
+        dataEventDispatcher.dispatchAll(events);
+    }
+
+    @Override
+    public void afterCompletion(int status) {
+        TransactionSynchronizationManager.unbindResourceIfPossible(dataEventDispatcher);
+    }
+}
@@ -0,0 +1,19 @@
+package com.sipios.spring.data.event.filter;
+
+import com.sipios.spring.data.event.model.DataEvent;
+
+/**
+ * Decides whether an event is published, evaluated by the listener before the event is serialized or dispatched.
+ * <p>
+ * The event carries the Hibernate state arrays and, for updates, the indexes of the dirty properties, so that a filter
+ * can decide without reading the entity graph.
+ */
+@FunctionalInterface
+public interface DataEventFilter {
+
+    boolean accept(DataEvent event);
+
+    default DataEventFilter and(DataEventFilter other) {
+        return event -> accept(event) && other.accept(event);
+    }
+}
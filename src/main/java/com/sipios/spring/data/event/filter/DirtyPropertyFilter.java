@@ -0,0 +1,85 @@
+package com.sipios.spring.data.event.filter;
+
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * {@link DataEventFilter} of update events on their dirty properties, from the {@link DataEventEntity#triggerProperties()}
+ * and {@link DataEventEntity#ignoredProperties()} of an entity.
+ * <p>
+ * Property names are compiled into masks of Hibernate property indexes, once for the persister of the entity, so that
+ * an update is only checked against the indexes of its dirty properties. Creation and deletion events, and updates
+ * whose dirty properties are unknown, are always accepted.
+ */
+public class DirtyPropertyFilter implements DataEventFilter {
+
+    private final Set<String> triggerProperties;
+    private final Set<String> ignoredProperties;
+    private volatile Masks masks;
+
+    private DirtyPropertyFilter(Set<String> triggerProperties, Set<String> ignoredProperties, EntityPersister persister) {
+        this.triggerProperties = triggerProperties;
+        this.ignoredProperties = ignoredProperties;
+        this.masks = persister != null ? compile(persister) : null;
+    }
+
+    /**
+     * The filter of an entity, {@code null} when it declares no dirty property condition.
+     *
+     * @throws IllegalArgumentException if a declared property is not a property of the persister
+     */
+    public static DirtyPropertyFilter forEntity(DataEventEntity annotation, EntityPersister persister) {
+        if (annotation.triggerProperties().length == 0 && annotation.ignoredProperties().length == 0) {
+            return null;
+        }
+        return new DirtyPropertyFilter(Set.of(annotation.triggerProperties()), Set.of(annotation.ignoredProperties()), persister);
+    }
+
+    @Override
+    public boolean accept(DataEvent event) {
+        int[] dirtyProperties = event.dirtyProperties();
+        if (event.type() != DataEventType.UPDATED || dirtyProperties == null || event.persister() == null) {
+            return true;
+        }
+        Masks current = masks;
+        if (current == null || current.persister() != event.persister()) {
+            current = compile(event.persister());
+            masks = current;
+        }
+        for (int index : dirtyProperties) {
+            if ((current.triggers() == null || current.triggers()[index]) && (current.ignored() == null || !current.ignored()[index])) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    private Masks compile(EntityPersister persister) {
+        List<String> propertyNames = Arrays.asList(persister.getPropertyNames());
+        return new Masks(persister, mask(triggerProperties, propertyNames, persister), mask(ignoredProperties, propertyNames, persister));
+    }
+
+    private static boolean[] mask(Set<String> properties, List<String> propertyNames, EntityPersister persister) {
+        if (properties.isEmpty()) {
+            return null;
+        }
+        boolean[] mask = new boolean[propertyNames.size()];
+        for (String property : properties) {
+            int index = propertyNames.indexOf(property);
+            if (index < 0) {
+                throw new IllegalArgumentException("Unknown property '" + property + "' in the @DataEventEntity filter of " + persister.getEntityName());
+            }
+            mask[index] = true;
+        }
+        return mask;
+    }
+
+    private record Masks(EntityPersister persister, boolean[] triggers, boolean[] ignored) {
+    }
+}
@@ -0,0 +1,74 @@
+package com.sipios.spring.data.event.key;
+
+import com.sipios.spring.data.event.model.DataEvent;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.function.Function;
+
+/**
+ * Default {@link RecordKeyStrategy}, using the string value of the entity identifier as key.
+ * <p>
+ * The identifier carried by the Hibernate event is used when present. Otherwise it is read with an accessor resolved
+ * once per entity class, from the persister identifier mapping or from the {@link Id} field. Composite identifiers
+ * should have a stable {@code toString}.
+ */
+public class IdentifierKeyStrategy implements RecordKeyStrategy {
+
+    private final Function<Object, Object> identifierAccessor;
+
+    private IdentifierKeyStrategy(Function<Object, Object> identifierAccessor) {
+        this.identifierAccessor = identifierAccessor;
+    }
+
+    public static IdentifierKeyStrategy forEntity(Class<?> entityClass, EntityPersister persister) {
+        if (persister != null) {
+            return new IdentifierKeyStrategy(persister.getIdentifierMapping()::getIdentifier);
+        }
+        MethodHandle getter = findIdentifierGetter(entityClass);
+        return new IdentifierKeyStrategy(getter == null ? entity -> null : entity -> invoke(getter, entity));
+    }
+
+    @Override
+    public String getKey(DataEvent event) {
+        Object id = event.id() != null ? event.id() : identifierAccessor.apply(event.entity());
+        return id != null ? id.toString() : null;
+    }
+
+    private static MethodHandle findIdentifierGetter(Class<?> entityClass) {
+        Field identifierField = null;
+        for (Class<?> type = entityClass; type != null && type != Object.class && identifierField == null; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.isAnnotationPresent(Id.class) || field.isAnnotationPresent(EmbeddedId.class)) {
+                    identifierField = field;
+                    break;
+                }
+                if (identifierField == null && "id".equals(field.getName())) {
+                    identifierField = field;
+                }
+            }
+        }
+        if (identifierField == null) {
+            return null;
+        }
+        try {
+            MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(identifierField.getDeclaringClass(), MethodHandles.lookup());
+            return lookup.unreflectGetter(identifierField).asType(MethodType.methodType(Object.class, Object.class));
+        } catch (IllegalAccessException error) {
+            return null;
+        }
+    }
+
+    private static Object invoke(MethodHandle getter, Object entity) {
+        try {
+            return (Object) getter.invokeExact(entity);
+        } catch (Throwable error) {
+            throw new IllegalStateException("Could not read the identifier of " + entity.getClass().getName(), error);
+        }
+    }
+}
@@ -0,0 +1,14 @@
+package com.sipios.spring.data.event.key;
+
+import com.sipios.spring.data.event.model.DataEvent;
+
+/**
+ * Computes the key of the Kafka record sent for an event.
+ * <p>
+ * Records sharing a key land on the same partition, which keeps the events of one entity in order and allows log
+ * compaction. Implementations must be thread safe, returning {@code null} sends the record without key.
+ */
+public interface RecordKeyStrategy {
+
+    String getKey(DataEvent event);
+}
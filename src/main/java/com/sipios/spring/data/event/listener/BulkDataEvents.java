@@ -0,0 +1,280 @@
+package com.sipios.spring.data.event.listener;
+
+import com.sipios.spring.data.event.annotation.BulkMode;
+import com.sipios.spring.data.event.dispatcher.DataEventDispatcher;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.metrics.DataEventMetrics;
+import com.sipios.spring.data.event.model.BulkChange;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.outbox.OutboxWriter;
+import jakarta.transaction.Status;
+import jakarta.transaction.Synchronization;
+import org.hibernate.LockMode;
+import org.hibernate.StatelessSession;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.query.MutationQuery;
+import org.hibernate.query.QueryParameter;
+import org.hibernate.query.spi.QueryParameterBinding;
+import org.hibernate.query.spi.QueryParameterBindings;
+import org.hibernate.query.sqm.SqmQuerySource;
+import org.hibernate.query.sqm.internal.QuerySqmImpl;
+import org.hibernate.query.sqm.tree.SqmCopyContext;
+import org.hibernate.query.sqm.tree.SqmDeleteOrUpdateStatement;
+import org.hibernate.query.sqm.tree.from.SqmRoot;
+import org.hibernate.query.sqm.tree.predicate.SqmWhereClause;
+import org.hibernate.query.sqm.tree.select.SqmSelectStatement;
+import org.hibernate.query.sqm.tree.update.SqmUpdateStatement;
+import org.springframework.stereotype.Component;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Publishes the changes Hibernate does not raise entity events for: bulk update and delete statements, and the
+ * operations of stateless sessions.
+ * <p>
+ * In {@link BulkMode#ENTITIES} mode, the identifiers of the entities changed by a bulk statement are first selected
+ * with a query sharing its restriction and parameters, which locks their rows until the transaction ends. Their state
+ * is then loaded by chunks of {@value #LOAD_CHUNK_SIZE} with a stateless session, so that none of them is added to the
+ * persistence context: before a delete, and after an update. In {@link BulkMode#STATEMENT} mode, a single
+ * {@link BulkChange} event describes the statement.
+ * <p>
+ * Events follow the path of the listener ones: they are filtered, then written to the outbox in the current
+ * transaction, or dispatched once it commits.
+ */
+@Component
+public class BulkDataEvents {
+
+    static final int LOAD_CHUNK_SIZE = 1000;
+
+    private final DataEventDispatcher dataEventDispatcher;
+    private final DataEventMetadataRegistry metadataRegistry;
+    private final OutboxWriter outboxWriter;
+    private final DataEventMetrics metrics;
+
+    public BulkDataEvents(DataEventDispatcher dataEventDispatcher, DataEventMetadataRegistry metadataRegistry, OutboxWriter outboxWriter, DataEventMetrics metrics) {
+        this.dataEventDispatcher = dataEventDispatcher;
+        this.metadataRegistry = metadataRegistry;
+        this.outboxWriter = outboxWriter;
+        this.metrics = metrics;
+    }
+
+    /**
+     * Executes an HQL or criteria update or delete statement and publishes the changes it made.
+     * <p>
+     * JPA queries can be passed with {@code query.unwrap(MutationQuery.class)}. Parameters of the restriction must be
+     * named or positional.
+     *
+     * @return the number of changed rows
+     */
+    public int executeUpdate(MutationQuery query) {
+        if (!(query instanceof QuerySqmImpl<?> sqmQuery) || !(sqmQuery.getSqmStatement() instanceof SqmDeleteOrUpdateStatement<?> statement)) {
+            throw new IllegalArgumentException("Only HQL and criteria update and delete statements can be captured");
+        }
+        DataEventMetadata metadata = metadataRegistry.getMetadata(statement.getTarget().getJavaType());
+        if (!metadata.enabled()) {
+            return query.executeUpdate();
+        }
+        DataEventType type = statement instanceof SqmUpdateStatement<?> ? DataEventType.UPDATED : DataEventType.DELETED;
+        SharedSessionContractImplementor session = sqmQuery.getSession();
+        if (metadata.bulk() == BulkMode.STATEMENT) {
+            int count = query.executeUpdate();
+            String hql = statement.getQuerySource() == SqmQuerySource.HQL ? sqmQuery.getQueryString() : statement.toHqlString();
+            BulkChange change = new BulkChange(statement.getTarget().getModel().getName(), type.getLabel(), hql, getParameters(sqmQuery), count);
+            publish(session, List.of(new DataEvent(type, change, metadataRegistry.getStatementMetadata(statement.getTarget().getJavaType()))));
+            return count;
+        }
+        EntityPersister persister = session.getFactory().getMappingMetamodel().getEntityDescriptor(statement.getTarget().getEntityName());
+        List<Object> ids = selectIdentifiers(sqmQuery, statement, persister.getIdentifierPropertyName());
+        List<Object> entities;
+        int count;
+        if (type == DataEventType.DELETED) {
+            entities = load(session, persister, ids);
+            count = query.executeUpdate();
+        } else {
+            count = query.executeUpdate();
+            entities = load(session, persister, ids);
+        }
+        List<DataEvent> events = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            events.add(new DataEvent(type, entity, metadata, persister.getIdentifier(entity, session), persister, null, null, null));
+        }
+        publish(session, events);
+        return count;
+    }
+
+    /**
+     * Inserts an entity with a stateless session and publishes its creation.
+     *
+     * @return the identifier of the entity
+     */
+    public Object insert(StatelessSession session, Object entity) {
+        Object id = session.insert(entity);
+        publish(session, DataEventType.CREATED, List.of(entity));
+        return id;
+    }
+
+    /**
+     * Inserts entities with a stateless session, in a JDBC batch when batching is configured, and publishes their
+     * creation.
+     */
+    public void insertAll(StatelessSession session, Collection<?> entities) {
+        for (Object entity : entities) {
+            session.insert(entity);
+        }
+        publish(session, DataEventType.CREATED, entities);
+    }
+
+    /**
+     * Updates an entity with a stateless session and publishes the update, with the whole entity as payload since its
+     * dirty properties are unknown.
+     */
+    public void update(StatelessSession session, Object entity) {
+        session.update(entity);
+        publish(session, DataEventType.UPDATED, List.of(entity));
+    }
+
+    /**
+     * Deletes an entity with a stateless session and publishes its deletion.
+     */
+    public void delete(StatelessSession session, Object entity) {
+        session.delete(entity);
+        publish(session, DataEventType.DELETED, List.of(entity));
+    }
+
+    private void publish(StatelessSession statelessSession, DataEventType type, Collection<?> entities) {
+        SharedSessionContractImplementor session = (SharedSessionContractImplementor) statelessSession;
+        List<DataEvent> events = new ArrayList<>(entities.size());
+        for (Object entity : entities) {
+            DataEventMetadata metadata = metadataRegistry.getMetadata(entity);
+            if (metadata.enabled()) {
+                EntityPersister persister = session.getEntityPersister(null, entity);
+                events.add(new DataEvent(type, entity, metadata, persister.getIdentifier(entity, session), persister, null, null, null));
+            }
+        }
+        publish(session, events);
+    }
+
+    private void publish(SharedSessionContractImplementor session, List<DataEvent> events) {
+        List<DataEvent> accepted = new ArrayList<>(events.size());
+        for (DataEvent event : events) {
+            metrics.intercepted(event.metadata(), event.type());
+            if (event.metadata().accept(event)) {
+                accepted.add(event);
+            } else {
+                metrics.filtered(event.metadata(), event.type());
+            }
+        }
+        if (accepted.isEmpty()) {
+            return;
+        }
+        if (outboxWriter.isEnabled()) {
+            if (session instanceof EventSource source) {
+                accepted.forEach(event -> outboxWriter.write(event, source));
+            } else {
+                outboxWriter.writeAll(accepted, session);
+            }
+        } else if (!session.isTransactionInProgress()) {
+            accepted.forEach(dataEventDispatcher::dispatch);
+        } else if (session instanceof EventSource source) {
+            source.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completedSession) -> {
+                if (success) {
+                    accepted.forEach(dataEventDispatcher::dispatch);
+                }
+            });
+        } else {
+            session.getTransaction().registerSynchronization(new Synchronization() {
+                @Override
+                public void beforeCompletion() {
+                }
+
+                @Override
+                public void afterCompletion(int status) {
+                    if (status == Status.STATUS_COMMITTED) {
+                        accepted.forEach(dataEventDispatcher::dispatch);
+                    }
+                }
+            });
+        }
+    }
+
+    /**
+     * Selects the identifiers of the target entities matching the restriction of the statement, locking their rows so
+     * that they cannot change between the selection and the statement.
+     */
+    @SuppressWarnings("unchecked")
+    private static List<Object> selectIdentifiers(QuerySqmImpl<?> query, SqmDeleteOrUpdateStatement<?> statement, String identifierName) {
+        SqmCopyContext context = SqmCopyContext.simpleContext();
+        SqmRoot<Object> root = (SqmRoot<Object>) statement.getTarget().copy(context);
+        SqmSelectStatement<Object> select = new SqmSelectStatement<>(Object.class, statement.nodeBuilder());
+        select.getQuerySpec().getFromClause().addRoot(root);
+        select.select(root.get(identifierName));
+        SqmWhereClause where = statement.getWhereClause();
+        if (where != null && where.getPredicate() != null) {
+            select.where(where.getPredicate().copy(context));
+        }
+        QuerySqmImpl<Object> selection = (QuerySqmImpl<Object>) query.getSession().createQuery(select);
+        QueryParameterBindings bindings = query.getQueryParameterBindings();
+        for (QueryParameter<?> parameter : selection.getParameterMetadata().getRegistrations()) {
+            QueryParameterBinding<?> binding = getBinding(bindings, parameter);
+            if (binding.isMultiValued()) {
+                selection.setParameterList((QueryParameter<Object>) parameter, (Collection<Object>) binding.getBindValues());
+            } else {
+                selection.setParameter((QueryParameter<Object>) parameter, binding.getBindValue());
+            }
+        }
+        return selection.setHibernateLockMode(LockMode.PESSIMISTIC_WRITE).getResultList();
+    }
+
+    /**
+     * Loads the state of changed entities, on the session connection but outside its persistence context: the previous
+     * state of deleted entities would otherwise stay managed after their rows are gone, and the persistence context still
+     * holds the previous state of updated ones.
+     */
+    private static List<Object> load(SharedSessionContractImplementor session, EntityPersister persister, List<Object> ids) {
+        if (ids.isEmpty()) {
+            return List.of();
+        }
+        String hql = "from " + persister.getEntityName() + " e where e." + persister.getIdentifierPropertyName() + " in :ids";
+        return session.doReturningWork(connection -> {
+            try (StatelessSession reader = session.getFactory().openStatelessSession(connection)) {
+                List<Object> entities = new ArrayList<>(ids.size());
+                for (int from = 0; from < ids.size(); from += LOAD_CHUNK_SIZE) {
+                    entities.addAll(reader.createSelectionQuery(hql, Object.class)
+                            .setParameterList("ids", ids.subList(from, Math.min(ids.size(), from + LOAD_CHUNK_SIZE)))
+                            .getResultList());
+                }
+                return entities;
+            }
+        });
+    }
+
+    private static Map<String, Object> getParameters(QuerySqmImpl<?> query) {
+        QueryParameterBindings bindings = query.getQueryParameterBindings();
+        Map<String, Object> parameters = new LinkedHashMap<>();
+        for (QueryParameter<?> parameter : query.getParameterMetadata().getRegistrations()) {
+            QueryParameterBinding<?> binding = getBinding(bindings, parameter);
+            String name = parameter.getName() != null ? parameter.getName() : String.valueOf(parameter.getPosition());
+            parameters.put(name, binding.isMultiValued() ? binding.getBindValues() : binding.getBindValue());
+        }
+        return parameters;
+    }
+
+    private static QueryParameterBinding<?> getBinding(QueryParameterBindings bindings, QueryParameter<?> parameter) {
+        if (parameter.getName() != null) {
+            return bindings.getBinding(parameter.getName());
+        }
+        if (parameter.getPosition() != null) {
+            return bindings.getBinding(parameter.getPosition());
+        }
+        throw new IllegalArgumentException("Parameters of captured bulk statements must be named or positional");
+    }
+}
@@ -1,7 +1,12 @@
 package com.sipios.spring.data.event.listener;
 
-import com.sipios.spring.data.event.annotation.DataEventEntity;
-import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.dispatcher.DataEventDispatcher;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.metrics.DataEventMetrics;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.outbox.OutboxWriter;
 import jakarta.annotation.PostConstruct;
 import jakarta.persistence.EntityManagerFactory;
 import org.hibernate.event.service.spi.EventListenerRegistry;
@@ -13,44 +18,75 @@ import org.springframework.stereotype.Component;
 @Component
 public class DataEventListener implements PostCommitInsertEventListener, PostCommitUpdateEventListener, PostCommitDeleteEventListener {
 
-    private final DataEventBroadcaster dataEventBroadcaster;
+    private final DataEventDispatcher dataEventDispatcher;
+    private final DataEventMetadataRegistry metadataRegistry;
     private final EntityManagerFactory entityManagerFactory;
+    private final OutboxWriter outboxWriter;
+    private final DataEventMetrics metrics;
 
     @PostConstruct
     private void init() {
         SessionFactoryImpl sessionFactory = entityManagerFactory.unwrap(SessionFactoryImpl.class);
+        metadataRegistry.register(sessionFactory.getMappingMetamodel());
         EventListenerRegistry registry = sessionFactory.getServiceRegistry().getService(EventListenerRegistry.class);
-        registry.getEventListenerGroup(EventType.POST_COMMIT_INSERT).appendListener(this);
-        registry.getEventListenerGroup(EventType.POST_COMMIT_UPDATE).appendListener(this);
-        registry.getEventListenerGroup(EventType.POST_COMMIT_DELETE).appendListener(this);
+        if (outboxWriter.isEnabled()) {
+            registry.getEventListenerGroup(EventType.POST_INSERT).appendListener(this);
+            registry.getEventListenerGroup(EventType.POST_UPDATE).appendListener(this);
+            registry.getEventListenerGroup(EventType.POST_DELETE).appendListener(this);
+        } else {
+            registry.getEventListenerGroup(EventType.POST_COMMIT_INSERT).appendListener(this);
+            registry.getEventListenerGroup(EventType.POST_COMMIT_UPDATE).appendListener(this);
+            registry.getEventListenerGroup(EventType.POST_COMMIT_DELETE).appendListener(this);
+        }
     }
 
-    public DataEventListener(DataEventBroadcaster dataEventBroadcaster, EntityManagerFactory entityManagerFactory) {
-        this.dataEventBroadcaster = dataEventBroadcaster;
+    public DataEventListener(DataEventDispatcher dataEventDispatcher, DataEventMetadataRegistry metadataRegistry, EntityManagerFactory entityManagerFactory, OutboxWriter outboxWriter, DataEventMetrics metrics) {
+        this.dataEventDispatcher = dataEventDispatcher;
+        this.metadataRegistry = metadataRegistry;
         this.entityManagerFactory = entityManagerFactory;
+        this.outboxWriter = outboxWriter;
+        this.metrics = metrics;
+    }
+
+    private void publish(DataEvent dataEvent, EventSource session) {
+        if (!dataEvent.metadata().accept(dataEvent)) {
+            metrics.filtered(dataEvent.metadata(), dataEvent.type());
+            return;
+        }
+        if (outboxWriter.isEnabled()) {
+            outboxWriter.write(dataEvent, session);
+        } else {
+            dataEventDispatcher.dispatch(dataEvent);
+        }
     }
 
     @Override
     public void onPostDelete(PostDeleteEvent event) {
-        if(event.getEntity().getClass().isAnnotationPresent(DataEventEntity.class)) {
-            DataEventEntity annotation = event.getEntity().getClass().getAnnotation(DataEventEntity.class);
-            dataEventBroadcaster.broadcastEntityDeleted(event.getEntity(), annotation.deletionTopic());
+        DataEventMetadata metadata = metadataRegistry.getMetadata(event.getEntity());
+        if(metadata.enabled()) {
+            metrics.intercepted(metadata, DataEventType.DELETED);
+            publish(new DataEvent(DataEventType.DELETED, event.getEntity(), metadata,
+                    event.getId(), event.getPersister(), event.getDeletedState(), null, null), event.getSession());
         }
     }
 
     @Override
     public void onPostInsert(PostInsertEvent event) {
-        if(event.getEntity().getClass().isAnnotationPresent(DataEventEntity.class)) {
-            DataEventEntity annotation = event.getEntity().getClass().getAnnotation(DataEventEntity.class);
-            dataEventBroadcaster.broadcastEntityCreated(event.getEntity(), annotation.creationTopic());
+        DataEventMetadata metadata = metadataRegistry.getMetadata(event.getEntity());
+        if(metadata.enabled()) {
+            metrics.intercepted(metadata, DataEventType.CREATED);
+            publish(new DataEvent(DataEventType.CREATED, event.getEntity(), metadata,
+                    event.getId(), event.getPersister(), event.getState(), null, null), event.getSession());
         }
     }
 
     @Override
     public void onPostUpdate(PostUpdateEvent event) {
-        if(event.getEntity().getClass().isAnnotationPresent(DataEventEntity.class)) {
-            DataEventEntity annotation = event.getEntity().getClass().getAnnotation(DataEventEntity.class);
-            dataEventBroadcaster.broadcastEntityUpdated(event.getEntity(), annotation.updateTopic());
+        DataEventMetadata metadata = metadataRegistry.getMetadata(event.getEntity());
+        if(metadata.enabled()) {
+            metrics.intercepted(metadata, DataEventType.UPDATED);
+            publish(new DataEvent(DataEventType.UPDATED, event.getEntity(), metadata,
+                    event.getId(), event.getPersister(), event.getState(), event.getOldState(), event.getDirtyProperties()), event.getSession());
         }
     }
 
@@ -0,0 +1,94 @@
+package com.sipios.spring.data.event.metadata;
+
+import com.sipios.spring.data.event.annotation.BulkMode;
+import com.sipios.spring.data.event.annotation.PayloadMode;
+import com.sipios.spring.data.event.annotation.PayloadSource;
+import com.sipios.spring.data.event.annotation.RecordCompression;
+import com.sipios.spring.data.event.broadcaster.EventHeaders;
+import com.sipios.spring.data.event.dispatcher.PublicationPolicy;
+import com.sipios.spring.data.event.filter.DataEventFilter;
+import com.sipios.spring.data.event.key.RecordKeyStrategy;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.routing.TopicRouter;
+import com.sipios.spring.data.event.serializer.EventSerializer;
+import com.sipios.spring.data.event.sink.DataEventSink;
+import com.sipios.spring.data.event.sink.KafkaDataEventSink;
+import lombok.Builder;
+
+import java.util.List;
+
+/**
+ * Resolved publication settings of an entity class, computed once and shared by every event of that class.
+ * <p>
+ * {@code headers} is {@code null} when metadata headers are disabled, and {@code compression} when the records are
+ * compressed as configured on the producer.
+ */
+@Builder(toBuilder = true)
+public record DataEventMetadata(
+        Class<?> entityClass,
+        boolean enabled,
+        String creationTopic,
+        String updateTopic,
+        String deletionTopic,
+        EventSerializer serializer,
+        PayloadMode payload,
+        PayloadSource source,
+        RecordKeyStrategy keyStrategy,
+        DataEventFilter filter,
+        BulkMode bulk,
+        PublicationPolicy publication,
+        List<DataEventSink> sinks,
+        TopicRouter topicRouter,
+        boolean typeHeader,
+        EventHeaders headers,
+        RecordCompression compression
+) {
+
+    public static DataEventMetadata disabled(Class<?> entityClass) {
+        return DataEventMetadata.builder().entityClass(entityClass).enabled(false).build();
+    }
+
+    /**
+     * Whether the events are sent to Kafka, by the broadcaster when the entity has no sinks or by the Kafka sink.
+     */
+    public boolean isKafkaPublished() {
+        return sinks == null || sinks.stream().anyMatch(KafkaDataEventSink.class::isInstance);
+    }
+
+    public boolean isStateSource() {
+        return source == PayloadSource.STATE;
+    }
+
+    public boolean isDeltaPayload() {
+        return payload == PayloadMode.DELTA || payload == PayloadMode.DELTA_WITH_OLD;
+    }
+
+    /**
+     * Whether the event passes the filters of the entity, if any.
+     */
+    public boolean accept(DataEvent event) {
+        return filter == null || filter.accept(event);
+    }
+
+    public String key(DataEvent event) {
+        return keyStrategy != null ? keyStrategy.getKey(event) : null;
+    }
+
+    /**
+     * Topic of an event, chosen by the topic router of the entity if any.
+     */
+    public String topic(DataEvent event) {
+        return topicRouter != null ? topicRouter.getTopic(event) : topic(event.type());
+    }
+
+    /**
+     * Static topic of the events of a type, the pattern of the routed topics when the entity has a topic router.
+     */
+    public String topic(DataEventType eventType) {
+        return switch (eventType) {
+            case CREATED -> creationTopic;
+            case UPDATED -> updateTopic;
+            case DELETED -> deletionTopic;
+        };
+    }
+}
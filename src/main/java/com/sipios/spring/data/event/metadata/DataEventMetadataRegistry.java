@@ -0,0 +1,236 @@
+package com.sipios.spring.data.event.metadata;
+
+import com.sipios.spring.data.event.annotation.BulkMode;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.annotation.PayloadMode;
+import com.sipios.spring.data.event.annotation.PayloadSource;
+import com.sipios.spring.data.event.annotation.PublicationMode;
+import com.sipios.spring.data.event.annotation.RecordCompression;
+import com.sipios.spring.data.event.broadcaster.EventHeaders;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.dispatcher.PublicationPolicy;
+import com.sipios.spring.data.event.filter.DataEventFilter;
+import com.sipios.spring.data.event.filter.DirtyPropertyFilter;
+import com.sipios.spring.data.event.key.IdentifierKeyStrategy;
+import com.sipios.spring.data.event.key.RecordKeyStrategy;
+import com.sipios.spring.data.event.model.BulkChange;
+import com.sipios.spring.data.event.routing.TemplateTopicRouter;
+import com.sipios.spring.data.event.routing.TopicRouter;
+import com.sipios.spring.data.event.serializer.EventSerializer;
+import com.sipios.spring.data.event.serializer.EventSerializers;
+import com.sipios.spring.data.event.sink.DataEventSink;
+import com.sipios.spring.data.event.sink.KafkaDataEventSink;
+import org.hibernate.metamodel.MappingMetamodel;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Holds the {@link DataEventMetadata} of every entity class.
+ * <p>
+ * Descriptors of mapped entities are built once from the Hibernate metamodel, hot path lookups then go through a
+ * {@link ClassValue} so that a non annotated entity only costs a class-keyed read.
+ */
+@Component
+public class DataEventMetadataRegistry {
+
+    private final EventSerializers eventSerializers;
+    private final DataEventExtensions extensions;
+    private final Map<Class<?>, DataEventMetadata> descriptors = new ConcurrentHashMap<>();
+    private final ClassValue<DataEventMetadata> cache = new ClassValue<>() {
+        @Override
+        protected DataEventMetadata computeValue(Class<?> type) {
+            Class<?> entityClass = getEntityClass(type);
+            if (entityClass != type) {
+                return get(entityClass);
+            }
+            DataEventMetadata metadata = descriptors.get(entityClass);
+            return metadata != null ? metadata : describe(entityClass, null);
+        }
+    };
+    private DataEventProperties properties = new DataEventProperties();
+
+    public DataEventMetadataRegistry(EventSerializers eventSerializers, DataEventExtensions extensions) {
+        this.eventSerializers = eventSerializers;
+        this.extensions = extensions;
+    }
+
+    /**
+     * Sets the topic template of the entities declaring no topic, such as {@code {entity}} for one topic per entity, and
+     * the payload source, publication policy and compression of the entities declaring none, whether records carry
+     * metadata headers, and whether the outbox, which does not support sinks, is enabled.
+     */
+    @Autowired(required = false)
+    public void configure(DataEventProperties properties) {
+        this.properties = properties;
+    }
+
+    public void register(MappingMetamodel metamodel) {
+        metamodel.forEachEntityDescriptor(persister -> {
+            Class<?> entityClass = persister.getMappedClass();
+            descriptors.put(entityClass, describe(entityClass, persister));
+        });
+    }
+
+    /**
+     * Metadata of the entities of the registered metamodels.
+     */
+    public Collection<DataEventMetadata> getRegisteredMetadata() {
+        return Collections.unmodifiableCollection(descriptors.values());
+    }
+
+    public DataEventMetadata getMetadata(Object entity) {
+        return getMetadata(entity.getClass());
+    }
+
+    public DataEventMetadata getMetadata(Class<?> type) {
+        return cache.get(type);
+    }
+
+    /**
+     * Metadata of the {@link BulkChange} events published for statements of an entity in {@link BulkMode#STATEMENT}
+     * mode: they go to the topics and through the serializer of the entity, unkeyed and unfiltered, their headers
+     * describing {@link BulkChange} records.
+     */
+    public DataEventMetadata getStatementMetadata(Class<?> type) {
+        DataEventMetadata metadata = getMetadata(type);
+        return metadata.toBuilder()
+                .entityClass(BulkChange.class)
+                .payload(PayloadMode.FULL)
+                .keyStrategy(null)
+                .filter(null)
+                .headers(metadata.headers() != null
+                        ? EventHeaders.forEntity(BulkChange.class, metadata.serializer().getSchemaFingerprint(BulkChange.class))
+                        : null)
+                .build();
+    }
+
+    private DataEventMetadata describe(Class<?> entityClass, EntityPersister persister) {
+        DataEventEntity annotation = entityClass.getAnnotation(DataEventEntity.class);
+        if (annotation == null) {
+            return DataEventMetadata.disabled(entityClass);
+        }
+        EventSerializer serializer = eventSerializers.getSerializer(annotation);
+        DataEventMetadata.DataEventMetadataBuilder builder = DataEventMetadata.builder()
+                .entityClass(entityClass)
+                .enabled(true)
+                .serializer(serializer)
+                .payload(annotation.payload())
+                .source(annotation.source() == PayloadSource.DEFAULT ? properties.getSerializationSource() : annotation.source())
+                .keyStrategy(resolveKeyStrategy(annotation, entityClass, persister))
+                .filter(resolveFilter(annotation, persister))
+                .bulk(annotation.bulk())
+                .publication(resolvePublication(annotation))
+                .sinks(resolveSinks(annotation, entityClass))
+                .compression(resolveCompression(annotation));
+        if (properties.isHeadersEnabled()) {
+            builder.headers(EventHeaders.forEntity(entityClass, serializer.getSchemaFingerprint(entityClass)));
+        }
+        resolveTopics(builder, annotation, entityClass);
+        return builder.build();
+    }
+
+    /**
+     * Resolves the topics of an entity: a custom router, a topic template compiled once, static when it has no field
+     * placeholder, or the topics of each event type. Records carry their event type in a header when several types
+     * share a topic.
+     */
+    private void resolveTopics(DataEventMetadata.DataEventMetadataBuilder builder, DataEventEntity annotation, Class<?> entityClass) {
+        String template = !annotation.topic().isEmpty() ? annotation.topic() : null;
+        if (template == null && annotation.creationTopic().isEmpty() && annotation.updateTopic().isEmpty() && annotation.deletionTopic().isEmpty()
+                && !properties.getTopicTemplate().isEmpty()) {
+            template = properties.getTopicTemplate();
+        }
+        TemplateTopicRouter templateRouter = template != null ? TemplateTopicRouter.compile(template, entityClass) : null;
+        String creationTopic = templateRouter != null ? templateRouter.getTopic(DataEventType.CREATED) : resolveTopic(annotation.creationTopic(), DataEventType.CREATED, entityClass);
+        String updateTopic = templateRouter != null ? templateRouter.getTopic(DataEventType.UPDATED) : resolveTopic(annotation.updateTopic(), DataEventType.UPDATED, entityClass);
+        String deletionTopic = templateRouter != null ? templateRouter.getTopic(DataEventType.DELETED) : resolveTopic(annotation.deletionTopic(), DataEventType.DELETED, entityClass);
+        TopicRouter router = annotation.topicRouter() != TopicRouter.class
+                ? extensions.getInstance(annotation.topicRouter())
+                : templateRouter != null && !templateRouter.isStatic() ? templateRouter : null;
+        if (router instanceof TemplateTopicRouter && annotation.bulk() == BulkMode.STATEMENT) {
+            throw new IllegalArgumentException("Statement events of " + entityClass.getName() + " cannot be routed by the fields of a topic template");
+        }
+        boolean typeHeader = router != null
+                ? router.sharesTopicsAcrossTypes()
+                : creationTopic.equals(updateTopic) || creationTopic.equals(deletionTopic) || updateTopic.equals(deletionTopic);
+        builder.creationTopic(creationTopic)
+                .updateTopic(updateTopic)
+                .deletionTopic(deletionTopic)
+                .topicRouter(router)
+                .typeHeader(typeHeader);
+    }
+
+    /**
+     * Sinks of an entity, {@code null} when its events are only sent to Kafka, which the broadcaster does without going
+     * through the Kafka sink. Sinks are rejected in outbox mode, where events are only relayed to Kafka.
+     */
+    private List<DataEventSink> resolveSinks(DataEventEntity annotation, Class<?> entityClass) {
+        List<Class<? extends DataEventSink>> sinkClasses = Arrays.stream(annotation.sinks()).distinct().toList();
+        if (sinkClasses.isEmpty() || sinkClasses.equals(List.of(KafkaDataEventSink.class))) {
+            return null;
+        }
+        if (properties.isOutboxEnabled()) {
+            throw new IllegalArgumentException("Events of " + entityClass.getName() + " cannot be published by sinks in outbox mode");
+        }
+        return sinkClasses.stream().<DataEventSink>map(extensions::getInstance).toList();
+    }
+
+    /**
+     * Compression of the records of an entity, {@code null} when it is left to the producer configuration.
+     */
+    private RecordCompression resolveCompression(DataEventEntity annotation) {
+        RecordCompression compression = annotation.compression() == RecordCompression.DEFAULT ? properties.getCompressionType() : annotation.compression();
+        return compression == RecordCompression.DEFAULT || compression == RecordCompression.PRODUCER ? null : compression;
+    }
+
+    private PublicationPolicy resolvePublication(DataEventEntity annotation) {
+        PublicationMode mode = annotation.publication() == PublicationMode.DEFAULT ? properties.getPublicationMode() : annotation.publication();
+        return switch (mode) {
+            case RATE_LIMITED -> PublicationPolicy.rateLimited(annotation.maxEventsPerSecond() > 0
+                    ? annotation.maxEventsPerSecond() : properties.getPublicationMaxEventsPerSecond());
+            case SAMPLED -> PublicationPolicy.sampled(annotation.sampleEvery() > 0
+                    ? annotation.sampleEvery() : properties.getPublicationSampleEvery(), properties.getPublicationSampleMaxIdleMs());
+            case SNAPSHOT -> PublicationPolicy.snapshot(annotation.snapshotIntervalMs() > 0
+                    ? annotation.snapshotIntervalMs() : properties.getPublicationSnapshotIntervalMs());
+            case ALL, DEFAULT -> null;
+        };
+    }
+
+    private DataEventFilter resolveFilter(DataEventEntity annotation, EntityPersister persister) {
+        DataEventFilter filter = DirtyPropertyFilter.forEntity(annotation, persister);
+        if (annotation.filter() != DataEventFilter.class) {
+            DataEventFilter custom = extensions.getInstance(annotation.filter());
+            filter = filter != null ? filter.and(custom) : custom;
+        }
+        return filter;
+    }
+
+    private RecordKeyStrategy resolveKeyStrategy(DataEventEntity annotation, Class<?> entityClass, EntityPersister persister) {
+        if (annotation.keyStrategy() == IdentifierKeyStrategy.class) {
+            return IdentifierKeyStrategy.forEntity(entityClass, persister);
+        }
+        return extensions.getInstance(annotation.keyStrategy());
+    }
+
+    private static String resolveTopic(String topicLabel, DataEventType eventType, Class<?> entityClass) {
+        return "".equals(topicLabel) ? eventType.getDefaultTopic(entityClass) : topicLabel;
+    }
+
+    static Class<?> getEntityClass(Class<?> type) {
+        Class<?> entityClass = type;
+        while (HibernateProxy.class.isAssignableFrom(entityClass) && entityClass.getSuperclass() != null) {
+            entityClass = entityClass.getSuperclass();
+        }
+        return entityClass;
+    }
+}
@@ -0,0 +1,27 @@
+package com.sipios.spring.data.event.metadata;
+
+public enum DataEventType {
+    CREATED("created"),
+    UPDATED("updated"),
+    DELETED("deleted");
+
+    private final String label;
+    private final ClassValue<String> defaultTopics = new ClassValue<>() {
+        @Override
+        protected String computeValue(Class<?> entityClass) {
+            return entityClass.getSimpleName().toLowerCase() + "." + label;
+        }
+    };
+
+    DataEventType(String label) {
+        this.label = label;
+    }
+
+    public String getLabel() {
+        return label;
+    }
+
+    public String getDefaultTopic(Class<?> entityClass) {
+        return defaultTopics.get(entityClass);
+    }
+}
@@ -0,0 +1,85 @@
+package com.sipios.spring.data.event.metrics;
+
+import com.sipios.spring.data.event.delivery.InFlightLimiter;
+import com.sipios.spring.data.event.dispatcher.DataEventDispatcher;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.spill.SpillJournal;
+
+/**
+ * Records what happens on the event publication path.
+ * <p>
+ * Every method does nothing by default, which is what {@link #NOOP} relies on when no meter registry is available.
+ * Callers check {@link #isEnabled()} before doing any extra work, such as reading the clock, for the sole purpose of
+ * recording a metric.
+ */
+public interface DataEventMetrics {
+
+    DataEventMetrics NOOP = new DataEventMetrics() {
+    };
+
+    default boolean isEnabled() {
+        return false;
+    }
+
+    /**
+     * A change of an entity was seen by the listener.
+     */
+    default void intercepted(DataEventMetadata metadata, DataEventType type) {
+    }
+
+    /**
+     * A change of an entity was seen by the listener but will not be published.
+     */
+    default void filtered(DataEventMetadata metadata, DataEventType type) {
+    }
+
+    /**
+     * A change of an entity was held by its publication policy, to be merged into a later event.
+     */
+    default void throttled(DataEventMetadata metadata, DataEventType type) {
+    }
+
+    default void serialized(DataEvent event, long durationNanos, int payloadSize) {
+    }
+
+    /**
+     * The producer completed the send of an event, {@code error} is {@code null} when it succeeded.
+     */
+    default void sent(DataEvent event, long durationNanos, Throwable error) {
+    }
+
+    /**
+     * An event could not be serialized or handed over to the producer.
+     */
+    default void failed(DataEvent event) {
+    }
+
+    /**
+     * A record of the topic failed with a retriable error and will be sent again.
+     */
+    default void retried(String topic) {
+    }
+
+    /**
+     * A record of the topic was appended to the spill journal instead of being sent.
+     */
+    default void spilled(String topic) {
+    }
+
+    /**
+     * Records of the spill journal were acknowledged by Kafka.
+     */
+    default void replayed(int count) {
+    }
+
+    default void bindDispatcher(DataEventDispatcher dispatcher) {
+    }
+
+    default void bindInFlightLimiter(InFlightLimiter limiter) {
+    }
+
+    default void bindSpillJournal(SpillJournal journal) {
+    }
+}
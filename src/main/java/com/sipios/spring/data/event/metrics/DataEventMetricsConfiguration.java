@@ -0,0 +1,37 @@
+package com.sipios.spring.data.event.metrics;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.beans.factory.BeanFactory;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.util.ClassUtils;
+
+/**
+ * Provides {@link DataEventMetrics} backed by the application {@code MeterRegistry} when there is one, and
+ * {@link DataEventMetrics#NOOP} otherwise. Micrometer is an optional dependency.
+ */
+@Configuration(proxyBeanMethods = false)
+public class DataEventMetricsConfiguration {
+
+    private static final String METER_REGISTRY_CLASS = "io.micrometer.core.instrument.MeterRegistry";
+
+    @Bean
+    public DataEventMetrics dataEventMetrics(BeanFactory beanFactory) {
+        if (ClassUtils.isPresent(METER_REGISTRY_CLASS, DataEventMetricsConfiguration.class.getClassLoader())) {
+            DataEventMetrics metrics = Micrometer.create(beanFactory);
+            if (metrics != null) {
+                return metrics;
+            }
+        }
+        return DataEventMetrics.NOOP;
+    }
+
+    // Micrometer classes are only referenced from this holder so that its jar stays optional
+
+    private static final class Micrometer {
+        static DataEventMetrics create(BeanFactory beanFactory) {
+            MeterRegistry registry = beanFactory.getBeanProvider(MeterRegistry.class).getIfAvailable();
+            return registry != null ? new MicrometerDataEventMetrics(registry) : null;
+        }
+    }
+}
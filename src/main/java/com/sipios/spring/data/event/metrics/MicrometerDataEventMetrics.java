@@ -0,0 +1,170 @@
+package com.sipios.spring.data.event.metrics;
+
+import com.sipios.spring.data.event.delivery.InFlightLimiter;
+import com.sipios.spring.data.event.dispatcher.DataEventDispatcher;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.spill.SpillJournal;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.DistributionSummary;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Tags;
+import io.micrometer.core.instrument.Timer;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * {@link DataEventMetrics} backed by a Micrometer {@link MeterRegistry}.
+ * <p>
+ * Meters are tagged by entity, event type and topic. They are registered on the first event of each entity class and
+ * event type, then read from a per class cache, so that recording does not look meters up in the registry.
+ */
+public class MicrometerDataEventMetrics implements DataEventMetrics {
+
+    private static final String NO_TOPIC = "none";
+
+    private final MeterRegistry registry;
+    private final ClassValue<EntityMeters[]> meters = new ClassValue<>() {
+        @Override
+        protected EntityMeters[] computeValue(Class<?> type) {
+            return new EntityMeters[DataEventType.values().length];
+        }
+    };
+
+    public MicrometerDataEventMetrics(MeterRegistry registry) {
+        this.registry = registry;
+    }
+
+    @Override
+    public boolean isEnabled() {
+        return true;
+    }
+
+    @Override
+    public void intercepted(DataEventMetadata metadata, DataEventType type) {
+        getMeters(metadata, type).intercepted().increment();
+    }
+
+    @Override
+    public void filtered(DataEventMetadata metadata, DataEventType type) {
+        getMeters(metadata, type).filtered().increment();
+    }
+
+    @Override
+    public void throttled(DataEventMetadata metadata, DataEventType type) {
+        getMeters(metadata, type).throttled().increment();
+    }
+
+    @Override
+    public void serialized(DataEvent event, long durationNanos, int payloadSize) {
+        EntityMeters entityMeters = getMeters(event.metadata(), event.type());
+        entityMeters.serialization().record(durationNanos, TimeUnit.NANOSECONDS);
+        entityMeters.payloadSize().record(payloadSize);
+    }
+
+    @Override
+    public void sent(DataEvent event, long durationNanos, Throwable error) {
+        EntityMeters entityMeters = getMeters(event.metadata(), event.type());
+        if (error == null) {
+            entityMeters.sendSuccess().record(durationNanos, TimeUnit.NANOSECONDS);
+            entityMeters.published().increment();
+        } else {
+            entityMeters.sendFailure().record(durationNanos, TimeUnit.NANOSECONDS);
+            entityMeters.failed().increment();
+        }
+    }
+
+    @Override
+    public void failed(DataEvent event) {
+        getMeters(event.metadata(), event.type()).failed().increment();
+    }
+
+    @Override
+    public void retried(String topic) {
+        Counter.builder("data.event.retried").description("Records sent again after a retriable error").tag("topic", topic)
+                .register(registry).increment();
+    }
+
+    @Override
+    public void spilled(String topic) {
+        Counter.builder("data.event.spilled").description("Records appended to the spill journal").tag("topic", topic)
+                .register(registry).increment();
+    }
+
+    @Override
+    public void replayed(int count) {
+        Counter.builder("data.event.replayed").description("Records of the spill journal acknowledged by Kafka")
+                .register(registry).increment(count);
+    }
+
+    @Override
+    public void bindDispatcher(DataEventDispatcher dispatcher) {
+        Gauge.builder("data.event.queue.size", dispatcher, DataEventDispatcher::getQueueSize)
+                .description("Batches of events waiting for an asynchronous dispatcher")
+                .register(registry);
+        FunctionCounter.builder("data.event.dropped", dispatcher, DataEventDispatcher::getDroppedEventCount)
+                .description("Events dropped because the asynchronous dispatch queue was full")
+                .register(registry);
+    }
+
+    @Override
+    public void bindInFlightLimiter(InFlightLimiter limiter) {
+        Gauge.builder("data.event.in.flight", limiter, InFlightLimiter::getInFlightCount)
+                .description("Records sent and not yet acknowledged or handled")
+                .register(registry);
+    }
+
+    @Override
+    public void bindSpillJournal(SpillJournal journal) {
+        Gauge.builder("data.event.spill.pending", journal, SpillJournal::getPendingRecordCount)
+                .description("Records of the spill journal waiting to be replayed")
+                .register(registry);
+        Gauge.builder("data.event.spill.size", journal, SpillJournal::getSize)
+                .description("Disk space used by the spill journal")
+                .baseUnit("bytes")
+                .register(registry);
+    }
+
+    private EntityMeters getMeters(DataEventMetadata metadata, DataEventType type) {
+        EntityMeters[] byType = meters.get(metadata.entityClass());
+        EntityMeters entityMeters = byType[type.ordinal()];
+        if (entityMeters == null) {
+            String topic = metadata.enabled() ? metadata.topic(type) : null;
+            entityMeters = EntityMeters.register(registry, Tags.of(
+                    "entity", metadata.entityClass().getSimpleName(),
+                    "type", type.getLabel(),
+                    "topic", topic != null ? topic : NO_TOPIC));
+            byType[type.ordinal()] = entityMeters;
+        }
+        return entityMeters;
+    }
+
+    private record EntityMeters(
+            Counter intercepted,
+            Counter filtered,
+            Counter throttled,
+            Counter published,
+            Counter failed,
+            Timer serialization,
+            DistributionSummary payloadSize,
+            Timer sendSuccess,
+            Timer sendFailure
+    ) {
+        static EntityMeters register(MeterRegistry registry, Tags tags) {
+            return new EntityMeters(
+                    Counter.builder("data.event.intercepted").description("Entity changes seen by the listener").tags(tags).register(registry),
+                    Counter.builder("data.event.filtered").description("Entity changes that are not published").tags(tags).register(registry),
+                    Counter.builder("data.event.throttled").description("Entity changes held to be merged into a later event").tags(tags).register(registry),
+                    Counter.builder("data.event.published").description("Events acknowledged by Kafka").tags(tags).register(registry),
+                    Counter.builder("data.event.failed").description("Events that could not be serialized or sent").tags(tags).register(registry),
+                    Timer.builder("data.event.serialization").description("Serialization time of the events").tags(tags).publishPercentileHistogram().register(registry),
+                    DistributionSummary.builder("data.event.payload.size").description("Size of the serialized events").baseUnit("bytes").tags(tags).publishPercentileHistogram().register(registry),
+                    Timer.builder("data.event.send").description("Time until Kafka acknowledged the events").tags(tags).tag("outcome", "success").publishPercentileHistogram().register(registry),
+                    Timer.builder("data.event.send").description("Time until Kafka acknowledged the events").tags(tags).tag("outcome", "failure").publishPercentileHistogram().register(registry)
+            );
+        }
+    }
+}
@@ -0,0 +1,19 @@
+package com.sipios.spring.data.event.model;
+
+import com.fasterxml.jackson.annotation.JsonIdentityInfo;
+import com.fasterxml.jackson.annotation.ObjectIdGenerators;
+
+import java.util.Map;
+
+/**
+ * Payload of the single event published for a bulk statement in {@code STATEMENT} mode.
+ *
+ * @param entity     name of the entity targeted by the statement
+ * @param type       label of the event type, {@code updated} or {@code deleted}
+ * @param statement  HQL of the statement
+ * @param parameters values bound to the statement, by name or position
+ * @param count      number of rows changed by the statement
+ */
+@JsonIdentityInfo(generator = ObjectIdGenerators.None.class)
+public record BulkChange(String entity, String type, String statement, Map<String, Object> parameters, int count) {
+}
@@ -0,0 +1,32 @@
+package com.sipios.spring.data.event.model;
+
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import org.hibernate.persister.entity.EntityPersister;
+
+/**
+ * A committed entity change waiting to be broadcast.
+ * <p>
+ * Besides the entity itself, it keeps what Hibernate knows about the change: the entity id, its persister, the
+ * committed state and, for updates, the previous state and the indexes of the dirty properties. Those are
+ * {@code null} when the event was not built from a Hibernate event.
+ */
+public record DataEvent(
+        DataEventType type,
+        Object entity,
+        DataEventMetadata metadata,
+        Object id,
+        EntityPersister persister,
+        Object[] state,
+        Object[] oldState,
+        int[] dirtyProperties
+) {
+
+    public DataEvent(DataEventType type, Object entity, DataEventMetadata metadata) {
+        this(type, entity, metadata, null, null, null, null, null);
+    }
+
+    public String topic() {
+        return metadata.topic(this);
+    }
+}
@@ -0,0 +1,81 @@
+package com.sipios.spring.data.event.model;
+
+import com.sipios.spring.data.event.annotation.RecordCompression;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * A serialized event, ready to be sent as a Kafka record.
+ *
+ * @param headers     headers of the record, {@code null} when it has none
+ * @param compression compression of the record, {@code null} for the one of the producer
+ */
+public record DataEventRecord(String topic, String key, byte[] payload, List<Header> headers, RecordCompression compression) {
+
+    private static final int NO_VALUE = -1;
+
+    public DataEventRecord(String topic, String key, byte[] payload) {
+        this(topic, key, payload, null, null);
+    }
+
+    /**
+     * Encodes the headers of the record to be stored along with it, as their count followed by the length and UTF-8
+     * bytes of each name and the length and bytes of each value.
+     *
+     * @return the encoded headers, {@code null} when the record has none
+     */
+    public byte[] encodeHeaders() {
+        if (headers == null || headers.isEmpty()) {
+            return null;
+        }
+        List<byte[]> names = new ArrayList<>(headers.size());
+        int size = Integer.BYTES;
+        for (Header header : headers) {
+            byte[] name = header.key().getBytes(StandardCharsets.UTF_8);
+            names.add(name);
+            size += Short.BYTES + name.length + Integer.BYTES + (header.value() == null ? 0 : header.value().length);
+        }
+        ByteBuffer buffer = ByteBuffer.allocate(size).putInt(headers.size());
+        for (int i = 0; i < names.size(); i++) {
+            byte[] value = headers.get(i).value();
+            buffer.putShort((short) names.get(i).length).put(names.get(i));
+            buffer.putInt(value == null ? NO_VALUE : value.length);
+            if (value != null) {
+                buffer.put(value);
+            }
+        }
+        return buffer.array();
+    }
+
+    /**
+     * Decodes headers encoded by {@link #encodeHeaders()}.
+     *
+     * @param encoded the encoded headers, may be {@code null}
+     * @return the headers, {@code null} when there are none
+     */
+    public static List<Header> decodeHeaders(byte[] encoded) {
+        if (encoded == null || encoded.length == 0) {
+            return null;
+        }
+        ByteBuffer buffer = ByteBuffer.wrap(encoded);
+        int count = buffer.getInt();
+        List<Header> headers = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            byte[] name = new byte[buffer.getShort()];
+            buffer.get(name);
+            int valueLength = buffer.getInt();
+            byte[] value = null;
+            if (valueLength != NO_VALUE) {
+                value = new byte[valueLength];
+                buffer.get(value);
+            }
+            headers.add(new RecordHeader(new String(name, StandardCharsets.UTF_8), value));
+        }
+        return headers;
+    }
+}
@@ -0,0 +1,133 @@
+package com.sipios.spring.data.event.outbox;
+
+import com.sipios.spring.data.event.annotation.RecordCompression;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.model.DataEventRecord;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.stereotype.Component;
+
+import javax.sql.DataSource;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Publishes the events written by the {@link OutboxWriter} and removes them from the outbox table.
+ * <p>
+ * A single relay thread reads the oldest events in large batches, sends them with one producer flush and deletes them
+ * with a JDBC batch once Kafka acknowledged them. The selected rows are locked until they are deleted, so that the relays
+ * of several application instances take turns instead of sending the same events. Events are delivered at least once.
+ * <p>
+ * Events are read in insertion order, which is not the commit order: a transaction can commit events with lower ids
+ * after later ones were relayed. The events of an entity are still relayed in order, since the row lock of the entity
+ * makes a transaction changing it write its events after the previous one committed.
+ */
+@Component
+public class OutboxRelay {
+
+    private static final Log logger = LogFactory.getLog(OutboxRelay.class);
+
+    private final DataEventBroadcaster dataEventBroadcaster;
+    private final DataEventProperties properties;
+    private final ObjectProvider<DataSource> dataSourceProvider;
+    private final String selectSql;
+    private final String deleteSql;
+    private Thread relayThread;
+    private volatile boolean running;
+
+    public OutboxRelay(DataEventBroadcaster dataEventBroadcaster, DataEventProperties properties, ObjectProvider<DataSource> dataSourceProvider) {
+        this.dataEventBroadcaster = dataEventBroadcaster;
+        this.properties = properties;
+        this.dataSourceProvider = dataSourceProvider;
+        this.selectSql = "SELECT id, topic, record_key, payload, headers, compression FROM " + properties.getOutboxTable() + " ORDER BY id FOR UPDATE";
+        this.deleteSql = "DELETE FROM " + properties.getOutboxTable() + " WHERE id = ?";
+    }
+
+    @PostConstruct
+    void start() {
+        if (!properties.isOutboxEnabled() || !properties.isOutboxRelayEnabled()) {
+            return;
+        }
+        running = true;
+        relayThread = Thread.ofPlatform().daemon().name("data-event-outbox-relay").start(this::run);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException {
+        running = false;
+        if (relayThread != null) {
+            relayThread.interrupt();
+            relayThread.join(Duration.ofMillis(properties.getAsyncShutdownTimeoutMs()));
+        }
+    }
+
+    /**
+     * Publishes and removes one batch of events.
+     *
+     * @return the number of relayed events
+     */
+    public int relay() throws SQLException {
+        try (Connection connection = dataSourceProvider.getObject().getConnection()) {
+            connection.setAutoCommit(false);
+            List<Long> ids = new ArrayList<>(properties.getOutboxRelayBatchSize());
+            List<DataEventRecord> records = new ArrayList<>(properties.getOutboxRelayBatchSize());
+            try (PreparedStatement statement = connection.prepareStatement(selectSql)) {
+                statement.setMaxRows(properties.getOutboxRelayBatchSize());
+                statement.setFetchSize(properties.getOutboxRelayBatchSize());
+                try (ResultSet resultSet = statement.executeQuery()) {
+                    while (resultSet.next()) {
+                        ids.add(resultSet.getLong(1));
+                        records.add(new DataEventRecord(resultSet.getString(2), resultSet.getString(3), resultSet.getBytes(4),
+                                DataEventRecord.decodeHeaders(resultSet.getBytes(5)), getCompression(resultSet.getString(6))));
+                    }
+                }
+            }
+            if (records.isEmpty()) {
+                connection.commit();
+                return 0;
+            }
+            dataEventBroadcaster.sendAll(records);
+            try (PreparedStatement statement = connection.prepareStatement(deleteSql)) {
+                for (Long id : ids) {
+                    statement.setLong(1, id);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            }
+            connection.commit();
+            return records.size();
+        }
+    }
+
+    private static RecordCompression getCompression(String compression) {
+        return compression != null ? RecordCompression.valueOf(compression) : null;
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (relay() < properties.getOutboxRelayBatchSize()) {
+                    Thread.sleep(properties.getOutboxRelayPollIntervalMs());
+                }
+            } catch (InterruptedException error) {
+                return;
+            } catch (SQLException | RuntimeException error) {
+                logger.error("Could not relay data events from the outbox", error);
+                try {
+                    Thread.sleep(properties.getOutboxRelayPollIntervalMs());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package com.sipios.spring.data.event.outbox;
+
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.model.DataEventRecord;
+import org.hibernate.HibernateException;
+import org.hibernate.action.spi.AfterTransactionCompletionProcess;
+import org.hibernate.action.spi.BeforeTransactionCompletionProcess;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.engine.spi.SharedSessionContractImplementor;
+import org.hibernate.event.spi.EventSource;
+import org.springframework.stereotype.Component;
+
+import java.sql.PreparedStatement;
+import java.sql.SQLException;
+import java.sql.Timestamp;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Writes serialized events into the outbox table, inside the transaction that changed the entities.
+ * <p>
+ * Events are serialized as soon as Hibernate executes the entity action and buffered per session. The buffer is
+ * written with a single JDBC batch once the session is flushed, right before the transaction completes, so that the
+ * database commit is the only durable write on the request path. The {@link OutboxRelay} publishes them afterwards.
+ */
+@Component
+public class OutboxWriter {
+
+    private final DataEventBroadcaster dataEventBroadcaster;
+    private final DataEventProperties properties;
+    private final String insertSql;
+    private final Map<EventSource, List<DataEventRecord>> buffers = new ConcurrentHashMap<>();
+
+    public OutboxWriter(DataEventBroadcaster dataEventBroadcaster, DataEventProperties properties) {
+        this.dataEventBroadcaster = dataEventBroadcaster;
+        this.properties = properties;
+        this.insertSql = "INSERT INTO " + properties.getOutboxTable() + " (topic, record_key, payload, headers, compression, created_at) VALUES (?, ?, ?, ?, ?, ?)";
+    }
+
+    public boolean isEnabled() {
+        return properties.isOutboxEnabled();
+    }
+
+    public void write(DataEvent event, EventSource session) {
+        DataEventRecord record = dataEventBroadcaster.serialize(event);
+        buffers.computeIfAbsent(session, this::register).add(record);
+    }
+
+    /**
+     * Writes the events right away, for sessions without an action queue such as stateless sessions.
+     */
+    public void writeAll(List<DataEvent> events, SharedSessionContractImplementor session) {
+        List<DataEventRecord> records = new ArrayList<>(events.size());
+        for (DataEvent event : events) {
+            records.add(dataEventBroadcaster.serialize(event));
+        }
+        insert(session, records);
+    }
+
+    private List<DataEventRecord> register(EventSource session) {
+        session.getActionQueue().registerProcess((BeforeTransactionCompletionProcess) this::flush);
+        session.getActionQueue().registerProcess((AfterTransactionCompletionProcess) (success, completedSession) -> buffers.remove(session));
+        return new ArrayList<>();
+    }
+
+    private void flush(SessionImplementor session) {
+        List<DataEventRecord> records = buffers.remove(session);
+        if (records == null || records.isEmpty()) {
+            return;
+        }
+        insert(session, records);
+    }
+
+    private void insert(SharedSessionContractImplementor session, List<DataEventRecord> records) {
+        Timestamp createdAt = Timestamp.from(Instant.now());
+        session.doWork(connection -> {
+            try (PreparedStatement statement = connection.prepareStatement(insertSql)) {
+                for (DataEventRecord record : records) {
+                    statement.setString(1, record.topic());
+                    statement.setString(2, record.key());
+                    statement.setBytes(3, record.payload());
+                    statement.setBytes(4, record.encodeHeaders());
+                    statement.setString(5, record.compression() != null ? record.compression().name() : null);
+                    statement.setTimestamp(6, createdAt);
+                    statement.addBatch();
+                }
+                statement.executeBatch();
+            } catch (SQLException error) {
+                throw new HibernateException("Could not write data events to the outbox", error);
+            }
+        });
+    }
+}
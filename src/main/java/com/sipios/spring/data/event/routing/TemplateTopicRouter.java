@@ -0,0 +1,231 @@
+package com.sipios.spring.data.event.routing;
+
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link TopicRouter} resolving a topic template such as {@code {entity}}, {@code orders.{type}} or
+ * {@code {entity}.{tenantId}}.
+ * <p>
+ * The {@code {entity}} placeholder is the lower case simple name of the entity class and {@code {type}} the event type
+ * label, both replaced when the template is compiled. Any other placeholder is a field of the entity, read with an
+ * accessor resolved at compile time. Templates without field placeholders resolve to one precomputed topic per event
+ * type, the others cache their topic per field values, up to {@value #MAX_CACHED_TOPICS} topics per event type. An
+ * event whose entity has a {@code null} field placeholder fails, rather than going to a topic named after
+ * {@code null}.
+ */
+public final class TemplateTopicRouter implements TopicRouter {
+
+    static final int MAX_CACHED_TOPICS = 10_000;
+
+    private final Route[] routes;
+    private final boolean typed;
+
+    private TemplateTopicRouter(Route[] routes, boolean typed) {
+        this.routes = routes;
+        this.typed = typed;
+    }
+
+    /**
+     * Compiles a template for an entity class.
+     *
+     * @throws IllegalArgumentException when the template is malformed or refers to an unknown field
+     */
+    public static TemplateTopicRouter compile(String template, Class<?> entityClass) {
+        List<Object> parts = parse(template, entityClass);
+        DataEventType[] types = DataEventType.values();
+        Route[] routes = new Route[types.length];
+        for (DataEventType type : types) {
+            routes[type.ordinal()] = Route.create(parts, type);
+        }
+        return new TemplateTopicRouter(routes, parts.contains(Placeholder.TYPE));
+    }
+
+    /**
+     * Whether the template has no field placeholder, every event of a type going to the same topic.
+     */
+    public boolean isStatic() {
+        return routes[0].topic() != null;
+    }
+
+    /**
+     * Topic of the events of a type, with its field placeholders left as is.
+     */
+    public String getTopic(DataEventType type) {
+        return routes[type.ordinal()].pattern();
+    }
+
+    @Override
+    public String getTopic(DataEvent event) {
+        return routes[event.type().ordinal()].resolve(event.entity());
+    }
+
+    @Override
+    public Set<String> getTopics() {
+        if (!isStatic()) {
+            return Set.of();
+        }
+        Set<String> topics = new LinkedHashSet<>();
+        for (Route route : routes) {
+            topics.add(route.topic());
+        }
+        return topics;
+    }
+
+    @Override
+    public boolean sharesTopicsAcrossTypes() {
+        return !typed;
+    }
+
+    private static List<Object> parse(String template, Class<?> entityClass) {
+        List<Object> parts = new ArrayList<>();
+        int position = 0;
+        while (position < template.length()) {
+            int start = template.indexOf('{', position);
+            if (start < 0) {
+                parts.add(template.substring(position));
+                break;
+            }
+            int end = template.indexOf('}', start);
+            if (end < 0) {
+                throw new IllegalArgumentException("Unclosed placeholder in topic template " + template);
+            }
+            if (start > position) {
+                parts.add(template.substring(position, start));
+            }
+            String name = template.substring(start + 1, end);
+            switch (name) {
+                case "entity" -> parts.add(entityClass.getSimpleName().toLowerCase());
+                case "type" -> parts.add(Placeholder.TYPE);
+                default -> parts.add(new Property(name, findGetter(entityClass, name)));
+            }
+            position = end + 1;
+        }
+        if (parts.isEmpty()) {
+            throw new IllegalArgumentException("Empty topic template");
+        }
+        return parts;
+    }
+
+    private static MethodHandle findGetter(Class<?> entityClass, String name) {
+        for (Class<?> type = entityClass; type != null && type != Object.class; type = type.getSuperclass()) {
+            for (Field field : type.getDeclaredFields()) {
+                if (field.getName().equals(name)) {
+                    try {
+                        MethodHandles.Lookup lookup = MethodHandles.privateLookupIn(type, MethodHandles.lookup());
+                        return lookup.unreflectGetter(field).asType(MethodType.methodType(Object.class, Object.class));
+                    } catch (IllegalAccessException error) {
+                        throw new IllegalArgumentException("Could not access field " + name + " of " + entityClass.getName(), error);
+                    }
+                }
+            }
+        }
+        throw new IllegalArgumentException("Unknown field " + name + " in the topic template of " + entityClass.getName());
+    }
+
+    private enum Placeholder {
+        TYPE
+    }
+
+    private record Property(String name, MethodHandle getter) {
+
+        Object read(Object entity) {
+            Object value;
+            try {
+                value = (Object) getter.invokeExact(entity);
+            } catch (Throwable error) {
+                throw new IllegalStateException("Could not read field " + name + " of " + entity.getClass().getName(), error);
+            }
+            if (value == null) {
+                throw new IllegalStateException("Field " + name + " of " + entity.getClass().getName() + " is null, the topic of its event cannot be resolved");
+            }
+            return value;
+        }
+    }
+
+    /**
+     * Template of one event type, made of literals and properties, resolved to a constant topic when it has no property.
+     */
+    private record Route(String topic, String pattern, Object[] parts, Property[] properties, Map<Object, String> topics) {
+
+        static Route create(List<Object> template, DataEventType type) {
+            List<Object> parts = new ArrayList<>();
+            List<Property> properties = new ArrayList<>();
+            StringBuilder pattern = new StringBuilder();
+            StringBuilder literal = new StringBuilder();
+            for (Object part : template) {
+                if (part instanceof Property property) {
+                    if (!literal.isEmpty()) {
+                        parts.add(literal.toString());
+                        literal.setLength(0);
+                    }
+                    parts.add(property);
+                    properties.add(property);
+                    pattern.append('{').append(property.name()).append('}');
+                } else {
+                    String text = part == Placeholder.TYPE ? type.getLabel() : (String) part;
+                    literal.append(text);
+                    pattern.append(text);
+                }
+            }
+            if (!literal.isEmpty()) {
+                parts.add(literal.toString());
+            }
+            if (properties.isEmpty()) {
+                return new Route(pattern.toString(), pattern.toString(), null, null, null);
+            }
+            return new Route(null, pattern.toString(), parts.toArray(), properties.toArray(Property[]::new), new ConcurrentHashMap<>());
+        }
+
+        String resolve(Object entity) {
+            if (topic != null) {
+                return topic;
+            }
+            if (properties.length == 1) {
+                Object value = properties[0].read(entity);
+                String cached = topics.get(value);
+                return cached != null ? cached : cache(value, new Object[]{value});
+            }
+            Object[] values = new Object[properties.length];
+            for (int i = 0; i < values.length; i++) {
+                values[i] = properties[i].read(entity);
+            }
+            List<Object> key = Arrays.asList(values);
+            String cached = topics.get(key);
+            return cached != null ? cached : cache(key, values);
+        }
+
+        private String cache(Object key, Object[] values) {
+            String resolved = format(values);
+            if (topics.size() < MAX_CACHED_TOPICS) {
+                topics.putIfAbsent(key, resolved);
+            }
+            return resolved;
+        }
+
+        private String format(Object[] values) {
+            StringBuilder builder = new StringBuilder();
+            int index = 0;
+            for (Object part : parts) {
+                if (part instanceof Property) {
+                    builder.append(values[index++]);
+                } else {
+                    builder.append((String) part);
+                }
+            }
+            return builder.toString();
+        }
+    }
+}
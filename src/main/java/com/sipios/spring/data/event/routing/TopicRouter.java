@@ -0,0 +1,30 @@
+package com.sipios.spring.data.event.routing;
+
+import com.sipios.spring.data.event.model.DataEvent;
+
+import java.util.Set;
+
+/**
+ * Chooses the topic of the record sent for an event, in place of the static topics of its entity.
+ * <p>
+ * Routers are resolved once per entity class and called for every event, implementations must be thread safe and
+ * should not build a new topic string per event.
+ */
+public interface TopicRouter {
+
+    String getTopic(DataEvent event);
+
+    /**
+     * Topics known before any event, validated or created at startup.
+     */
+    default Set<String> getTopics() {
+        return Set.of();
+    }
+
+    /**
+     * Whether events of different types may share a topic, their records then carrying their type in a header.
+     */
+    default boolean sharesTopicsAcrossTypes() {
+        return false;
+    }
+}
@@ -0,0 +1,33 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.module.SimpleModule;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+
+/**
+ * Makes the serialization of entity graphs safe to run after commit.
+ * <ul>
+ *     <li>uninitialized Hibernate proxies are written as their identifier and uninitialized collections as
+ *     {@code null}, without being loaded</li>
+ *     <li>associated entities deeper than {@link #MAX_DEPTH} are written as their identifier</li>
+ *     <li>the properties of {@link DataEventEntity} classes are projected with its includes and excludes</li>
+ * </ul>
+ * Depth is counted in entities, that is beans having an {@code @Id} property or a property named {@code id}.
+ */
+public class AssociationModule extends SimpleModule {
+
+    /**
+     * {@link ObjectWriter} attribute holding the number of association levels written in full below the root value.
+     */
+    public static final Object MAX_DEPTH = AssociationModule.class.getName() + ".maxDepth";
+
+    /**
+     * {@link ObjectWriter} attribute holding the depth of the written value, {@code 0} for the root entity.
+     */
+    public static final Object DEPTH = AssociationModule.class.getName() + ".depth";
+
+    public AssociationModule() {
+        super(AssociationModule.class.getSimpleName());
+        setSerializerModifier(new AssociationSerializerModifier());
+    }
+}
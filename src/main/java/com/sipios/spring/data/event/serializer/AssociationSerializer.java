@@ -0,0 +1,64 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+
+import java.io.IOException;
+
+/**
+ * Serializer of entities, writing them as their identifier once the {@link AssociationModule#MAX_DEPTH} set on the
+ * writer is reached.
+ */
+class AssociationSerializer extends DelegatingSerializer {
+
+    private final AnnotatedMember identifier;
+
+    AssociationSerializer(JsonSerializer<?> delegate, AnnotatedMember identifier) {
+        super(delegate);
+        this.identifier = identifier;
+    }
+
+    @Override
+    protected DelegatingSerializer withDelegate(JsonSerializer<?> delegate) {
+        return new AssociationSerializer(delegate, identifier);
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        serialize(value, generator, provider, null);
+    }
+
+    @Override
+    public void serializeWithType(Object value, JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer) throws IOException {
+        serialize(value, generator, provider, typeSerializer);
+    }
+
+    private void serialize(Object value, JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer) throws IOException {
+        if (!(provider.getAttribute(AssociationModule.MAX_DEPTH) instanceof Integer maxDepth)) {
+            write(value, generator, provider, typeSerializer);
+            return;
+        }
+        int depth = provider.getAttribute(AssociationModule.DEPTH) instanceof Integer current ? current : 0;
+        if (depth > maxDepth) {
+            provider.defaultSerializeValue(identifier.getValue(value), generator);
+            return;
+        }
+        provider.setAttribute(AssociationModule.DEPTH, depth + 1);
+        try {
+            write(value, generator, provider, typeSerializer);
+        } finally {
+            provider.setAttribute(AssociationModule.DEPTH, depth);
+        }
+    }
+
+    private void write(Object value, JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer) throws IOException {
+        if (typeSerializer == null) {
+            delegate.serialize(value, generator, provider);
+        } else {
+            delegate.serializeWithType(value, generator, provider, typeSerializer);
+        }
+    }
+}
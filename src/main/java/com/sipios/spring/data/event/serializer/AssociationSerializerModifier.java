@@ -0,0 +1,90 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.MapperFeature;
+import com.fasterxml.jackson.databind.SerializationConfig;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.databind.ser.BeanPropertyWriter;
+import com.fasterxml.jackson.databind.ser.BeanSerializerModifier;
+import com.fasterxml.jackson.databind.ser.std.BeanSerializerBase;
+import com.fasterxml.jackson.databind.type.CollectionType;
+import com.fasterxml.jackson.databind.type.MapType;
+import jakarta.persistence.EmbeddedId;
+import jakarta.persistence.Id;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.proxy.HibernateProxy;
+
+import java.util.List;
+
+/**
+ * Installs the association aware serializers, once per serialized class since Jackson caches the result.
+ */
+class AssociationSerializerModifier extends BeanSerializerModifier {
+
+    @Override
+    public List<BeanPropertyWriter> changeProperties(SerializationConfig config, BeanDescription beanDesc, List<BeanPropertyWriter> beanProperties) {
+        PropertyProjection projection = PropertyProjection.of(beanDesc.getBeanClass());
+        if (!projection.isIdentity()) {
+            beanProperties.removeIf(property -> !projection.includes(property.getName()));
+        }
+        return beanProperties;
+    }
+
+    @Override
+    public JsonSerializer<?> modifySerializer(SerializationConfig config, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+        if (HibernateProxy.class.isAssignableFrom(beanDesc.getBeanClass())) {
+            return new HibernateProxySerializer();
+        }
+        if (serializer instanceof BeanSerializerBase) {
+            AnnotatedMember identifier = findIdentifier(config, beanDesc);
+            if (identifier != null) {
+                return new AssociationSerializer(serializer, identifier);
+            }
+        }
+        return serializer;
+    }
+
+    @Override
+    public JsonSerializer<?> modifyCollectionSerializer(SerializationConfig config, CollectionType valueType, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+        return PersistentCollection.class.isAssignableFrom(valueType.getRawClass()) ? new LazyCollectionSerializer(serializer) : serializer;
+    }
+
+    @Override
+    public JsonSerializer<?> modifyMapSerializer(SerializationConfig config, MapType valueType, BeanDescription beanDesc, JsonSerializer<?> serializer) {
+        return PersistentCollection.class.isAssignableFrom(valueType.getRawClass()) ? new LazyCollectionSerializer(serializer) : serializer;
+    }
+
+    /**
+     * The {@link Id} or {@link EmbeddedId} property, or else a property named {@code id}.
+     */
+    private static AnnotatedMember findIdentifier(SerializationConfig config, BeanDescription beanDesc) {
+        AnnotatedMember identifier = null;
+        for (BeanPropertyDefinition property : beanDesc.findProperties()) {
+            AnnotatedMember accessor = property.getAccessor();
+            if (accessor == null) {
+                continue;
+            }
+            if (isIdentifier(property)) {
+                identifier = accessor;
+                break;
+            }
+            if ("id".equals(property.getName())) {
+                identifier = accessor;
+            }
+        }
+        if (identifier != null) {
+            identifier.fixAccess(config.isEnabled(MapperFeature.OVERRIDE_PUBLIC_ACCESS_MODIFIERS));
+        }
+        return identifier;
+    }
+
+    private static boolean isIdentifier(BeanPropertyDefinition property) {
+        return hasIdentifierAnnotation(property.getField()) || hasIdentifierAnnotation(property.getGetter());
+    }
+
+    private static boolean hasIdentifierAnnotation(AnnotatedMember member) {
+        return member != null && (member.hasAnnotation(Id.class) || member.hasAnnotation(EmbeddedId.class));
+    }
+}
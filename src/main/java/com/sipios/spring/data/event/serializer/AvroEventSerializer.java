@@ -0,0 +1,118 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.introspect.AnnotatedMember;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroSchema;
+import com.sipios.spring.data.event.model.DataEvent;
+import jakarta.persistence.ElementCollection;
+import jakarta.persistence.Embeddable;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.ManyToMany;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import jakarta.persistence.OneToOne;
+import org.apache.avro.SchemaNormalization;
+import org.hibernate.CallbackException;
+
+import java.io.IOException;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Schema based {@link EventSerializer} writing entities as Avro binary records.
+ * <p>
+ * The Avro schema of each entity class is generated from its Jackson bean description once, on first use. Avro has no
+ * notion of object identity, so this format suits entities whose serialized graph has no cycle. Update events are
+ * always written in full since a delta does not match the entity schema.
+ * <p>
+ * An association cannot be written as its identifier without breaking the schema, so entities reaching a lazy
+ * association, directly or through eagerly fetched entities and embeddables, are rejected instead of loading it after
+ * commit.
+ */
+public class AvroEventSerializer implements EventSerializer {
+
+    private final AvroMapper avroMapper;
+    private final ClassValue<ObjectWriter> writers = new ClassValue<>() {
+        @Override
+        protected ObjectWriter computeValue(Class<?> type) {
+            checkAssociations(type, type, new HashSet<>());
+            return avroMapper.writerFor(type).with(getSchema(type));
+        }
+    };
+
+    public AvroEventSerializer(AvroMapper avroMapper) {
+        this.avroMapper = avroMapper;
+    }
+
+    public AvroSchema getSchema(Class<?> entityClass) {
+        try {
+            return avroMapper.schemaFor(entityClass);
+        } catch (JsonMappingException error) {
+            throw new IllegalArgumentException("Could not generate the Avro schema of " + entityClass.getName(), error);
+        }
+    }
+
+    /**
+     * Avro parsing fingerprint of the schema of the entity class, the one schema registries identify schemas with.
+     */
+    @Override
+    public long getSchemaFingerprint(Class<?> entityClass) {
+        return SchemaNormalization.parsingFingerprint64(getSchema(entityClass).getAvroSchema());
+    }
+
+    @Override
+    public void warmUp(Class<?> entityClass) {
+        writers.get(entityClass);
+    }
+
+    @Override
+    public byte[] serialize(DataEvent event) throws CallbackException {
+        try {
+            return writers.get(event.metadata().entityClass()).writeValueAsBytes(event.entity());
+        } catch (IOException | IllegalArgumentException error) {
+            throw new CallbackException(error);
+        }
+    }
+
+    private void checkAssociations(Class<?> entityClass, Class<?> type, Set<Class<?>> visited) {
+        if (!visited.add(type)) {
+            return;
+        }
+        BeanDescription description = avroMapper.getSerializationConfig().introspect(avroMapper.constructType(type));
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            if (isLazy(property.getField()) || isLazy(property.getGetter())) {
+                throw new IllegalArgumentException("Avro events of " + entityClass.getName() + " would load the lazy association "
+                        + type.getSimpleName() + "." + property.getName() + ", use another format or fetch it eagerly");
+            }
+            JavaType propertyType = property.getPrimaryType();
+            Class<?> valueType = propertyType.isContainerType() && propertyType.getContentType() != null
+                    ? propertyType.getContentType().getRawClass()
+                    : propertyType.getRawClass();
+            if (valueType.isAnnotationPresent(Entity.class) || valueType.isAnnotationPresent(Embeddable.class)) {
+                checkAssociations(entityClass, valueType, visited);
+            }
+        }
+    }
+
+    private static boolean isLazy(AnnotatedMember member) {
+        if (member == null) {
+            return false;
+        }
+        ManyToOne manyToOne = member.getAnnotation(ManyToOne.class);
+        OneToOne oneToOne = member.getAnnotation(OneToOne.class);
+        OneToMany oneToMany = member.getAnnotation(OneToMany.class);
+        ManyToMany manyToMany = member.getAnnotation(ManyToMany.class);
+        ElementCollection elementCollection = member.getAnnotation(ElementCollection.class);
+        return manyToOne != null && manyToOne.fetch() == FetchType.LAZY
+                || oneToOne != null && oneToOne.fetch() == FetchType.LAZY
+                || oneToMany != null && oneToMany.fetch() == FetchType.LAZY
+                || manyToMany != null && manyToMany.fetch() == FetchType.LAZY
+                || elementCollection != null && elementCollection.fetch() == FetchType.LAZY;
+    }
+}
@@ -0,0 +1,84 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.databind.BeanProperty;
+import com.fasterxml.jackson.databind.JavaType;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsonFormatVisitors.JsonFormatVisitorWrapper;
+import com.fasterxml.jackson.databind.ser.ContextualSerializer;
+import com.fasterxml.jackson.databind.ser.PropertyWriter;
+import com.fasterxml.jackson.databind.ser.ResolvableSerializer;
+import com.fasterxml.jackson.databind.util.NameTransformer;
+
+import java.util.Iterator;
+
+/**
+ * Serializer wrapping the one built by Jackson, forwarding resolution and contextualization so that the wrapped
+ * serializer is configured exactly as if it had not been wrapped.
+ */
+abstract class DelegatingSerializer extends JsonSerializer<Object> implements ContextualSerializer, ResolvableSerializer {
+
+    protected final JsonSerializer<Object> delegate;
+
+    @SuppressWarnings("unchecked")
+    protected DelegatingSerializer(JsonSerializer<?> delegate) {
+        this.delegate = (JsonSerializer<Object>) delegate;
+    }
+
+    protected abstract DelegatingSerializer withDelegate(JsonSerializer<?> delegate);
+
+    @Override
+    public void resolve(SerializerProvider provider) throws JsonMappingException {
+        if (delegate instanceof ResolvableSerializer resolvable) {
+            resolvable.resolve(provider);
+        }
+    }
+
+    @Override
+    public JsonSerializer<?> createContextual(SerializerProvider provider, BeanProperty property) throws JsonMappingException {
+        JsonSerializer<?> contextual = provider.handleSecondaryContextualization(delegate, property);
+        return contextual == delegate ? this : withDelegate(contextual);
+    }
+
+    @Override
+    public JsonSerializer<Object> unwrappingSerializer(NameTransformer unwrapper) {
+        JsonSerializer<Object> unwrapping = delegate.unwrappingSerializer(unwrapper);
+        return unwrapping == delegate ? this : withDelegate(unwrapping);
+    }
+
+    @Override
+    public JsonSerializer<?> getDelegatee() {
+        return delegate;
+    }
+
+    @Override
+    public Class<Object> handledType() {
+        return delegate.handledType();
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, Object value) {
+        return delegate.isEmpty(provider, value);
+    }
+
+    @Override
+    public boolean usesObjectId() {
+        return delegate.usesObjectId();
+    }
+
+    @Override
+    public boolean isUnwrappingSerializer() {
+        return delegate.isUnwrappingSerializer();
+    }
+
+    @Override
+    public Iterator<PropertyWriter> properties() {
+        return delegate.properties();
+    }
+
+    @Override
+    public void acceptJsonFormatVisitor(JsonFormatVisitorWrapper visitor, JavaType type) throws JsonMappingException {
+        delegate.acceptJsonFormatVisitor(visitor, type);
+    }
+}
@@ -0,0 +1,68 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.sipios.spring.data.event.model.DataEvent;
+import org.hibernate.CallbackException;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+
+/**
+ * Turns a {@link DataEvent} into the value of the Kafka record sent for it.
+ * <p>
+ * Implementations are shared by every event of the entities using them and must be thread safe.
+ */
+public interface EventSerializer {
+
+    byte[] serialize(DataEvent event) throws CallbackException;
+
+    /**
+     * Serializes the events of one topic as a single payload, used when batch envelopes are enabled.
+     */
+    default byte[] serializeEnvelope(List<DataEvent> events) throws CallbackException {
+        throw new CallbackException(getClass().getSimpleName() + " does not support batch envelopes");
+    }
+
+    /**
+     * Builds whatever serializing the events of an entity class needs ahead of its first event, called at startup for
+     * every data event entity.
+     *
+     * @throws IllegalArgumentException when the events of the entity class cannot be serialized
+     */
+    default void warmUp(Class<?> entityClass) {
+    }
+
+    /**
+     * Whether the payloads are text, such as JSON, rather than binary.
+     */
+    default boolean isText() {
+        return false;
+    }
+
+    /**
+     * Whether serializing never reads lazy state from the Hibernate session of the entities, so that events can be
+     * serialized on other threads than their session's. Unknown serializers are assumed not to be.
+     */
+    default boolean isSessionFree() {
+        return false;
+    }
+
+    /**
+     * Fingerprint of the schema of the payloads of an entity class, changing whenever their structure does, {@code 0}
+     * when the serializer cannot tell.
+     */
+    default long getSchemaFingerprint(Class<?> entityClass) {
+        return 0;
+    }
+
+    /**
+     * 64-bit FNV-1a hash of the UTF-8 bytes of a schema description.
+     */
+    static long fingerprint(String schema) {
+        long hash = 0xcbf29ce484222325L;
+        for (byte value : schema.getBytes(StandardCharsets.UTF_8)) {
+            hash ^= value & 0xff;
+            hash *= 0x100000001b3L;
+        }
+        return hash;
+    }
+}
@@ -0,0 +1,82 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.annotation.SerializationFormat;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Resolves the {@link EventSerializer} of an entity from its {@link DataEventEntity} annotation.
+ * <p>
+ * Serializers are created once and shared, custom serializer classes are provided by {@link DataEventExtensions}.
+ * <p>
+ * JSON is written as text through the main template, unless it is configured to be sent as bytes: payloads then go
+ * from the serialization buffer to the producer without the intermediate {@code String}.
+ */
+@Component
+public class EventSerializers {
+
+    private final DataEventBroadcaster dataEventBroadcaster;
+    private final DataEventProperties properties;
+    private final DataEventExtensions extensions;
+    private final Map<SerializationFormat, EventSerializer> formatSerializers = new ConcurrentHashMap<>();
+
+    public EventSerializers(DataEventBroadcaster dataEventBroadcaster, DataEventProperties properties, DataEventExtensions extensions) {
+        this.dataEventBroadcaster = dataEventBroadcaster;
+        this.properties = properties;
+        this.extensions = extensions;
+    }
+
+    public EventSerializer getSerializer(DataEventEntity annotation) {
+        if (annotation.serializer() != EventSerializer.class) {
+            return extensions.getInstance(annotation.serializer());
+        }
+        return getSerializer(annotation.format());
+    }
+
+    public EventSerializer getSerializer(SerializationFormat format) {
+        SerializationFormat resolvedFormat = format == SerializationFormat.DEFAULT ? properties.getSerializationFormat() : format;
+        return formatSerializers.computeIfAbsent(resolvedFormat, this::createFormatSerializer);
+    }
+
+    private EventSerializer createFormatSerializer(SerializationFormat format) {
+        ObjectMapper objectMapper = dataEventBroadcaster.getObjectMapper();
+        return switch (format) {
+            case DEFAULT, JSON -> properties.isSerializationJsonAsBytes()
+                    ? new JacksonEventSerializer(objectMapper)
+                    : dataEventBroadcaster.getJsonSerializer();
+            case SMILE -> new JacksonEventSerializer(Smile.copy(objectMapper));
+            case CBOR -> new JacksonEventSerializer(Cbor.copy(objectMapper));
+            case AVRO -> Avro.create();
+        };
+    }
+
+    // Format classes are only referenced from these holders so that their jar stays optional
+
+    private static final class Smile {
+        static ObjectMapper copy(ObjectMapper objectMapper) {
+            return objectMapper.copyWith(new SmileFactory());
+        }
+    }
+
+    private static final class Cbor {
+        static ObjectMapper copy(ObjectMapper objectMapper) {
+            return objectMapper.copyWith(new CBORFactory());
+        }
+    }
+
+    private static final class Avro {
+        static EventSerializer create() {
+            return new AvroEventSerializer(AvroMapper.builder().findAndAddModules().build());
+        }
+    }
+}
@@ -0,0 +1,29 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.ser.std.StdSerializer;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+
+import java.io.IOException;
+
+/**
+ * Serializer of Hibernate proxies, writing the proxied entity when already loaded, and only its identifier otherwise.
+ */
+class HibernateProxySerializer extends StdSerializer<HibernateProxy> {
+
+    HibernateProxySerializer() {
+        super(HibernateProxy.class);
+    }
+
+    @Override
+    public void serialize(HibernateProxy value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        LazyInitializer initializer = value.getHibernateLazyInitializer();
+        if (initializer.isUninitialized()) {
+            provider.defaultSerializeValue(initializer.getInternalIdentifier(), generator);
+        } else {
+            provider.defaultSerializeValue(initializer.getImplementation(), generator);
+        }
+    }
+}
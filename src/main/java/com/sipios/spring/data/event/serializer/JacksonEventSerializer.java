@@ -0,0 +1,259 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.BeanDescription;
+import com.fasterxml.jackson.databind.JsonMappingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.introspect.BeanPropertyDefinition;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.annotation.PayloadMode;
+import com.sipios.spring.data.event.annotation.PayloadSource;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import org.hibernate.CallbackException;
+import org.hibernate.persister.entity.EntityPersister;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * {@link EventSerializer} writing events with an {@link ObjectMapper}, in whatever format its factory produces
+ * (JSON, Smile, CBOR...).
+ * <p>
+ * Update events of entities using a delta {@link PayloadMode} are written from the Hibernate state arrays, as well as
+ * every event carrying a state of the entities using the {@link PayloadSource#STATE} source, following a
+ * {@link StatePlan} built once per persister, without introspecting nor reading the entity object.
+ * <p>
+ * The maximum depth and the projection declared by {@link DataEventEntity} are resolved once per entity class.
+ * Payloads are written into pooled buffers, serializing an event only allocates its resulting bytes or string.
+ */
+public class JacksonEventSerializer implements EventSerializer {
+
+    private static final SerializationBuffers BUFFERS = new SerializationBuffers();
+
+    private final ObjectMapper objectMapper;
+    private final ClassValue<EntityWriter> writers = new ClassValue<>() {
+        @Override
+        protected EntityWriter computeValue(Class<?> type) {
+            return EntityWriter.create(objectMapper, type);
+        }
+    };
+
+    private final Map<EntityPersister, StatePlan> statePlans = new ConcurrentHashMap<>();
+    private final boolean sessionFree;
+
+    public JacksonEventSerializer(ObjectMapper objectMapper) {
+        this.objectMapper = objectMapper;
+        this.sessionFree = objectMapper.getRegisteredModuleIds().contains(new AssociationModule().getTypeId());
+    }
+
+    @Override
+    public byte[] serialize(DataEvent event) throws CallbackException {
+        SerializationBuffers.Buffer buffer = serialize(event, null);
+        try {
+            return buffer.toByteArray();
+        } finally {
+            BUFFERS.release(buffer);
+        }
+    }
+
+    @Override
+    public byte[] serializeEnvelope(List<DataEvent> events) throws CallbackException {
+        SerializationBuffers.Buffer buffer = serialize(null, events);
+        try {
+            return buffer.toByteArray();
+        } finally {
+            BUFFERS.release(buffer);
+        }
+    }
+
+    /**
+     * Whether the mapper has the {@link AssociationModule}, which writes uninitialized associations without loading them.
+     */
+    @Override
+    public boolean isSessionFree() {
+        return sessionFree;
+    }
+
+    @Override
+    public boolean isText() {
+        return !objectMapper.getFactory().canHandleBinaryNatively();
+    }
+
+    /**
+     * Fingerprint of the names and types of the properties Jackson writes for the entity class, in their order.
+     */
+    @Override
+    public long getSchemaFingerprint(Class<?> entityClass) {
+        BeanDescription description = objectMapper.getSerializationConfig().introspect(objectMapper.constructType(entityClass));
+        StringBuilder schema = new StringBuilder(entityClass.getName());
+        for (BeanPropertyDefinition property : description.findProperties()) {
+            schema.append(';').append(property.getName()).append(':').append(property.getRawPrimaryType().getName());
+        }
+        return EventSerializer.fingerprint(schema.toString());
+    }
+
+    /**
+     * Resolves the writers of the entity class and the serializers of its properties, which Jackson otherwise builds on
+     * the first event.
+     */
+    @Override
+    public void warmUp(Class<?> entityClass) {
+        writers.get(entityClass);
+        SerializerProvider provider = objectMapper.getSerializerProviderInstance();
+        try {
+            provider.findTypedValueSerializer(entityClass, true, null);
+            BeanDescription description = objectMapper.getSerializationConfig().introspect(objectMapper.constructType(entityClass));
+            for (BeanPropertyDefinition property : description.findProperties()) {
+                provider.findValueSerializer(property.getPrimaryType());
+            }
+        } catch (JsonMappingException error) {
+            throw new IllegalArgumentException("Could not build the serializer of " + entityClass.getName(), error);
+        }
+    }
+
+    /**
+     * Text variant of {@link #serialize(DataEvent)}, only meaningful for a textual format such as JSON.
+     */
+    public String serializeToString(DataEvent event) throws CallbackException {
+        SerializationBuffers.Buffer buffer = serialize(event, null);
+        try {
+            return buffer.toUtf8String();
+        } finally {
+            BUFFERS.release(buffer);
+        }
+    }
+
+    /**
+     * Text variant of {@link #serialize(DataEvent)} also giving the size of the payload in UTF-8 bytes, as sent.
+     */
+    public TextPayload serializeToText(DataEvent event) throws CallbackException {
+        SerializationBuffers.Buffer buffer = serialize(event, null);
+        try {
+            return new TextPayload(buffer.toUtf8String(), buffer.size());
+        } finally {
+            BUFFERS.release(buffer);
+        }
+    }
+
+    /**
+     * Text variant of {@link #serializeEnvelope(List)}, only meaningful for a textual format such as JSON.
+     */
+    public String serializeEnvelopeToString(List<DataEvent> events) throws CallbackException {
+        SerializationBuffers.Buffer buffer = serialize(null, events);
+        try {
+            return buffer.toUtf8String();
+        } finally {
+            BUFFERS.release(buffer);
+        }
+    }
+
+    /**
+     * Writes an event, or an envelope of events, into a pooled buffer to be released by the caller.
+     */
+    private SerializationBuffers.Buffer serialize(DataEvent event, List<DataEvent> envelope) throws CallbackException {
+        SerializationBuffers.Buffer buffer = BUFFERS.acquire();
+        try (JsonGenerator generator = objectMapper.createGenerator(buffer)) {
+            if (envelope != null) {
+                writeEnvelope(envelope, generator);
+            } else {
+                write(event, generator);
+            }
+        } catch (IOException error) {
+            BUFFERS.release(buffer);
+            throw new CallbackException(error);
+        } catch (RuntimeException error) {
+            BUFFERS.release(buffer);
+            throw error;
+        }
+        return buffer;
+    }
+
+    private void writeEnvelope(List<DataEvent> events, JsonGenerator generator) throws IOException {
+        generator.writeStartArray();
+        for (DataEvent event : events) {
+            write(event, generator);
+        }
+        generator.writeEndArray();
+    }
+
+    private void write(DataEvent event, JsonGenerator generator) throws IOException {
+        if (isDelta(event)) {
+            writeDelta(event, generator);
+        } else if (isFromState(event)) {
+            writeState(event, generator);
+        } else {
+            writers.get(event.metadata().entityClass()).entity().writeValue(generator, event.entity());
+        }
+    }
+
+    private static boolean isDelta(DataEvent event) {
+        return event.type() == DataEventType.UPDATED && event.metadata().isDeltaPayload()
+                && event.dirtyProperties() != null && event.persister() != null;
+    }
+
+    private static boolean isFromState(DataEvent event) {
+        return event.metadata().isStateSource() && event.state() != null && event.persister() != null;
+    }
+
+    private void writeState(DataEvent event, JsonGenerator generator) throws IOException {
+        EntityWriter writer = writers.get(event.metadata().entityClass());
+        StatePlan plan = statePlans.get(event.persister());
+        if (plan == null) {
+            plan = statePlans.computeIfAbsent(event.persister(), persister -> StatePlan.create(persister, writer.projection()));
+        }
+        plan.write(event, generator, writer.property());
+    }
+
+    private void writeDelta(DataEvent event, JsonGenerator generator) throws IOException {
+        EntityWriter writer = writers.get(event.metadata().entityClass());
+        String[] propertyNames = event.persister().getPropertyNames();
+        String identifierName = event.persister().getIdentifierPropertyName();
+        generator.writeStartObject();
+        generator.writeFieldName(identifierName != null ? identifierName : "id");
+        writer.property().writeValue(generator, event.id());
+        writeProperties(generator, writer, "changes", propertyNames, event.state(), event.dirtyProperties());
+        if (event.metadata().payload() == PayloadMode.DELTA_WITH_OLD && event.oldState() != null) {
+            writeProperties(generator, writer, "previous", propertyNames, event.oldState(), event.dirtyProperties());
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeProperties(JsonGenerator generator, EntityWriter writer, String fieldName, String[] propertyNames, Object[] values, int[] indexes) throws IOException {
+        generator.writeObjectFieldStart(fieldName);
+        for (int index : indexes) {
+            if (writer.projection().includes(propertyNames[index])) {
+                generator.writeFieldName(propertyNames[index]);
+                writer.property().writeValue(generator, values[index]);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    /**
+     * Writers of an entity class and of its property values, carrying its maximum depth.
+     */
+    private record EntityWriter(ObjectWriter entity, ObjectWriter property, PropertyProjection projection) {
+
+        static EntityWriter create(ObjectMapper objectMapper, Class<?> type) {
+            ObjectWriter entity = objectMapper.writerFor(type);
+            ObjectWriter property = objectMapper.writer().withAttribute(AssociationModule.DEPTH, 1);
+            DataEventEntity annotation = type.getAnnotation(DataEventEntity.class);
+            if (annotation != null && annotation.maxDepth() >= 0) {
+                entity = entity.withAttribute(AssociationModule.MAX_DEPTH, annotation.maxDepth());
+                property = property.withAttribute(AssociationModule.MAX_DEPTH, annotation.maxDepth());
+            }
+            return new EntityWriter(entity, property, PropertyProjection.of(type));
+        }
+    }
+
+    /**
+     * Text payload and its size in UTF-8 bytes.
+     */
+    public record TextPayload(String text, int size) {
+    }
+}
@@ -0,0 +1,47 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonSerializer;
+import com.fasterxml.jackson.databind.SerializerProvider;
+import com.fasterxml.jackson.databind.jsontype.TypeSerializer;
+import org.hibernate.Hibernate;
+
+import java.io.IOException;
+
+/**
+ * Serializer of Hibernate collections, writing uninitialized ones as {@code null} instead of loading them.
+ */
+class LazyCollectionSerializer extends DelegatingSerializer {
+
+    LazyCollectionSerializer(JsonSerializer<?> delegate) {
+        super(delegate);
+    }
+
+    @Override
+    protected DelegatingSerializer withDelegate(JsonSerializer<?> delegate) {
+        return new LazyCollectionSerializer(delegate);
+    }
+
+    @Override
+    public boolean isEmpty(SerializerProvider provider, Object value) {
+        return Hibernate.isInitialized(value) && delegate.isEmpty(provider, value);
+    }
+
+    @Override
+    public void serialize(Object value, JsonGenerator generator, SerializerProvider provider) throws IOException {
+        if (Hibernate.isInitialized(value)) {
+            delegate.serialize(value, generator, provider);
+        } else {
+            generator.writeNull();
+        }
+    }
+
+    @Override
+    public void serializeWithType(Object value, JsonGenerator generator, SerializerProvider provider, TypeSerializer typeSerializer) throws IOException {
+        if (Hibernate.isInitialized(value)) {
+            delegate.serializeWithType(value, generator, provider, typeSerializer);
+        } else {
+            generator.writeNull();
+        }
+    }
+}
@@ -0,0 +1,30 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+
+import java.util.Set;
+
+/**
+ * Properties of an entity to be written in its events, from the includes and excludes of its
+ * {@link DataEventEntity} annotation.
+ */
+record PropertyProjection(Set<String> includes, Set<String> excludes) {
+
+    private static final PropertyProjection IDENTITY = new PropertyProjection(Set.of(), Set.of());
+
+    static PropertyProjection of(Class<?> type) {
+        DataEventEntity annotation = type.getAnnotation(DataEventEntity.class);
+        if (annotation == null || (annotation.includes().length == 0 && annotation.excludes().length == 0)) {
+            return IDENTITY;
+        }
+        return new PropertyProjection(Set.of(annotation.includes()), Set.of(annotation.excludes()));
+    }
+
+    boolean isIdentity() {
+        return includes.isEmpty() && excludes.isEmpty();
+    }
+
+    boolean includes(String property) {
+        return (includes.isEmpty() || includes.contains(property)) && !excludes.contains(property);
+    }
+}
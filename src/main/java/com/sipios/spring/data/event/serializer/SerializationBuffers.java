@@ -0,0 +1,85 @@
+package com.sipios.spring.data.event.serializer;
+
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * Striped pool of growable byte buffers that payloads are serialized into, so that serializing an event only allocates
+ * the exact-size result.
+ * <p>
+ * Buffers are striped by thread rather than held in thread locals, which would allocate a buffer per task with virtual
+ * threads. A buffer grown beyond {@link #MAX_RETAINED_CAPACITY} by an unusually large payload is not pooled again.
+ */
+final class SerializationBuffers {
+
+    static final int INITIAL_CAPACITY = 1024;
+    static final int MAX_RETAINED_CAPACITY = 1 << 20;
+
+    private final AtomicReferenceArray<Buffer> stripes;
+    private final int mask;
+
+    SerializationBuffers(int concurrency) {
+        int size = Integer.highestOneBit(Math.max(1, concurrency - 1) << 1);
+        this.stripes = new AtomicReferenceArray<>(size);
+        this.mask = size - 1;
+    }
+
+    SerializationBuffers() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    Buffer acquire() {
+        Buffer buffer = stripes.getAndSet(stripe(), null);
+        return buffer != null ? buffer : new Buffer();
+    }
+
+    void release(Buffer buffer) {
+        if (buffer.bytes.length <= MAX_RETAINED_CAPACITY) {
+            buffer.count = 0;
+            stripes.compareAndSet(stripe(), null, buffer);
+        }
+    }
+
+    private int stripe() {
+        return (int) Thread.currentThread().threadId() & mask;
+    }
+
+    static final class Buffer extends OutputStream {
+
+        private byte[] bytes = new byte[INITIAL_CAPACITY];
+        private int count;
+
+        @Override
+        public void write(int b) {
+            ensureCapacity(count + 1);
+            bytes[count++] = (byte) b;
+        }
+
+        @Override
+        public void write(byte[] source, int offset, int length) {
+            ensureCapacity(count + length);
+            System.arraycopy(source, offset, bytes, count, length);
+            count += length;
+        }
+
+        byte[] toByteArray() {
+            return Arrays.copyOf(bytes, count);
+        }
+
+        String toUtf8String() {
+            return new String(bytes, 0, count, StandardCharsets.UTF_8);
+        }
+
+        int size() {
+            return count;
+        }
+
+        private void ensureCapacity(int capacity) {
+            if (capacity > bytes.length) {
+                bytes = Arrays.copyOf(bytes, Math.max(capacity, bytes.length << 1));
+            }
+        }
+    }
+}
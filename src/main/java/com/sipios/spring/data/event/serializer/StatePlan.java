@@ -0,0 +1,135 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.io.SerializedString;
+import com.fasterxml.jackson.databind.ObjectWriter;
+import com.sipios.spring.data.event.model.DataEvent;
+import org.hibernate.bytecode.enhance.spi.LazyPropertyInitializer;
+import org.hibernate.collection.spi.PersistentCollection;
+import org.hibernate.engine.spi.SessionFactoryImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.type.CollectionType;
+import org.hibernate.type.EntityType;
+import org.hibernate.type.Type;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Plan writing the payload of an entity from the state array of its Hibernate event, built once per persister.
+ * <p>
+ * Property names are encoded once, and each property is written according to its Hibernate type: associated entities
+ * as their identifier, initialized collections of entities as the list of their identifiers and uninitialized
+ * collections as {@code null}, common basic values straight to the generator and any other value with the property
+ * writer of the entity. Properties left out by the projection of the entity, and lazy properties not fetched, are not
+ * written.
+ */
+final class StatePlan {
+
+    private final SerializedString identifierName;
+    private final PropertyPlan[] properties;
+
+    private StatePlan(SerializedString identifierName, PropertyPlan[] properties) {
+        this.identifierName = identifierName;
+        this.properties = properties;
+    }
+
+    static StatePlan create(EntityPersister persister, PropertyProjection projection) {
+        SessionFactoryImplementor factory = persister.getFactory();
+        String[] names = persister.getPropertyNames();
+        Type[] types = persister.getPropertyTypes();
+        List<PropertyPlan> properties = new ArrayList<>(names.length);
+        for (int i = 0; i < names.length; i++) {
+            if (!projection.includes(names[i])) {
+                continue;
+            }
+            Type type = types[i];
+            if (type instanceof EntityType entityType) {
+                properties.add(new PropertyPlan(i, new SerializedString(names[i]), Kind.ENTITY, getPersister(factory, entityType)));
+            } else if (type instanceof CollectionType collectionType) {
+                Type elementType = collectionType.getElementType(factory);
+                EntityPersister elementPersister = elementType instanceof EntityType entityType ? getPersister(factory, entityType) : null;
+                properties.add(new PropertyPlan(i, new SerializedString(names[i]), Kind.COLLECTION, elementPersister));
+            } else {
+                properties.add(new PropertyPlan(i, new SerializedString(names[i]), Kind.VALUE, null));
+            }
+        }
+        String identifierName = persister.getIdentifierPropertyName();
+        return new StatePlan(new SerializedString(identifierName != null ? identifierName : "id"), properties.toArray(PropertyPlan[]::new));
+    }
+
+    void write(DataEvent event, JsonGenerator generator, ObjectWriter propertyWriter) throws IOException {
+        Object[] state = event.state();
+        generator.writeStartObject();
+        generator.writeFieldName(identifierName);
+        writeValue(event.id(), generator, propertyWriter);
+        for (PropertyPlan property : properties) {
+            Object value = state[property.index()];
+            if (value == LazyPropertyInitializer.UNFETCHED_PROPERTY) {
+                continue;
+            }
+            generator.writeFieldName(property.name());
+            switch (property.kind()) {
+                case ENTITY -> writeValue(value != null ? getIdentifier(value, property.associated()) : null, generator, propertyWriter);
+                case COLLECTION -> writeCollection(value, property.associated(), generator, propertyWriter);
+                case VALUE -> writeValue(value, generator, propertyWriter);
+            }
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeCollection(Object value, EntityPersister elementPersister, JsonGenerator generator, ObjectWriter propertyWriter) throws IOException {
+        if (value == null || value instanceof PersistentCollection<?> collection && !collection.wasInitialized()) {
+            generator.writeNull();
+            return;
+        }
+        if (elementPersister == null) {
+            propertyWriter.writeValue(generator, value);
+            return;
+        }
+        Collection<?> elements = value instanceof Map<?, ?> map ? map.values() : (Collection<?>) value;
+        generator.writeStartArray();
+        for (Object element : elements) {
+            writeValue(element != null ? getIdentifier(element, elementPersister) : null, generator, propertyWriter);
+        }
+        generator.writeEndArray();
+    }
+
+    private static void writeValue(Object value, JsonGenerator generator, ObjectWriter propertyWriter) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+        } else if (value instanceof String text) {
+            generator.writeString(text);
+        } else if (value instanceof Long number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Integer number) {
+            generator.writeNumber(number);
+        } else if (value instanceof Boolean bool) {
+            generator.writeBoolean(bool);
+        } else {
+            propertyWriter.writeValue(generator, value);
+        }
+    }
+
+    private static Object getIdentifier(Object entity, EntityPersister persister) {
+        if (entity instanceof HibernateProxy proxy) {
+            return proxy.getHibernateLazyInitializer().getInternalIdentifier();
+        }
+        return persister.getIdentifier(entity, null);
+    }
+
+    private static EntityPersister getPersister(SessionFactoryImplementor factory, EntityType type) {
+        return factory.getMappingMetamodel().getEntityDescriptor(type.getAssociatedEntityName(factory));
+    }
+
+    private enum Kind {
+        ENTITY, COLLECTION, VALUE
+    }
+
+    private record PropertyPlan(int index, SerializedString name, Kind kind, EntityPersister associated) {
+    }
+}
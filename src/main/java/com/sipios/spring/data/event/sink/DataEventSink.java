@@ -0,0 +1,21 @@
+package com.sipios.spring.data.event.sink;
+
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+
+import java.util.List;
+
+/**
+ * Destination of the events of the entities selecting it with {@link DataEventEntity#sinks()}.
+ * <p>
+ * Events are handed over in batches, in the order they were committed. An event going to several sinks is serialized
+ * at most once, by the first sink asking for its record, the others sharing it.
+ * <p>
+ * Implementations are shared by every entity using them and must be thread safe.
+ */
+public interface DataEventSink {
+
+    /**
+     * Publishes events, failing when any of them could not be published.
+     */
+    void publish(List<SinkEvent> events);
+}
@@ -0,0 +1,163 @@
+package com.sipios.spring.data.event.sink;
+
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.model.DataEventRecord;
+import com.sipios.spring.data.event.serializer.EventSerializer;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.regex.Pattern;
+
+/**
+ * Appends the events to a file per topic, {@code <topic>.log} in the configured directory, as an audit log.
+ * <p>
+ * Each event is written on its own line as its timestamp in milliseconds, its type, its key, {@code -} when it has none,
+ * and its payload, separated by tabs. Text payloads are written as they are, binary ones Base64 encoded. The lines of a
+ * batch are appended to each file with a single write on a channel kept open, forced to the disk when configured.
+ * <p>
+ * Topics are checked against the characters Kafka allows before being used as file names, so that a topic routed from
+ * an entity field cannot escape the directory. The channels of the least recently written topics are closed beyond the
+ * configured number of open files, and opened again on their next write.
+ */
+@Component
+public class FileDataEventSink implements DataEventSink {
+
+    private static final String NO_KEY = "-";
+    private static final Pattern LEGAL_TOPIC = Pattern.compile("[a-zA-Z0-9._-]{1,249}");
+
+    private final Path directory;
+    private final boolean sync;
+    private final int maxOpenFiles;
+    private final Map<String, FileChannel> channels = new LinkedHashMap<>(16, 0.75f, true);
+
+    public FileDataEventSink(DataEventProperties properties) {
+        this.directory = Path.of(properties.getSinkFileDirectory());
+        this.sync = properties.isSinkFileSync();
+        this.maxOpenFiles = properties.getSinkFileMaxOpenFiles();
+        if (maxOpenFiles <= 0) {
+            throw new IllegalArgumentException("The maximum number of open files of the file sink must be positive");
+        }
+    }
+
+    @Override
+    public void publish(List<SinkEvent> events) {
+        Map<String, ByteArrayOutputStream> lines = new LinkedHashMap<>();
+        long timestamp = System.currentTimeMillis();
+        for (SinkEvent event : events) {
+            DataEventRecord record = event.record();
+            ByteArrayOutputStream output = lines.computeIfAbsent(record.topic(), topic -> new ByteArrayOutputStream());
+            writeLine(output, timestamp, event.event(), record);
+        }
+        try {
+            for (Map.Entry<String, ByteArrayOutputStream> entry : lines.entrySet()) {
+                append(entry.getKey(), entry.getValue().toByteArray());
+            }
+        } catch (IOException error) {
+            throw new UncheckedIOException("Could not append data events to " + directory, error);
+        }
+    }
+
+    /**
+     * Number of files currently open.
+     */
+    public int getOpenFileCount() {
+        synchronized (channels) {
+            return channels.size();
+        }
+    }
+
+    @PreDestroy
+    void close() throws IOException {
+        List<FileChannel> closed;
+        synchronized (channels) {
+            closed = new ArrayList<>(channels.values());
+            channels.clear();
+        }
+        close(closed);
+    }
+
+    private static void writeLine(ByteArrayOutputStream output, long timestamp, DataEvent event, DataEventRecord record) {
+        String prefix = timestamp + "\t" + event.type().getLabel() + "\t" + (record.key() != null ? record.key() : NO_KEY) + "\t";
+        output.writeBytes(prefix.getBytes(StandardCharsets.UTF_8));
+        EventSerializer serializer = event.metadata().serializer();
+        output.writeBytes(serializer == null || serializer.isText() ? record.payload() : Base64.getEncoder().encode(record.payload()));
+        output.write('\n');
+    }
+
+    /**
+     * Writes the lines on the channel of the topic, opening it again if it was closed by an eviction meanwhile.
+     */
+    private void append(String topic, byte[] lines) throws IOException {
+        while (true) {
+            FileChannel channel = getChannel(topic);
+            synchronized (channel) {
+                if (!channel.isOpen()) {
+                    continue;
+                }
+                ByteBuffer buffer = ByteBuffer.wrap(lines);
+                while (buffer.hasRemaining()) {
+                    channel.write(buffer);
+                }
+                if (sync) {
+                    channel.force(false);
+                }
+                return;
+            }
+        }
+    }
+
+    private FileChannel getChannel(String topic) throws IOException {
+        List<FileChannel> evicted = new ArrayList<>();
+        FileChannel channel;
+        synchronized (channels) {
+            channel = channels.get(topic);
+            if (channel != null) {
+                return channel;
+            }
+            channel = open(topic);
+            channels.put(topic, channel);
+            Iterator<FileChannel> eldest = channels.values().iterator();
+            while (channels.size() > maxOpenFiles) {
+                evicted.add(eldest.next());
+                eldest.remove();
+            }
+        }
+        close(evicted);
+        return channel;
+    }
+
+    private FileChannel open(String topic) throws IOException {
+        if (!LEGAL_TOPIC.matcher(topic).matches() || topic.equals(".") || topic.equals("..")) {
+            throw new IllegalArgumentException("Topic " + topic + " cannot be written by the file sink, only letters, digits, '.', '_' and '-' are allowed");
+        }
+        Files.createDirectories(directory);
+        return FileChannel.open(directory.resolve(topic + ".log"), StandardOpenOption.CREATE, StandardOpenOption.WRITE, StandardOpenOption.APPEND);
+    }
+
+    /**
+     * Closes channels once the writes in progress on them are done.
+     */
+    private static void close(List<FileChannel> closed) throws IOException {
+        for (FileChannel channel : closed) {
+            synchronized (channel) {
+                channel.close();
+            }
+        }
+    }
+}
@@ -0,0 +1,45 @@
+package com.sipios.spring.data.event.sink;
+
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Sends the events to Kafka through the {@link DataEventBroadcaster}, with its in flight limit, retries, spill journal
+ * and failure handler. Like the events of entities without sinks, they are sent without waiting for their
+ * acknowledgement, unless batch or transactional mode is enabled, in which case the producer is flushed once per batch
+ * and all the acknowledgements awaited.
+ * <p>
+ * Entities selecting this sink alone are published like the entities selecting no sink, following the batch and
+ * transactional settings.
+ */
+@Component
+public class KafkaDataEventSink implements DataEventSink {
+
+    private final DataEventBroadcaster dataEventBroadcaster;
+    private boolean awaited;
+
+    public KafkaDataEventSink(DataEventBroadcaster dataEventBroadcaster) {
+        this.dataEventBroadcaster = dataEventBroadcaster;
+    }
+
+    /**
+     * Waits for the acknowledgement of each batch when batch or transactional mode is enabled.
+     */
+    @Autowired(required = false)
+    public void configure(DataEventProperties properties) {
+        this.awaited = properties.isBatchEnabled() || properties.isTransactionalEnabled();
+    }
+
+    @Override
+    public void publish(List<SinkEvent> events) {
+        if (awaited) {
+            dataEventBroadcaster.broadcastSerialized(events);
+        } else {
+            events.forEach(dataEventBroadcaster::broadcastSerialized);
+        }
+    }
+}
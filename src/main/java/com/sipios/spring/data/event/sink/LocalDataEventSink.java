@@ -0,0 +1,30 @@
+package com.sipios.spring.data.event.sink;
+
+import com.sipios.spring.data.event.model.DataEvent;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+
+/**
+ * Publishes the events as Spring application events, to be received by {@code @EventListener} methods taking a
+ * {@link DataEvent}, on the publishing thread and without being serialized.
+ * <p>
+ * Listeners receive the entity object itself, detached from its session since events are published after commit.
+ */
+@Component
+public class LocalDataEventSink implements DataEventSink {
+
+    private final ApplicationEventPublisher applicationEventPublisher;
+
+    public LocalDataEventSink(ApplicationEventPublisher applicationEventPublisher) {
+        this.applicationEventPublisher = applicationEventPublisher;
+    }
+
+    @Override
+    public void publish(List<SinkEvent> events) {
+        for (SinkEvent event : events) {
+            applicationEventPublisher.publishEvent(event.event());
+        }
+    }
+}
@@ -0,0 +1,49 @@
+package com.sipios.spring.data.event.sink;
+
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.model.DataEventRecord;
+
+import java.util.function.Function;
+
+/**
+ * An event handed over to its sinks, serialized on the first request of its record only.
+ */
+public final class SinkEvent {
+
+    private final DataEvent event;
+    private final Function<DataEvent, DataEventRecord> serializer;
+    private volatile DataEventRecord record;
+
+    public SinkEvent(DataEvent event, Function<DataEvent, DataEventRecord> serializer) {
+        this.event = event;
+        this.serializer = serializer;
+    }
+
+    public DataEvent event() {
+        return event;
+    }
+
+    /**
+     * Record of the event, serialized with the serializer of its entity on the first call and shared afterwards.
+     */
+    public DataEventRecord record() {
+        DataEventRecord serialized = record;
+        if (serialized == null) {
+            synchronized (this) {
+                serialized = record;
+                if (serialized == null) {
+                    serialized = serializer.apply(event);
+                    record = serialized;
+                }
+            }
+        }
+        return serialized;
+    }
+
+    /**
+     * Whether the event was serialized by one of its sinks.
+     */
+    public boolean isSerialized() {
+        return record != null;
+    }
+}
@@ -0,0 +1,343 @@
+package com.sipios.spring.data.event.spill;
+
+import com.sipios.spring.data.event.annotation.RecordCompression;
+import com.sipios.spring.data.event.model.DataEventRecord;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.stream.Stream;
+import java.util.zip.CRC32C;
+
+/**
+ * Append only journal of the records that could not be sent, stored in memory mapped segment files of a fixed size.
+ * <p>
+ * Each record is written as its length, the CRC32C of its content, then its topic, key, headers, compression and
+ * payload. The length is
+ * written last, so that a record torn by a crash reads as the end of the journal. Records are read back in append order
+ * from a checkpoint, which only moves forward once they are acknowledged, and fully acknowledged segments are deleted.
+ * <p>
+ * The journal holds at most {@code maxBytes / segmentBytes} segments, appends failing once they are all used. When every
+ * record is acknowledged, the last segment is replaced by a new one instead, so that a journal of a single segment is
+ * reused. Written records survive a crash of the application, and a crash of the host once their segment is rolled over
+ * or closed.
+ */
+public class SpillJournal implements Closeable {
+
+    private static final String SEGMENT_PREFIX = "spill-";
+    private static final String SEGMENT_SUFFIX = ".log";
+    private static final String CHECKPOINT_FILE = "checkpoint";
+    private static final int RECORD_HEADER_BYTES = 8;
+    private static final int NO_KEY = -1;
+    private static final int NO_HEADERS = -1;
+    private static final byte NO_COMPRESSION = -1;
+    private static final RecordCompression[] COMPRESSIONS = RecordCompression.values();
+
+    private final Path directory;
+    private final long segmentBytes;
+    private final int maxSegments;
+    private final Deque<Segment> segments = new ArrayDeque<>();
+    private final MappedByteBuffer checkpoint;
+    private final FileChannel checkpointChannel;
+    private final CRC32C crc = new CRC32C();
+    private int checkpointPosition;
+    private long pendingBytes;
+    private volatile long pendingRecords;
+    private boolean closed;
+
+    private SpillJournal(Path directory, long segmentBytes, long maxBytes) throws IOException {
+        if (segmentBytes > Integer.MAX_VALUE) {
+            throw new IllegalArgumentException("Spill segments cannot be larger than " + Integer.MAX_VALUE + " bytes");
+        }
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.maxSegments = (int) Math.max(1, maxBytes / segmentBytes);
+        this.checkpointChannel = FileChannel.open(directory.resolve(CHECKPOINT_FILE),
+                StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        this.checkpoint = checkpointChannel.map(FileChannel.MapMode.READ_WRITE, 0, Long.BYTES + Integer.BYTES);
+    }
+
+    /**
+     * Opens the journal of the directory, recovering the records left by a previous run.
+     */
+    public static SpillJournal open(Path directory, long segmentBytes, long maxBytes) throws IOException {
+        Files.createDirectories(directory);
+        SpillJournal journal = new SpillJournal(directory, segmentBytes, maxBytes);
+        journal.recover();
+        return journal;
+    }
+
+    /**
+     * Appends a record at the end of the journal.
+     *
+     * @return {@code false} when the record does not fit in the remaining disk budget or the journal is closed
+     */
+    public synchronized boolean append(DataEventRecord record) {
+        if (closed) {
+            return false;
+        }
+        byte[] topic = record.topic().getBytes(StandardCharsets.UTF_8);
+        byte[] key = record.key() == null ? null : record.key().getBytes(StandardCharsets.UTF_8);
+        byte[] headers = record.encodeHeaders();
+        int bodyBytes = Short.BYTES + topic.length + Integer.BYTES + (key == null ? 0 : key.length)
+                + Integer.BYTES + (headers == null ? 0 : headers.length) + Byte.BYTES + record.payload().length;
+        int recordBytes = RECORD_HEADER_BYTES + bodyBytes;
+        if (recordBytes > segmentBytes) {
+            return false;
+        }
+        Segment tail = segments.peekLast();
+        if (tail == null || tail.buffer.remaining() < recordBytes) {
+            if (segments.size() >= maxSegments) {
+                if (pendingRecords > 0) {
+                    return false;
+                }
+                recycle(tail);
+                tail = null;
+            }
+            tail = roll(tail);
+        }
+        MappedByteBuffer buffer = tail.buffer;
+        int start = buffer.position();
+        buffer.position(start + RECORD_HEADER_BYTES);
+        buffer.putShort((short) topic.length).put(topic);
+        buffer.putInt(key == null ? NO_KEY : key.length);
+        if (key != null) {
+            buffer.put(key);
+        }
+        buffer.putInt(headers == null ? NO_HEADERS : headers.length);
+        if (headers != null) {
+            buffer.put(headers);
+        }
+        buffer.put(record.compression() == null ? NO_COMPRESSION : (byte) record.compression().ordinal());
+        buffer.put(record.payload());
+        buffer.putInt(start + Integer.BYTES, checksum(buffer, start + RECORD_HEADER_BYTES, bodyBytes));
+        buffer.putInt(start, bodyBytes);
+        pendingBytes += recordBytes;
+        pendingRecords++;
+        return true;
+    }
+
+    /**
+     * Reads the records following the checkpoint, without moving it.
+     */
+    public synchronized Batch read(int maxRecords) {
+        List<DataEventRecord> records = new ArrayList<>(Math.min(maxRecords, (int) Math.min(pendingRecords, Integer.MAX_VALUE)));
+        Iterator<Segment> iterator = segments.iterator();
+        if (!iterator.hasNext()) {
+            return new Batch(records, -1, 0, 0);
+        }
+        Segment segment = iterator.next();
+        int position = checkpointPosition;
+        long bytes = 0;
+        while (records.size() < maxRecords) {
+            int recordBytes = recordBytes(segment, position);
+            if (recordBytes == 0) {
+                if (!iterator.hasNext()) {
+                    break;
+                }
+                segment = iterator.next();
+                position = 0;
+                continue;
+            }
+            records.add(decode(segment.buffer, position + RECORD_HEADER_BYTES));
+            position += recordBytes;
+            bytes += recordBytes;
+        }
+        return new Batch(records, segment.sequence, position, bytes);
+    }
+
+    /**
+     * Moves the checkpoint after the records of the batch, deleting the segments they fully consumed.
+     */
+    public synchronized void acknowledge(Batch batch) {
+        if (closed || batch.records().isEmpty()) {
+            return;
+        }
+        while (segments.size() > 1 && segments.peekFirst().sequence < batch.segment()) {
+            delete(segments.pollFirst());
+        }
+        checkpointPosition = batch.position();
+        checkpoint.putLong(0, batch.segment()).putInt(Long.BYTES, batch.position());
+        pendingBytes -= batch.bytes();
+        pendingRecords -= batch.records().size();
+    }
+
+    public boolean isEmpty() {
+        return pendingRecords == 0;
+    }
+
+    public long getPendingRecordCount() {
+        return pendingRecords;
+    }
+
+    public synchronized long getPendingBytes() {
+        return pendingBytes;
+    }
+
+    /**
+     * Disk space used by the segments.
+     */
+    public synchronized long getSize() {
+        return segments.size() * segmentBytes;
+    }
+
+    @Override
+    public synchronized void close() throws IOException {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        for (Segment segment : segments) {
+            segment.buffer.force();
+            segment.channel.close();
+        }
+        checkpoint.force();
+        checkpointChannel.close();
+    }
+
+    private void recover() throws IOException {
+        List<Path> files;
+        try (Stream<Path> list = Files.list(directory)) {
+            files = list.filter(file -> file.getFileName().toString().startsWith(SEGMENT_PREFIX)).sorted().toList();
+        }
+        long checkpointSegment = checkpoint.getLong(0);
+        for (Path file : files) {
+            long sequence = sequence(file);
+            if (sequence < checkpointSegment) {
+                Files.delete(file);
+            } else {
+                segments.addLast(map(file, sequence));
+            }
+        }
+        Segment head = segments.peekFirst();
+        checkpointPosition = head != null && head.sequence == checkpointSegment ? checkpoint.getInt(Long.BYTES) : 0;
+        int position = checkpointPosition;
+        for (Segment segment : segments) {
+            int recordBytes;
+            while ((recordBytes = recordBytes(segment, position)) > 0) {
+                position += recordBytes;
+                pendingBytes += recordBytes;
+                pendingRecords++;
+            }
+            segment.buffer.position(position);
+            position = 0;
+        }
+    }
+
+    private Segment roll(Segment tail) {
+        try {
+            if (tail != null) {
+                tail.buffer.force();
+            }
+            long sequence = tail == null ? checkpoint.getLong(0) : tail.sequence + 1;
+            Segment segment = map(directory.resolve(SEGMENT_PREFIX + String.format("%020d", sequence) + SEGMENT_SUFFIX), sequence);
+            if (tail == null) {
+                checkpointPosition = 0;
+                checkpoint.putLong(0, sequence).putInt(Long.BYTES, 0);
+            }
+            segments.addLast(segment);
+            return segment;
+        } catch (IOException error) {
+            throw new UncheckedIOException("Could not create a spill segment in " + directory, error);
+        }
+    }
+
+    /**
+     * Deletes the segments of a fully acknowledged journal, moving the checkpoint to the start of the next segment first
+     * so that a recovery ignores them.
+     */
+    private void recycle(Segment tail) {
+        checkpointPosition = 0;
+        checkpoint.putLong(0, tail.sequence + 1).putInt(Long.BYTES, 0);
+        while (!segments.isEmpty()) {
+            delete(segments.pollFirst());
+        }
+    }
+
+    private Segment map(Path file, long sequence) throws IOException {
+        FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.READ, StandardOpenOption.WRITE);
+        return new Segment(sequence, file, channel, channel.map(FileChannel.MapMode.READ_WRITE, 0, segmentBytes));
+    }
+
+    private void delete(Segment segment) {
+        try {
+            segment.channel.close();
+            Files.deleteIfExists(segment.file);
+        } catch (IOException error) {
+            throw new UncheckedIOException("Could not delete spill segment " + segment.file, error);
+        }
+    }
+
+    /**
+     * Size of the valid record at the position, {@code 0} at the end of the written records of the segment.
+     */
+    private int recordBytes(Segment segment, int position) {
+        ByteBuffer buffer = segment.buffer;
+        if (buffer.capacity() - position < RECORD_HEADER_BYTES) {
+            return 0;
+        }
+        int bodyBytes = buffer.getInt(position);
+        if (bodyBytes <= 0 || bodyBytes > buffer.capacity() - position - RECORD_HEADER_BYTES
+                || checksum(buffer, position + RECORD_HEADER_BYTES, bodyBytes) != buffer.getInt(position + Integer.BYTES)) {
+            return 0;
+        }
+        return RECORD_HEADER_BYTES + bodyBytes;
+    }
+
+    private int checksum(ByteBuffer buffer, int offset, int length) {
+        crc.reset();
+        crc.update(buffer.slice(offset, length));
+        return (int) crc.getValue();
+    }
+
+    private static DataEventRecord decode(ByteBuffer source, int offset) {
+        ByteBuffer buffer = source.duplicate().position(offset);
+        int bodyBytes = source.getInt(offset - RECORD_HEADER_BYTES);
+        byte[] topic = new byte[buffer.getShort()];
+        buffer.get(topic);
+        int keyLength = buffer.getInt();
+        String key = null;
+        if (keyLength != NO_KEY) {
+            byte[] keyBytes = new byte[keyLength];
+            buffer.get(keyBytes);
+            key = new String(keyBytes, StandardCharsets.UTF_8);
+        }
+        int headersLength = buffer.getInt();
+        byte[] headers = null;
+        if (headersLength != NO_HEADERS) {
+            headers = new byte[headersLength];
+            buffer.get(headers);
+        }
+        byte compression = buffer.get();
+        byte[] payload = new byte[offset + bodyBytes - buffer.position()];
+        buffer.get(payload);
+        return new DataEventRecord(new String(topic, StandardCharsets.UTF_8), key, payload, DataEventRecord.decodeHeaders(headers),
+                compression == NO_COMPRESSION ? null : COMPRESSIONS[compression]);
+    }
+
+    private static long sequence(Path file) {
+        String name = file.getFileName().toString();
+        return Long.parseLong(name.substring(SEGMENT_PREFIX.length(), name.length() - SEGMENT_SUFFIX.length()));
+    }
+
+    /**
+     * Records read from the journal, followed by the position to acknowledge them at.
+     */
+    public record Batch(List<DataEventRecord> records, long segment, int position, long bytes) {
+    }
+
+    private record Segment(long sequence, Path file, FileChannel channel, MappedByteBuffer buffer) {
+    }
+}
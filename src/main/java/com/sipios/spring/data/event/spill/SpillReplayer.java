@@ -0,0 +1,108 @@
+package com.sipios.spring.data.event.spill;
+
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metrics.DataEventMetrics;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Duration;
+
+/**
+ * Owns the {@link SpillJournal} of the broadcaster and replays it once Kafka is available again.
+ * <p>
+ * A single replay thread reads the oldest spilled records in large batches, sends them with one producer flush and
+ * acknowledges them once Kafka acknowledged them, so that they are delivered at least once and in spill order. While
+ * the journal is not empty, the broadcaster spills every new record behind the previous ones, which keeps the commit
+ * path free of broker timeouts during an outage.
+ */
+@Component
+public class SpillReplayer {
+
+    private static final Log logger = LogFactory.getLog(SpillReplayer.class);
+
+    private final DataEventBroadcaster dataEventBroadcaster;
+    private final DataEventProperties properties;
+    private final DataEventMetrics metrics;
+    private SpillJournal journal;
+    private Thread replayThread;
+    private volatile boolean running;
+
+    public SpillReplayer(DataEventBroadcaster dataEventBroadcaster, DataEventProperties properties, DataEventMetrics metrics) {
+        this.dataEventBroadcaster = dataEventBroadcaster;
+        this.properties = properties;
+        this.metrics = metrics;
+    }
+
+    @PostConstruct
+    void start() throws IOException {
+        if (!properties.isSpillEnabled()) {
+            return;
+        }
+        open();
+        running = true;
+        replayThread = Thread.ofPlatform().daemon().name("data-event-spill-replayer").start(this::run);
+    }
+
+    void open() throws IOException {
+        journal = SpillJournal.open(Path.of(properties.getSpillDirectory()), properties.getSpillSegmentBytes(), properties.getSpillMaxBytes());
+        if (!journal.isEmpty()) {
+            logger.info(journal.getPendingRecordCount() + " spilled data events will be replayed");
+        }
+        dataEventBroadcaster.setSpillJournal(journal);
+        metrics.bindSpillJournal(journal);
+    }
+
+    @PreDestroy
+    void stop() throws InterruptedException, IOException {
+        running = false;
+        if (replayThread != null) {
+            replayThread.interrupt();
+            replayThread.join(Duration.ofMillis(properties.getAsyncShutdownTimeoutMs()));
+        }
+        if (journal != null) {
+            dataEventBroadcaster.setSpillJournal(null);
+            journal.close();
+        }
+    }
+
+    /**
+     * Replays one batch of spilled records.
+     *
+     * @return the number of replayed records
+     */
+    public int replay() {
+        SpillJournal.Batch batch = journal.read(properties.getSpillReplayBatchSize());
+        if (batch.records().isEmpty()) {
+            return 0;
+        }
+        dataEventBroadcaster.replayAll(batch.records());
+        journal.acknowledge(batch);
+        metrics.replayed(batch.records().size());
+        return batch.records().size();
+    }
+
+    private void run() {
+        while (running) {
+            try {
+                if (replay() == 0) {
+                    Thread.sleep(properties.getSpillReplayIntervalMs());
+                }
+            } catch (InterruptedException error) {
+                return;
+            } catch (RuntimeException error) {
+                logger.warn("Could not replay spilled data events, " + journal.getPendingRecordCount() + " are pending", error);
+                try {
+                    Thread.sleep(properties.getSpillReplayIntervalMs());
+                } catch (InterruptedException interrupted) {
+                    return;
+                }
+            }
+        }
+    }
+}
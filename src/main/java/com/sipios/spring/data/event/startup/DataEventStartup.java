@@ -0,0 +1,140 @@
+package com.sipios.spring.data.event.startup;
+
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.delivery.SendFailurePolicy;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.serializer.EventSerializer;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.AdminClientConfig;
+import org.apache.kafka.clients.admin.NewTopic;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.stereotype.Component;
+
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+
+/**
+ * Prepares the data event entities once every bean is created, so that neither the first event of an entity nor a
+ * topic misconfiguration surfaces inside a live request.
+ * <p>
+ * The serializers of the entities registered from the Hibernate metamodel are warmed up in parallel, a serializer
+ * failing to handle an entity failing the startup. Their topics are then validated or created through the
+ * {@link KafkaAdmin} bean, or an admin client configured like the producer when there is none.
+ */
+@Component
+public class DataEventStartup implements SmartInitializingSingleton {
+
+    private static final Log logger = LogFactory.getLog(DataEventStartup.class);
+
+    private final DataEventMetadataRegistry metadataRegistry;
+    private final DataEventBroadcaster dataEventBroadcaster;
+    private final DataEventProperties properties;
+    private final KafkaTemplate<String, String> kafkaTemplate;
+    private final ObjectProvider<KafkaAdmin> kafkaAdmins;
+
+    public DataEventStartup(DataEventMetadataRegistry metadataRegistry, DataEventBroadcaster dataEventBroadcaster, DataEventProperties properties,
+                            KafkaTemplate<String, String> kafkaTemplate, ObjectProvider<KafkaAdmin> kafkaAdmins) {
+        this.metadataRegistry = metadataRegistry;
+        this.dataEventBroadcaster = dataEventBroadcaster;
+        this.properties = properties;
+        this.kafkaTemplate = kafkaTemplate;
+        this.kafkaAdmins = kafkaAdmins;
+    }
+
+    @Override
+    public void afterSingletonsInstantiated() {
+        List<DataEventMetadata> entities = metadataRegistry.getRegisteredMetadata().stream()
+                .filter(DataEventMetadata::enabled)
+                .toList();
+        if (properties.isStartupWarmUpEnabled()) {
+            warmUp(entities);
+        }
+        if (properties.getStartupTopicsMode() != TopicProvisioning.NONE) {
+            provisionTopics(getTopics(entities));
+        }
+    }
+
+    void warmUp(List<DataEventMetadata> entities) {
+        long start = System.nanoTime();
+        entities.parallelStream().forEach(metadata -> {
+            metadataRegistry.getMetadata(metadata.entityClass());
+            EventSerializer serializer = metadata.serializer() != null ? metadata.serializer() : dataEventBroadcaster.getJsonSerializer();
+            serializer.warmUp(metadata.entityClass());
+        });
+        logger.info("Warmed up the data event serializers of " + entities.size() + " entities in "
+                + TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start) + " ms");
+    }
+
+    Set<String> getTopics(List<DataEventMetadata> entities) {
+        Set<String> topics = new LinkedHashSet<>();
+        for (DataEventMetadata metadata : entities) {
+            if (!metadata.isKafkaPublished()) {
+                continue;
+            }
+            if (metadata.topicRouter() != null) {
+                topics.addAll(metadata.topicRouter().getTopics());
+            } else {
+                topics.add(metadata.creationTopic());
+                topics.add(metadata.updateTopic());
+                topics.add(metadata.deletionTopic());
+            }
+        }
+        if (properties.getSendFailurePolicy() == SendFailurePolicy.DEAD_LETTER_TOPIC) {
+            for (String topic : List.copyOf(topics)) {
+                topics.add(topic + properties.getSendDeadLetterTopicSuffix());
+            }
+        }
+        return topics;
+    }
+
+    void provisionTopics(Set<String> topics) {
+        KafkaAdmin kafkaAdmin = kafkaAdmins.getIfAvailable(this::createKafkaAdmin);
+        Set<String> missing = new LinkedHashSet<>(topics);
+        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            missing.removeAll(adminClient.listTopics().names().get(properties.getStartupTopicsTimeoutMs(), TimeUnit.MILLISECONDS));
+        } catch (InterruptedException error) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException("Interrupted while listing the Kafka topics", error);
+        } catch (ExecutionException | TimeoutException error) {
+            throw new IllegalStateException("Could not list the Kafka topics", error);
+        }
+        if (missing.isEmpty()) {
+            return;
+        }
+        if (properties.getStartupTopicsMode() == TopicProvisioning.VALIDATE) {
+            throw new IllegalStateException("Data event topics " + missing + " do not exist");
+        }
+        Optional<Short> replicationFactor = properties.getStartupTopicsReplicationFactor() > 0
+                ? Optional.of(properties.getStartupTopicsReplicationFactor())
+                : Optional.empty();
+        kafkaAdmin.createOrModifyTopics(missing.stream()
+                .map(topic -> new NewTopic(topic, Optional.of(properties.getStartupTopicsPartitions()), replicationFactor))
+                .toArray(NewTopic[]::new));
+        logger.info("Created data event topics " + missing);
+    }
+
+    /**
+     * Admin configured with the connection properties of the producer.
+     */
+    private KafkaAdmin createKafkaAdmin() {
+        Map<String, Object> configs = new HashMap<>(kafkaTemplate.getProducerFactory().getConfigurationProperties());
+        configs.keySet().retainAll(AdminClientConfig.configNames());
+        KafkaAdmin kafkaAdmin = new KafkaAdmin(configs);
+        kafkaAdmin.setOperationTimeout((int) TimeUnit.MILLISECONDS.toSeconds(properties.getStartupTopicsTimeoutMs()));
+        return kafkaAdmin;
+    }
+}
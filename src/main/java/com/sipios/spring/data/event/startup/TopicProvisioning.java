@@ -0,0 +1,19 @@
+package com.sipios.spring.data.event.startup;
+
+/**
+ * What to do at startup with the topics of the data event entities.
+ */
+public enum TopicProvisioning {
+    /**
+     * Leave the topics alone, a missing topic shows up on its first event.
+     */
+    NONE,
+    /**
+     * Fail the startup when a topic does not exist.
+     */
+    VALIDATE,
+    /**
+     * Create the missing topics with the configured partitions and replication factor.
+     */
+    CREATE
+}
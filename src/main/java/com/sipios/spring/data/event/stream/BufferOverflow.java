@@ -0,0 +1,19 @@
+package com.sipios.spring.data.event.stream;
+
+/**
+ * What a stream subscription does with a new event when its buffer is full because its subscriber is not keeping up.
+ */
+public enum BufferOverflow {
+    /**
+     * Drop the oldest buffered event to make room for the new one.
+     */
+    DROP_OLDEST,
+    /**
+     * Drop the new event.
+     */
+    DROP_LATEST,
+    /**
+     * Cancel the subscription and signal a {@link java.nio.BufferOverflowException} to the subscriber.
+     */
+    ERROR
+}
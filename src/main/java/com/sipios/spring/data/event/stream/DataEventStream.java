@@ -0,0 +1,112 @@
+package com.sipios.spring.data.event.stream;
+
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import jakarta.annotation.PreDestroy;
+import org.springframework.stereotype.Component;
+
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Flow;
+
+/**
+ * Streams the published data events to in-process subscribers, as {@link Flow.Publisher}s of the events of an entity
+ * class and of some event types.
+ * <p>
+ * Events are handed over as they are, with their entity object, right before being broadcast. Each subscriber has its
+ * own bounded buffer holding the events it did not request yet, and its own {@link BufferOverflow} strategy, so that a
+ * slow subscriber never holds back the publication nor the other subscribers. Subscribers are called on virtual threads,
+ * one at a time per subscription.
+ * <p>
+ * Reactor users can turn a publisher into a {@code Flux} with {@code JdkFlowAdapter.flowPublisherToFlux}.
+ */
+@Component
+public class DataEventStream {
+
+    private final List<StreamSubscription> subscriptions = new CopyOnWriteArrayList<>();
+    private final ExecutorService executor = Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name("data-event-stream-", 0).factory());
+    private final DataEventProperties properties;
+
+    public DataEventStream(DataEventProperties properties) {
+        this.properties = properties;
+    }
+
+    /**
+     * Publisher of all the events, buffered and overflowing as configured.
+     */
+    public Flow.Publisher<DataEvent> publisher() {
+        return publisher(Object.class);
+    }
+
+    /**
+     * Publisher of the events of the entities of a class or of its subclasses, of the given types or of all of them,
+     * buffered and overflowing as configured.
+     */
+    public Flow.Publisher<DataEvent> publisher(Class<?> entityClass, DataEventType... types) {
+        return publisher(entityClass, types.length == 0 ? EnumSet.allOf(DataEventType.class) : EnumSet.of(types[0], types),
+                properties.getStreamBufferSize(), properties.getStreamOverflow());
+    }
+
+    /**
+     * Publisher of the events of the entities of a class or of its subclasses and of the given types.
+     *
+     * @param bufferSize maximum number of events held for each subscriber until it requests them
+     * @param overflow   what happens to the events of a subscriber whose buffer is full
+     */
+    public Flow.Publisher<DataEvent> publisher(Class<?> entityClass, Set<DataEventType> types, int bufferSize, BufferOverflow overflow) {
+        if (bufferSize <= 0) {
+            throw new IllegalArgumentException("The buffer size of a data event stream must be positive");
+        }
+        Set<DataEventType> acceptedTypes = EnumSet.copyOf(types);
+        return subscriber -> {
+            StreamSubscription subscription = new StreamSubscription(this, subscriber, entityClass, acceptedTypes, bufferSize, overflow, executor);
+            subscriptions.add(subscription);
+            subscriber.onSubscribe(subscription);
+        };
+    }
+
+    /**
+     * Hands published events over to the subscriptions accepting them.
+     */
+    public void publish(List<DataEvent> events) {
+        if (subscriptions.isEmpty()) {
+            return;
+        }
+        for (StreamSubscription subscription : subscriptions) {
+            for (DataEvent event : events) {
+                if (subscription.accepts(event)) {
+                    subscription.offer(event);
+                }
+            }
+        }
+    }
+
+    public int getSubscriptionCount() {
+        return subscriptions.size();
+    }
+
+    /**
+     * Number of events dropped because the buffer of their subscriber was full, over the current subscriptions.
+     */
+    public long getDroppedEventCount() {
+        return subscriptions.stream().mapToLong(StreamSubscription::getDroppedCount).sum();
+    }
+
+    /**
+     * Completes every subscription once its buffered events are delivered.
+     */
+    @PreDestroy
+    void stop() {
+        subscriptions.forEach(StreamSubscription::complete);
+        executor.close();
+    }
+
+    void remove(StreamSubscription subscription) {
+        subscriptions.remove(subscription);
+    }
+}
@@ -0,0 +1,159 @@
+package com.sipios.spring.data.event.stream;
+
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import org.apache.commons.logging.Log;
+import org.apache.commons.logging.LogFactory;
+
+import java.nio.BufferOverflowException;
+import java.util.ArrayDeque;
+import java.util.Set;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Flow;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Subscription of one subscriber to the events of an entity class, buffering up to a capacity the events it did not
+ * request yet.
+ * <p>
+ * Events are delivered on the executor of the stream, by a single drain task at a time, so that the subscriber is never
+ * called concurrently nor on the publishing thread.
+ */
+final class StreamSubscription implements Flow.Subscription {
+
+    private static final Log logger = LogFactory.getLog(StreamSubscription.class);
+
+    private final DataEventStream stream;
+    private final Flow.Subscriber<? super DataEvent> subscriber;
+    private final Class<?> entityClass;
+    private final Set<DataEventType> types;
+    private final int capacity;
+    private final BufferOverflow overflow;
+    private final Executor executor;
+    private final ArrayDeque<DataEvent> buffer = new ArrayDeque<>();
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicInteger pendingDrains = new AtomicInteger();
+    private final AtomicLong dropped = new AtomicLong();
+    private volatile Throwable failure;
+    private volatile boolean completed;
+    private volatile boolean cancelled;
+
+    StreamSubscription(DataEventStream stream, Flow.Subscriber<? super DataEvent> subscriber, Class<?> entityClass,
+                       Set<DataEventType> types, int capacity, BufferOverflow overflow, Executor executor) {
+        this.stream = stream;
+        this.subscriber = subscriber;
+        this.entityClass = entityClass;
+        this.types = types;
+        this.capacity = capacity;
+        this.overflow = overflow;
+        this.executor = executor;
+    }
+
+    boolean accepts(DataEvent event) {
+        return types.contains(event.type()) && entityClass.isInstance(event.entity());
+    }
+
+    void offer(DataEvent event) {
+        if (cancelled || failure != null) {
+            return;
+        }
+        synchronized (buffer) {
+            if (buffer.size() >= capacity) {
+                dropped.incrementAndGet();
+                switch (overflow) {
+                    case DROP_LATEST -> {
+                        return;
+                    }
+                    case DROP_OLDEST -> buffer.poll();
+                    case ERROR -> {
+                        failure = new BufferOverflowException();
+                        buffer.clear();
+                    }
+                }
+            }
+            if (failure == null) {
+                buffer.offer(event);
+            }
+        }
+        drain();
+    }
+
+    /**
+     * Completes the subscription once the buffered events are delivered.
+     */
+    void complete() {
+        completed = true;
+        drain();
+    }
+
+    long getDroppedCount() {
+        return dropped.get();
+    }
+
+    @Override
+    public void request(long n) {
+        if (n <= 0) {
+            failure = new IllegalArgumentException("Requested " + n + " data events, the request must be positive");
+        } else {
+            requested.accumulateAndGet(n, (current, added) -> current + added < 0 ? Long.MAX_VALUE : current + added);
+        }
+        drain();
+    }
+
+    @Override
+    public void cancel() {
+        cancelled = true;
+        stream.remove(this);
+    }
+
+    private void drain() {
+        if (pendingDrains.getAndIncrement() == 0) {
+            executor.execute(this::deliver);
+        }
+    }
+
+    private void deliver() {
+        int missed = 1;
+        do {
+            long demand = requested.get();
+            long delivered = 0;
+            while (delivered != demand && !cancelled && failure == null) {
+                DataEvent event;
+                synchronized (buffer) {
+                    event = buffer.poll();
+                }
+                if (event == null) {
+                    break;
+                }
+                try {
+                    subscriber.onNext(event);
+                } catch (RuntimeException error) {
+                    logger.error("Cancelled the data event subscription of " + subscriber + " which failed", error);
+                    cancel();
+                    return;
+                }
+                delivered++;
+            }
+            if (delivered != 0 && demand != Long.MAX_VALUE) {
+                requested.addAndGet(-delivered);
+            }
+            if (!cancelled && (failure != null || completed && isEmpty())) {
+                cancel();
+                if (failure != null) {
+                    subscriber.onError(failure);
+                } else {
+                    subscriber.onComplete();
+                }
+                return;
+            }
+            missed = pendingDrains.addAndGet(-missed);
+        } while (missed != 0);
+    }
+
+    private boolean isEmpty() {
+        synchronized (buffer) {
+            return buffer.isEmpty();
+        }
+    }
+}
@@ -1,6 +1,12 @@
 package com.sipios.spring.data.event.broadcaster;
 
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.*;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
@@ -8,12 +14,39 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
+import com.sipios.spring.data.event.annotation.PayloadMode;
+import com.sipios.spring.data.event.annotation.RecordCompression;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.delivery.InFlightLimiter;
+import com.sipios.spring.data.event.delivery.RetryPolicy;
+import com.sipios.spring.data.event.key.IdentifierKeyStrategy;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.model.DataEventRecord;
+import com.sipios.spring.data.event.serializer.EventSerializer;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.errors.RecordTooLargeException;
+import org.apache.kafka.common.errors.TimeoutException;
 import org.hibernate.CallbackException;
+import org.hibernate.persister.entity.EntityPersister;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InOrder;
 import org.junit.jupiter.params.provider.CsvSource;
 import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.support.SendResult;
+
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.stream.IntStream;
 
 public class DataEventBroadcasterTest {
     private DataEventBroadcaster broadcaster;
@@ -25,6 +58,7 @@ public class DataEventBroadcasterTest {
         kafkaTemplate = mock(KafkaTemplate.class);
         objectMapper = new ObjectMapper();
         broadcaster = new DataEventBroadcaster(kafkaTemplate, objectMapper);
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.completedFuture(null));
     }
 
     @ParameterizedTest
@@ -105,6 +139,344 @@ public class DataEventBroadcasterTest {
         assertThrows(CallbackException.class, () -> broadcaster.broadcastEntityDeleted(entity, "testEntity.deleted"));
     }
 
+    @Test
+    void testBroadcastAllFlushesOnce() throws Exception {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.completedFuture(null));
+        TestEntity first = new TestEntity(1, "First", true);
+        TestEntity second = new TestEntity(2, "Second", true);
+
+        broadcaster.broadcastAll(List.of(createEvent(DataEventType.CREATED, first), createEvent(DataEventType.UPDATED, second)));
+
+        verify(kafkaTemplate).send("testentity.created", "1", objectMapper.writeValueAsString(first));
+        verify(kafkaTemplate).send("testentity.updated", "2", objectMapper.writeValueAsString(second));
+        verify(kafkaTemplate, times(1)).flush();
+    }
+
+    @Test
+    void testBroadcastEnvelopesGroupsEventsByTopic() throws Exception {
+        TestEntity first = new TestEntity(1, "First", true);
+        TestEntity second = new TestEntity(2, "Second", true);
+        TestEntity third = new TestEntity(3, "Third", true);
+
+        broadcaster.broadcastEnvelopes(List.of(
+                createEvent(DataEventType.CREATED, first),
+                createEvent(DataEventType.CREATED, second),
+                createEvent(DataEventType.DELETED, third)
+        ));
+
+        verify(kafkaTemplate).send("testentity.created", null, "[" + objectMapper.writeValueAsString(first) + "," + objectMapper.writeValueAsString(second) + "]");
+        verify(kafkaTemplate).send("testentity.deleted", null, "[" + objectMapper.writeValueAsString(third) + "]");
+        verify(kafkaTemplate, times(1)).flush();
+    }
+
+    @Test
+    void testSharedTopicRecordsCarryTheEventType() throws Exception {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        TestEntity entity = new TestEntity(1, "First", true);
+        DataEventMetadata metadata = createMetadata(PayloadMode.FULL).toBuilder()
+                .creationTopic("testentity")
+                .updateTopic("testentity")
+                .deletionTopic("testentity")
+                .typeHeader(true)
+                .build();
+
+        broadcaster.broadcastAll(List.of(new DataEvent(DataEventType.UPDATED, entity, metadata)));
+
+        ArgumentCaptor<ProducerRecord<String, String>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate).send(captor.capture());
+        ProducerRecord<String, String> record = captor.getValue();
+        assertEquals("testentity", record.topic());
+        assertEquals("1", record.key());
+        assertEquals(objectMapper.writeValueAsString(entity), record.value());
+        assertEquals("updated", new String(record.headers().lastHeader(DataEventBroadcaster.EVENT_TYPE_HEADER).value(), StandardCharsets.UTF_8));
+    }
+
+    @Test
+    void testRecordsCarryMetadataHeaders() throws Exception {
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        long fingerprint = broadcaster.getJsonSerializer().getSchemaFingerprint(TestEntity.class);
+        DataEventMetadata metadata = createMetadata(PayloadMode.FULL).toBuilder()
+                .headers(EventHeaders.forEntity(TestEntity.class, fingerprint))
+                .build();
+        DataEventProperties properties = new DataEventProperties();
+        properties.setHeadersInstanceId("instance-1");
+        broadcaster.configureHeaders(properties);
+        TestEntity first = new TestEntity(1, "First", true);
+        TestEntity second = new TestEntity(2, "Second", true);
+
+        broadcaster.broadcastAll(List.of(
+                new DataEvent(DataEventType.CREATED, first, metadata, 1, null, null, null, null),
+                new DataEvent(DataEventType.DELETED, second, metadata, 2, null, null, null, null)));
+
+        ArgumentCaptor<ProducerRecord<String, String>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(kafkaTemplate, times(2)).send(captor.capture());
+        ProducerRecord<String, String> created = captor.getAllValues().get(0);
+        ProducerRecord<String, String> deleted = captor.getAllValues().get(1);
+        assertEquals(objectMapper.writeValueAsString(first), created.value());
+        assertEquals("created", headerText(created, DataEventBroadcaster.EVENT_TYPE_HEADER));
+        assertEquals(TestEntity.class.getName(), headerText(created, EventHeaders.ENTITY_HEADER));
+        assertEquals("1", headerText(created, EventHeaders.ID_HEADER));
+        assertEquals(fingerprint, headerLong(created, EventHeaders.SCHEMA_HEADER));
+        assertEquals("instance-1", headerText(created, EventHeaders.INSTANCE_HEADER));
+        assertEquals("instance-1", headerText(deleted, EventHeaders.INSTANCE_HEADER));
+        assertEquals("deleted", headerText(deleted, DataEventBroadcaster.EVENT_TYPE_HEADER));
+        assertEquals("2", headerText(deleted, EventHeaders.ID_HEADER));
+        assertEquals(headerLong(created, EventHeaders.SEQUENCE_HEADER) + 1, headerLong(deleted, EventHeaders.SEQUENCE_HEADER));
+    }
+
+    @Test
+    void testCompressedRecordsAreSentThroughTheCompressedTemplate() throws Exception {
+        KafkaTemplate<String, byte[]> compressedKafkaTemplate = mock(KafkaTemplate.class);
+        when(compressedKafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        broadcaster.setCompressedKafkaTemplate(RecordCompression.ZSTD, compressedKafkaTemplate);
+        TestEntity entity = new TestEntity(1, "First", true);
+        DataEventMetadata metadata = createMetadata(PayloadMode.FULL).toBuilder()
+                .compression(RecordCompression.ZSTD)
+                .build();
+
+        broadcaster.broadcastAll(List.of(new DataEvent(DataEventType.CREATED, entity, metadata)));
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(compressedKafkaTemplate).send(captor.capture());
+        assertEquals("testentity.created", captor.getValue().topic());
+        assertEquals(objectMapper.writeValueAsString(entity), new String(captor.getValue().value(), StandardCharsets.UTF_8));
+        verify(compressedKafkaTemplate).flush();
+        verify(kafkaTemplate, never()).send(any(String.class), any(), any(String.class));
+    }
+
+    @Test
+    void testReplayedRecordsKeepTheirHeadersAndCompression() throws Exception {
+        KafkaTemplate<String, byte[]> compressedKafkaTemplate = mock(KafkaTemplate.class);
+        when(compressedKafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        broadcaster.setCompressedKafkaTemplate(RecordCompression.ZSTD, compressedKafkaTemplate);
+        DataEventMetadata metadata = createMetadata(PayloadMode.FULL).toBuilder()
+                .headers(EventHeaders.forEntity(TestEntity.class, 0))
+                .compression(RecordCompression.ZSTD)
+                .build();
+
+        DataEventRecord record = broadcaster.serialize(new DataEvent(DataEventType.CREATED, new TestEntity(1, "First", true), metadata, 1, null, null, null, null));
+        broadcaster.replayAll(List.of(record));
+
+        assertEquals(RecordCompression.ZSTD, record.compression());
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(compressedKafkaTemplate).send(captor.capture());
+        assertArrayEquals(record.payload(), captor.getValue().value());
+        assertEquals("1", new String(captor.getValue().headers().lastHeader(EventHeaders.ID_HEADER).value(), StandardCharsets.UTF_8));
+        assertNotNull(captor.getValue().headers().lastHeader(EventHeaders.SEQUENCE_HEADER));
+    }
+
+    @Test
+    void testBroadcastAllSendFailure() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        TestEntity entity = new TestEntity(1, "Test Name", true);
+
+        assertThrows(CallbackException.class, () -> broadcaster.broadcastAll(List.of(createEvent(DataEventType.CREATED, entity))));
+    }
+
+    @Test
+    void testParallelBroadcastAllSendsInOrder() throws Exception {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.completedFuture(null));
+        List<TestEntity> entities = IntStream.range(0, DataEventBroadcaster.PARALLEL_CHUNK_SIZE * 3 + 5)
+                .mapToObj(id -> new TestEntity(id, "Name " + id, true))
+                .toList();
+        ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        try {
+            broadcaster.broadcastAll(entities.stream().map(entity -> createEvent(DataEventType.CREATED, entity)).toList(), executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        InOrder inOrder = inOrder(kafkaTemplate);
+        for (TestEntity entity : entities) {
+            inOrder.verify(kafkaTemplate).send("testentity.created", String.valueOf(entity.getId()), objectMapper.writeValueAsString(entity));
+        }
+        inOrder.verify(kafkaTemplate).flush();
+    }
+
+    @Test
+    void testParallelBroadcastAllSerializationFailure() {
+        DataEvent event = new DataEvent(DataEventType.CREATED, new TestEntity(1, "Test Name", true), createMetadata(PayloadMode.FULL)
+                .toBuilder().serializer(new EventSerializer() {
+                    @Override
+                    public byte[] serialize(DataEvent failingEvent) {
+                        throw new CallbackException("Could not serialize");
+                    }
+
+                    @Override
+                    public boolean isSessionFree() {
+                        return true;
+                    }
+                }).build());
+
+        assertThrows(CallbackException.class, () -> broadcaster.broadcastAll(List.of(event), Runnable::run));
+        verify(kafkaTemplate, never()).send(any(String.class), any(), any(String.class));
+    }
+
+    @Test
+    void testSessionBoundSerializersAreNotRunInParallel() throws Exception {
+        KafkaTemplate<String, byte[]> binaryKafkaTemplate = mock(KafkaTemplate.class);
+        when(binaryKafkaTemplate.send(any(String.class), any(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        broadcaster.setBinaryKafkaTemplate(binaryKafkaTemplate);
+        List<Thread> threads = new CopyOnWriteArrayList<>();
+        DataEventMetadata metadata = createMetadata(PayloadMode.FULL).toBuilder().serializer(serialized -> {
+            threads.add(Thread.currentThread());
+            return new byte[0];
+        }).build();
+        ExecutorService executor = Executors.newFixedThreadPool(2);
+
+        try {
+            broadcaster.broadcastAll(List.of(new DataEvent(DataEventType.CREATED, new TestEntity(1, "First", true), metadata),
+                    new DataEvent(DataEventType.CREATED, new TestEntity(2, "Second", true), metadata)), executor);
+        } finally {
+            executor.shutdown();
+        }
+
+        assertEquals(List.of(Thread.currentThread(), Thread.currentThread()), threads);
+        assertTrue(broadcaster.getJsonSerializer().isSessionFree());
+    }
+
+    @Test
+    void testRetriableSendFailureIsRetried() throws Exception {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("delivery timeout")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        broadcaster.setRetryPolicy(new RetryPolicy(3, 1, 2, 10));
+        TestEntity entity = new TestEntity(1, "Test Name", true);
+
+        broadcaster.broadcastAll(List.of(createEvent(DataEventType.CREATED, entity)));
+
+        verify(kafkaTemplate, times(2)).send("testentity.created", "1", objectMapper.writeValueAsString(entity));
+    }
+
+    @Test
+    void testNonRetriableSendFailureIsNotRetried() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.failedFuture(new RecordTooLargeException("too large")));
+        broadcaster.setRetryPolicy(new RetryPolicy(3, 1, 2, 10));
+
+        assertThrows(CallbackException.class, () -> broadcaster.broadcastAll(List.of(createEvent(DataEventType.CREATED, new TestEntity(1, "Test Name", true)))));
+        verify(kafkaTemplate, times(1)).send(any(String.class), any(), any(String.class));
+    }
+
+    @Test
+    void testExhaustedSendFailureIsHandled() {
+        IllegalStateException error = new IllegalStateException("broker down");
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.failedFuture(error));
+        List<DataEventRecord> handled = new CopyOnWriteArrayList<>();
+        List<Throwable> errors = new CopyOnWriteArrayList<>();
+        broadcaster.setSendFailureHandler((record, sendError) -> {
+            handled.add(record);
+            errors.add(sendError);
+            return CompletableFuture.completedFuture(null);
+        });
+
+        broadcaster.broadcastAll(List.of(createEvent(DataEventType.CREATED, new TestEntity(1, "Test Name", true))));
+
+        assertEquals(1, handled.size());
+        assertEquals("testentity.created", handled.get(0).topic());
+        assertEquals("1", handled.get(0).key());
+        assertEquals("{\"id\":1,\"name\":\"Test Name\",\"active\":true}", new String(handled.get(0).payload(), StandardCharsets.UTF_8));
+        assertSame(error, errors.get(0));
+    }
+
+    @Test
+    void testSynchronousSendErrorIsRaised() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenThrow(new IllegalStateException("buffer full"));
+
+        assertThrows(IllegalStateException.class, () -> broadcaster.broadcast(createEvent(DataEventType.CREATED, new TestEntity(1, "Test Name", true))));
+    }
+
+    @Test
+    void testInFlightLimitAppliesBackpressure() {
+        CompletableFuture<SendResult<String, String>> pending = new CompletableFuture<>();
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(pending);
+        InFlightLimiter limiter = new InFlightLimiter(1, 10);
+        broadcaster.setInFlightLimiter(limiter);
+
+        broadcaster.broadcast(createEvent(DataEventType.CREATED, new TestEntity(1, "First", true)));
+        assertThrows(CallbackException.class, () -> broadcaster.broadcast(createEvent(DataEventType.CREATED, new TestEntity(2, "Second", true))));
+        assertEquals(1, limiter.getInFlightCount());
+        pending.complete(null);
+        broadcaster.broadcast(createEvent(DataEventType.CREATED, new TestEntity(3, "Third", true)));
+
+        verify(kafkaTemplate, times(2)).send(any(String.class), any(), any(String.class));
+    }
+
+    @Test
+    void testInFlightLimitIsPerTopic() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(new CompletableFuture<>());
+        InFlightLimiter limiter = new InFlightLimiter(1, 10);
+        broadcaster.setInFlightLimiter(limiter);
+
+        broadcaster.broadcast(createEvent(DataEventType.CREATED, new TestEntity(1, "First", true)));
+        broadcaster.broadcast(createEvent(DataEventType.DELETED, new TestEntity(1, "First", true)));
+
+        assertEquals(2, limiter.getInFlightCount());
+    }
+
+    @Test
+    void testBroadcastDeltaUpdate() {
+        TestEntity entity = new TestEntity(1, "New Name", true);
+        DataEvent event = createUpdateEvent(entity, PayloadMode.DELTA);
+
+        broadcaster.broadcast(event);
+
+        verify(kafkaTemplate).send("testentity.updated", "1", "{\"id\":1,\"changes\":{\"name\":\"New Name\"}}");
+    }
+
+    @Test
+    void testBroadcastDeltaWithOldUpdate() {
+        TestEntity entity = new TestEntity(1, "New Name", true);
+        DataEvent event = createUpdateEvent(entity, PayloadMode.DELTA_WITH_OLD);
+
+        broadcaster.broadcast(event);
+
+        verify(kafkaTemplate).send("testentity.updated", "1", "{\"id\":1,\"changes\":{\"name\":\"New Name\"},\"previous\":{\"name\":\"Old Name\"}}");
+    }
+
+    @Test
+    void testBroadcastDeltaUpdateWithoutDirtyPropertiesSendsWholeEntity() throws Exception {
+        TestEntity entity = new TestEntity(1, "New Name", true);
+        DataEvent event = new DataEvent(DataEventType.UPDATED, entity, createMetadata(PayloadMode.DELTA));
+
+        broadcaster.broadcast(event);
+
+        verify(kafkaTemplate).send("testentity.updated", "1", objectMapper.writeValueAsString(entity));
+    }
+
+    private static String headerText(ProducerRecord<?, ?> record, String key) {
+        return new String(record.headers().lastHeader(key).value(), StandardCharsets.UTF_8);
+    }
+
+    private static long headerLong(ProducerRecord<?, ?> record, String key) {
+        return ByteBuffer.wrap(record.headers().lastHeader(key).value()).getLong();
+    }
+
+    private DataEvent createUpdateEvent(TestEntity entity, PayloadMode payload) {
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getPropertyNames()).thenReturn(new String[]{"active", "name"});
+        when(persister.getIdentifierPropertyName()).thenReturn("id");
+        return new DataEvent(DataEventType.UPDATED, entity, createMetadata(payload), entity.getId(), persister,
+                new Object[]{entity.isActive(), entity.getName()}, new Object[]{entity.isActive(), "Old Name"}, new int[]{1});
+    }
+
+    private DataEvent createEvent(DataEventType eventType, TestEntity entity) {
+        return new DataEvent(eventType, entity, createMetadata(PayloadMode.FULL));
+    }
+
+    private DataEventMetadata createMetadata(PayloadMode payload) {
+        return DataEventMetadata.builder()
+                .entityClass(TestEntity.class)
+                .enabled(true)
+                .creationTopic(DataEventType.CREATED.getDefaultTopic(TestEntity.class))
+                .updateTopic(DataEventType.UPDATED.getDefaultTopic(TestEntity.class))
+                .deletionTopic(DataEventType.DELETED.getDefaultTopic(TestEntity.class))
+                .serializer(broadcaster.getJsonSerializer())
+                .payload(payload)
+                .keyStrategy(IdentifierKeyStrategy.forEntity(TestEntity.class, null))
+                .build();
+    }
+
     @Getter
     @Setter
     @AllArgsConstructor
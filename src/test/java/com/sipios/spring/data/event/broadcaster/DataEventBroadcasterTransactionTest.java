@@ -0,0 +1,134 @@
+package com.sipios.spring.data.event.broadcaster;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.kafka.clients.consumer.Consumer;
+import org.apache.kafka.clients.consumer.ConsumerConfig;
+import org.apache.kafka.clients.consumer.ConsumerRecord;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringDeserializer;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.hibernate.CallbackException;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.kafka.core.DefaultKafkaConsumerFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class DataEventBroadcasterTransactionTest {
+
+    private static EmbeddedKafkaBroker broker;
+    private DataEventBroadcaster broadcaster;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 1, "transaction.committed", "transaction.aborted", "transaction.concurrent")
+                .brokerProperties(Map.of(
+                        "transaction.state.log.replication.factor", "1",
+                        "transaction.state.log.min.isr", "1"));
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        Map<String, Object> producerProperties = KafkaTestUtils.producerProps(broker);
+        producerProperties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        producerProperties.put(ProducerConfig.MAX_REQUEST_SIZE_CONFIG, 10_000);
+        broadcaster = new DataEventBroadcaster(new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProperties)), new ObjectMapper());
+        DataEventProperties properties = new DataEventProperties();
+        properties.setTransactionalEnabled(true);
+        broadcaster.configureTransactions(properties);
+    }
+
+    @Test
+    void testCommittedTransactionIsVisibleToReadCommittedConsumers() {
+        broadcaster.broadcastTransaction(List.of(
+                createEvent("transaction.committed", "first"),
+                createEvent("transaction.committed", "second")), null);
+
+        assertEquals(List.of("{\"id\":1,\"name\":\"first\"}", "{\"id\":1,\"name\":\"second\"}"),
+                readValues("transaction.committed", "read_committed", 2));
+    }
+
+    @Test
+    void testFailedRecordAbortsTheWholeTransaction() {
+        List<DataEvent> events = List.of(
+                createEvent("transaction.aborted", "small"),
+                createEvent("transaction.aborted", "x".repeat(20_000)));
+
+        assertThrows(CallbackException.class, () -> broadcaster.broadcastTransaction(events, null));
+
+        assertEquals(List.of("{\"id\":1,\"name\":\"small\"}"), readValues("transaction.aborted", "read_uncommitted", 1));
+        assertTrue(readValues("transaction.aborted", "read_committed", 0).isEmpty());
+    }
+
+    @Test
+    void testConcurrentTransactions() {
+        List<CompletableFuture<Void>> transactions = IntStream.range(0, 4)
+                .mapToObj(transaction -> CompletableFuture.runAsync(() -> broadcaster.broadcastTransaction(
+                        IntStream.range(0, 10).mapToObj(i -> createEvent("transaction.concurrent", transaction + "-" + i)).toList(), null)))
+                .toList();
+        CompletableFuture.allOf(transactions.toArray(CompletableFuture[]::new)).join();
+
+        assertEquals(40, readValues("transaction.concurrent", "read_committed", 40).size());
+    }
+
+    private static List<String> readValues(String topic, String isolationLevel, int expectedCount) {
+        Map<String, Object> consumerProperties = KafkaTestUtils.consumerProps(topic + "-" + isolationLevel, "false", broker);
+        consumerProperties.put(ConsumerConfig.ISOLATION_LEVEL_CONFIG, isolationLevel);
+        consumerProperties.put(ConsumerConfig.AUTO_OFFSET_RESET_CONFIG, "earliest");
+        List<String> values = new ArrayList<>();
+        try (Consumer<String, String> consumer = new DefaultKafkaConsumerFactory<>(consumerProperties, new StringDeserializer(), new StringDeserializer()).createConsumer()) {
+            broker.consumeFromAnEmbeddedTopic(consumer, topic);
+            long deadline = System.currentTimeMillis() + (expectedCount > 0 ? 10_000 : 2_000);
+            while ((expectedCount == 0 || values.size() < expectedCount) && System.currentTimeMillis() < deadline) {
+                for (ConsumerRecord<String, String> record : consumer.poll(Duration.ofMillis(200))) {
+                    values.add(record.value());
+                }
+            }
+        }
+        return values;
+    }
+
+    private static DataEvent createEvent(String topic, String name) {
+        DataEventMetadata metadata = DataEventMetadata.builder()
+                .entityClass(TestEntity.class)
+                .enabled(true)
+                .creationTopic(topic)
+                .build();
+        return new DataEvent(DataEventType.CREATED, new TestEntity(1, name), metadata);
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class TestEntity {
+        private int id;
+        private String name;
+    }
+}
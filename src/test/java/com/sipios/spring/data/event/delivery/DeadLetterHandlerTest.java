@@ -0,0 +1,99 @@
+package com.sipios.spring.data.event.delivery;
+
+import com.sipios.spring.data.event.model.DataEventRecord;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class DeadLetterHandlerTest {
+
+    private static final byte[] PAYLOAD = "{\"id\":1}".getBytes(StandardCharsets.UTF_8);
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testDeadLetterTopicHandlerSendsToSuffixedTopic() {
+        KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send("entity.created.dlt", "1", PAYLOAD)).thenReturn(CompletableFuture.completedFuture(null));
+
+        CompletableFuture<?> handled = new DeadLetterTopicHandler(kafkaTemplate, ".dlt")
+                .handle(new DataEventRecord("entity.created", "1", PAYLOAD), new IllegalStateException("broker down"));
+
+        assertTrue(handled.isDone() && !handled.isCompletedExceptionally());
+        verify(kafkaTemplate).send("entity.created.dlt", "1", PAYLOAD);
+    }
+
+    @Test
+    void testDeadLetterTopicHandlerKeepsHeaders() {
+        KafkaTemplate<String, byte[]> kafkaTemplate = mock(KafkaTemplate.class);
+        when(kafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        List<Header> headers = List.of(new RecordHeader("data-event-type", "created".getBytes(StandardCharsets.UTF_8)));
+
+        new DeadLetterTopicHandler(kafkaTemplate, ".dlt")
+                .handle(new DataEventRecord("entity", "1", PAYLOAD, headers, null), new IllegalStateException("broker down")).join();
+
+        verify(kafkaTemplate).send(new ProducerRecord<>("entity.dlt", null, "1", PAYLOAD, headers));
+    }
+
+    @Test
+    void testDeadLetterFileHandlerAppendsRecordsPerTopic() throws Exception {
+        DeadLetterFileHandler handler = new DeadLetterFileHandler(directory.resolve("dead-letters"));
+
+        handler.handle(new DataEventRecord("entity.created", "1", PAYLOAD), new IllegalStateException("broker down")).join();
+        handler.handle(new DataEventRecord("entity.created", null, PAYLOAD), new IllegalStateException("broker down")).join();
+        DataEventRecord withHeaders = new DataEventRecord("entity.created", "2", PAYLOAD,
+                List.of(new RecordHeader("data-event-type", "created".getBytes(StandardCharsets.UTF_8))), null);
+        handler.handle(withHeaders, new IllegalStateException("broker down")).join();
+
+        Base64.Encoder encoder = Base64.getEncoder();
+        List<String> lines = Files.readAllLines(directory.resolve("dead-letters").resolve("entity.created.dlq"));
+        assertEquals(List.of(
+                encoder.encodeToString("1".getBytes(StandardCharsets.UTF_8)) + " " + encoder.encodeToString(PAYLOAD),
+                "- " + encoder.encodeToString(PAYLOAD),
+                encoder.encodeToString("2".getBytes(StandardCharsets.UTF_8)) + " " + encoder.encodeToString(PAYLOAD) + " " + encoder.encodeToString(withHeaders.encodeHeaders())
+        ), lines);
+        assertEquals(withHeaders.headers(), DataEventRecord.decodeHeaders(Base64.getDecoder().decode(lines.get(2).split(" ")[2])));
+    }
+
+    @Test
+    void testDeadLetterFileHandlerEncodesIllegalTopicsInFileNames() throws Exception {
+        Path deadLetters = directory.resolve("dead-letters");
+        DeadLetterFileHandler handler = new DeadLetterFileHandler(deadLetters);
+
+        handler.handle(new DataEventRecord("orders.../../x", "1", PAYLOAD), new IllegalStateException("invalid topic")).join();
+
+        try (Stream<Path> files = Files.list(directory)) {
+            assertEquals(List.of(deadLetters), files.toList());
+        }
+        assertTrue(Files.exists(deadLetters.resolve("orders...%2F..%2Fx.dlq")));
+    }
+
+    @Test
+    void testDeadLetterFileHandlerRaisesWriteFailures() throws Exception {
+        Path file = Files.createFile(directory.resolve("not-a-directory"));
+
+        CompletableFuture<?> handled = new DeadLetterFileHandler(file)
+                .handle(new DataEventRecord("entity.created", "1", PAYLOAD), new IllegalStateException("broker down"));
+
+        assertTrue(handled.isCompletedExceptionally());
+    }
+}
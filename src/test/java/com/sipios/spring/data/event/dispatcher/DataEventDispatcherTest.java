@@ -0,0 +1,361 @@
+package com.sipios.spring.data.event.dispatcher;
+
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.metrics.DataEventMetrics;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.model.DataEventRecord;
+import com.sipios.spring.data.event.sink.DataEventSink;
+import com.sipios.spring.data.event.sink.SinkEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class DataEventDispatcherTest {
+
+    private DataEventBroadcaster dataEventBroadcaster;
+    private DataEventProperties properties;
+    private DataEventDispatcher dispatcher;
+
+    @BeforeEach
+    void beforeEach() {
+        dataEventBroadcaster = mock(DataEventBroadcaster.class);
+        properties = new DataEventProperties();
+    }
+
+    @AfterEach
+    void afterEach() {
+        dispatcher.stop();
+    }
+
+    @Test
+    void testSynchronousDispatchBroadcastsOnCallingThread() {
+        startDispatcher();
+        DataEvent event = createEvent();
+
+        dispatcher.dispatch(event);
+
+        verify(dataEventBroadcaster).broadcast(event);
+    }
+
+    @Test
+    void testAsynchronousDispatchBroadcastsOnDispatcherThread() throws Exception {
+        properties.setAsyncEnabled(true);
+        startDispatcher();
+        DataEvent event = createEvent();
+        CountDownLatch latch = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        doAnswer(invocation -> {
+            if (Thread.currentThread() != caller) {
+                latch.countDown();
+            }
+            return null;
+        }).when(dataEventBroadcaster).broadcast(event);
+
+        dispatcher.dispatch(event);
+
+        assertTrue(latch.await(5, TimeUnit.SECONDS));
+    }
+
+    @Test
+    void testDropOverflowPolicyCountsDroppedEvents() throws Exception {
+        properties.setAsyncEnabled(true);
+        properties.setAsyncQueueCapacity(1);
+        properties.setAsyncOverflowPolicy(OverflowPolicy.DROP);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        doAnswer(invocation -> {
+            blocked.countDown();
+            release.await();
+            return null;
+        }).when(dataEventBroadcaster).broadcast(any());
+        startDispatcher();
+
+        dispatcher.dispatch(createEvent());
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(createEvent());
+        dispatcher.dispatch(createEvent());
+        release.countDown();
+
+        assertEquals(1, dispatcher.getDroppedEventCount());
+    }
+
+    @Test
+    void testSynchronousOverflowPolicyBroadcastsOnCallingThread() throws Exception {
+        properties.setAsyncEnabled(true);
+        properties.setAsyncQueueCapacity(1);
+        properties.setAsyncOverflowPolicy(OverflowPolicy.SYNCHRONOUS);
+        CountDownLatch blocked = new CountDownLatch(1);
+        CountDownLatch release = new CountDownLatch(1);
+        Thread caller = Thread.currentThread();
+        doAnswer(invocation -> {
+            if (Thread.currentThread() != caller) {
+                blocked.countDown();
+                release.await();
+            }
+            return null;
+        }).when(dataEventBroadcaster).broadcast(any());
+        startDispatcher();
+        DataEvent overflowingEvent = createEvent();
+
+        dispatcher.dispatch(createEvent());
+        assertTrue(blocked.await(5, TimeUnit.SECONDS));
+        dispatcher.dispatch(createEvent());
+        dispatcher.dispatch(overflowingEvent);
+
+        verify(dataEventBroadcaster).broadcast(overflowingEvent);
+        release.countDown();
+    }
+
+    @Test
+    void testStopDrainsPendingEvents() {
+        properties.setAsyncEnabled(true);
+        startDispatcher();
+
+        for (int i = 0; i < 100; i++) {
+            dispatcher.dispatch(createEvent());
+        }
+        dispatcher.stop();
+
+        verify(dataEventBroadcaster, times(100)).broadcast(any());
+        assertEquals(0, dispatcher.getQueueSize());
+    }
+
+    @Test
+    void testBatchingPublishesTransactionEventsAfterCommit() {
+        properties.setBatchEnabled(true);
+        startDispatcher();
+        DataEvent first = createEvent();
+        DataEvent second = createEvent();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            dispatcher.dispatch(first);
+            dispatcher.dispatch(second);
+            verifyNoInteractions(dataEventBroadcaster);
+
+            List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+            synchronizations.forEach(TransactionSynchronization::afterCommit);
+            synchronizations.forEach(synchronization -> synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED));
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+        }
+
+        verify(dataEventBroadcaster).broadcastAll(List.of(first, second));
+        assertTrue(TransactionSynchronizationManager.getResourceMap().isEmpty());
+    }
+
+    @Test
+    void testBatchingWithEnvelope() {
+        properties.setBatchEnabled(true);
+        properties.setBatchEnvelope(true);
+        startDispatcher();
+        DataEvent event = createEvent();
+
+        dispatcher.dispatch(event);
+
+        verify(dataEventBroadcaster).broadcastEnvelopes(List.of(event));
+    }
+
+    @Test
+    void testBatchingWithoutTransactionPublishesImmediately() {
+        properties.setBatchEnabled(true);
+        startDispatcher();
+        DataEvent event = createEvent();
+
+        dispatcher.dispatch(event);
+
+        verify(dataEventBroadcaster).broadcastAll(List.of(event));
+    }
+
+    @Test
+    void testTransactionalModePublishesTransactionEventsInOneKafkaTransaction() {
+        properties.setTransactionalEnabled(true);
+        startDispatcher();
+        DataEvent first = createEvent();
+        DataEvent second = createEvent();
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            dispatcher.dispatch(first);
+            dispatcher.dispatch(second);
+            verifyNoInteractions(dataEventBroadcaster);
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.unbindResourceIfPossible(dispatcher);
+        }
+
+        verify(dataEventBroadcaster).broadcastTransaction(List.of(first, second), null);
+        verifyNoMoreInteractions(dataEventBroadcaster);
+    }
+
+    @Test
+    void testConflationMergesTransactionEvents() {
+        properties.setConflationEnabled(true);
+        startDispatcher();
+        DataEvent created = createEvent(DataEventType.CREATED, 1);
+        DataEvent other = createEvent(DataEventType.CREATED, 2);
+
+        TransactionSynchronizationManager.initSynchronization();
+        try {
+            dispatcher.dispatch(created);
+            dispatcher.dispatch(other);
+            dispatcher.dispatch(createEvent(DataEventType.UPDATED, 1));
+            dispatcher.dispatch(createEvent(DataEventType.DELETED, 2));
+            TransactionSynchronizationManager.getSynchronizations().forEach(TransactionSynchronization::afterCommit);
+        } finally {
+            TransactionSynchronizationManager.clearSynchronization();
+            TransactionSynchronizationManager.unbindResourceIfPossible(dispatcher);
+        }
+
+        verify(dataEventBroadcaster).broadcast(argThat(event -> event.type() == DataEventType.CREATED && event.id().equals(1)));
+        verifyNoMoreInteractions(dataEventBroadcaster);
+    }
+
+    @Test
+    void testConflationWindowInAsynchronousMode() {
+        properties.setAsyncEnabled(true);
+        properties.setConflationEnabled(true);
+        properties.setConflationWindowMs(200);
+        startDispatcher();
+
+        dispatcher.dispatch(createEvent(DataEventType.UPDATED, 1));
+        dispatcher.dispatch(createEvent(DataEventType.UPDATED, 1));
+        dispatcher.dispatch(createEvent(DataEventType.UPDATED, 1));
+        dispatcher.stop();
+
+        verify(dataEventBroadcaster).broadcast(argThat(event -> event.type() == DataEventType.UPDATED));
+        verifyNoMoreInteractions(dataEventBroadcaster);
+    }
+
+    @Test
+    void testConflationWindowRequiresASingleDispatcherThread() {
+        properties.setAsyncEnabled(true);
+        properties.setAsyncDispatcherThreads(2);
+        properties.setConflationEnabled(true);
+        properties.setConflationWindowMs(200);
+
+        assertThrows(IllegalStateException.class, this::startDispatcher);
+    }
+
+    @Test
+    void testLargeBatchesAreSerializedInParallel() {
+        properties.setBatchEnabled(true);
+        properties.setSerializationParallelEnabled(true);
+        properties.setSerializationParallelThreshold(2);
+        startDispatcher();
+        DataEvent first = createEvent();
+        DataEvent second = createEvent();
+
+        dispatcher.dispatchAll(List.of(first));
+        dispatcher.dispatchAll(List.of(first, second));
+
+        verify(dataEventBroadcaster).broadcastAll(List.of(first));
+        verify(dataEventBroadcaster).broadcastAll(eq(List.of(first, second)), any(Executor.class));
+    }
+
+    @Test
+    void testHeldUpdatesAreBroadcastOnStop() {
+        startDispatcher();
+        DataEventMetadata metadata = DataEventMetadata.builder()
+                .entityClass(Object.class)
+                .enabled(true)
+                .publication(PublicationPolicy.snapshot(60_000))
+                .build();
+        DataEvent first = new DataEvent(DataEventType.UPDATED, new Object(), metadata, 1, null, new Object[]{"b"}, new Object[]{"a"}, new int[]{0});
+        DataEvent second = new DataEvent(DataEventType.UPDATED, new Object(), metadata, 1, null, new Object[]{"c"}, new Object[]{"b"}, new int[]{0});
+
+        dispatcher.dispatch(first);
+        dispatcher.dispatch(second);
+        verifyNoInteractions(dataEventBroadcaster);
+        dispatcher.stop();
+
+        verify(dataEventBroadcaster).broadcast(argThat(event -> event.state()[0].equals("c") && event.oldState()[0].equals("a")));
+    }
+
+    @Test
+    void testEventsAreSerializedOnceForAllTheirSinks() {
+        startDispatcher();
+        DataEventSink first = mock(DataEventSink.class);
+        DataEventSink second = mock(DataEventSink.class);
+        doAnswer(invocation -> {
+            invocation.<List<SinkEvent>>getArgument(0).forEach(SinkEvent::record);
+            return null;
+        }).when(first).publish(any());
+        doAnswer(invocation -> {
+            invocation.<List<SinkEvent>>getArgument(0).forEach(SinkEvent::record);
+            return null;
+        }).when(second).publish(any());
+        DataEventMetadata metadata = DataEventMetadata.builder()
+                .entityClass(Object.class)
+                .enabled(true)
+                .sinks(List.of(first, second))
+                .build();
+        DataEvent sunk = new DataEvent(DataEventType.CREATED, new Object(), metadata);
+        DataEvent broadcast = createEvent();
+        when(dataEventBroadcaster.serialize(sunk)).thenReturn(new DataEventRecord("object.created", null, new byte[0]));
+
+        dispatcher.dispatch(sunk);
+        dispatcher.dispatch(broadcast);
+
+        verify(first).publish(argThat(events -> events.size() == 1 && events.get(0).event() == sunk));
+        verify(second).publish(argThat(events -> events.size() == 1 && events.get(0).event() == sunk));
+        verify(dataEventBroadcaster, times(1)).serialize(sunk);
+        verify(dataEventBroadcaster).broadcast(broadcast);
+        verify(dataEventBroadcaster, never()).broadcast(sunk);
+    }
+
+    @Test
+    void testFailingSinkDoesNotPreventOtherSinks() {
+        startDispatcher();
+        DataEventSink failing = mock(DataEventSink.class);
+        DataEventSink other = mock(DataEventSink.class);
+        doThrow(new IllegalStateException("disk full")).when(failing).publish(any());
+        DataEventMetadata metadata = DataEventMetadata.builder()
+                .entityClass(Object.class)
+                .enabled(true)
+                .sinks(List.of(failing, other))
+                .build();
+
+        assertThrows(IllegalStateException.class, () -> dispatcher.dispatch(new DataEvent(DataEventType.CREATED, new Object(), metadata)));
+
+        verify(other).publish(any());
+    }
+
+    private void startDispatcher() {
+        dispatcher = new DataEventDispatcher(dataEventBroadcaster, properties, DataEventMetrics.NOOP);
+        dispatcher.start();
+    }
+
+    private static DataEvent createEvent() {
+        DataEventMetadata metadata = DataEventMetadata.builder()
+                .entityClass(Object.class)
+                .enabled(true)
+                .creationTopic("object.created")
+                .build();
+        return new DataEvent(DataEventType.CREATED, new Object(), metadata);
+    }
+
+    private static DataEvent createEvent(DataEventType type, int id) {
+        DataEventMetadata metadata = DataEventMetadata.builder()
+                .entityClass(Object.class)
+                .enabled(true)
+                .build();
+        return new DataEvent(type, new Object(), metadata, id, null, new Object[0], new Object[0], new int[0]);
+    }
+}
@@ -0,0 +1,96 @@
+package com.sipios.spring.data.event.dispatcher;
+
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class EventConflaterTest {
+
+    private static final DataEventMetadata METADATA = DataEventMetadata.builder()
+            .entityClass(String.class)
+            .enabled(true)
+            .build();
+
+    @Test
+    void testCreationThenUpdatesIsCreationOfFinalState() {
+        DataEvent created = event(DataEventType.CREATED, 1, new Object[]{"a"}, null, null);
+        DataEvent updated = event(DataEventType.UPDATED, 1, new Object[]{"b"}, new Object[]{"a"}, new int[]{0});
+
+        List<DataEvent> conflated = EventConflater.conflate(List.of(created, updated));
+
+        assertEquals(1, conflated.size());
+        assertEquals(DataEventType.CREATED, conflated.get(0).type());
+        assertArrayEquals(new Object[]{"b"}, conflated.get(0).state());
+        assertNull(conflated.get(0).oldState());
+    }
+
+    @Test
+    void testSuccessiveUpdatesAreMerged() {
+        DataEvent first = event(DataEventType.UPDATED, 1, new Object[]{"b", 1}, new Object[]{"a", 1}, new int[]{0});
+        DataEvent second = event(DataEventType.UPDATED, 1, new Object[]{"c", 2}, new Object[]{"b", 1}, new int[]{1, 0});
+
+        List<DataEvent> conflated = EventConflater.conflate(List.of(first, second));
+
+        assertEquals(1, conflated.size());
+        DataEvent merged = conflated.get(0);
+        assertEquals(DataEventType.UPDATED, merged.type());
+        assertArrayEquals(new Object[]{"c", 2}, merged.state());
+        assertArrayEquals(new Object[]{"a", 1}, merged.oldState());
+        assertArrayEquals(new int[]{0, 1}, merged.dirtyProperties());
+    }
+
+    @Test
+    void testUpdateThenDeletionIsDeletion() {
+        DataEvent updated = event(DataEventType.UPDATED, 1, new Object[]{"b"}, new Object[]{"a"}, new int[]{0});
+        DataEvent deleted = event(DataEventType.DELETED, 1, new Object[]{"b"}, null, null);
+
+        assertEquals(List.of(deleted), EventConflater.conflate(List.of(updated, deleted)));
+    }
+
+    @Test
+    void testCreationThenDeletionIsNothing() {
+        DataEvent created = event(DataEventType.CREATED, 1, new Object[]{"a"}, null, null);
+        DataEvent updated = event(DataEventType.UPDATED, 1, new Object[]{"b"}, new Object[]{"a"}, new int[]{0});
+        DataEvent deleted = event(DataEventType.DELETED, 1, new Object[]{"b"}, null, null);
+
+        assertTrue(EventConflater.conflate(List.of(created, updated, deleted)).isEmpty());
+    }
+
+    @Test
+    void testDeletionThenCreationIsKept() {
+        DataEvent deleted = event(DataEventType.DELETED, 1, new Object[]{"a"}, null, null);
+        DataEvent created = event(DataEventType.CREATED, 1, new Object[]{"b"}, null, null);
+
+        assertEquals(List.of(deleted, created), EventConflater.conflate(List.of(deleted, created)));
+    }
+
+    @Test
+    void testMergedEventKeepsPositionOfFirstEvent() {
+        DataEvent first = event(DataEventType.CREATED, 1, new Object[]{"a"}, null, null);
+        DataEvent other = event(DataEventType.CREATED, 2, new Object[]{"x"}, null, null);
+        DataEvent update = event(DataEventType.UPDATED, 1, new Object[]{"b"}, new Object[]{"a"}, new int[]{0});
+
+        List<DataEvent> conflated = EventConflater.conflate(List.of(first, other, update));
+
+        assertEquals(2, conflated.size());
+        assertEquals(1, conflated.get(0).id());
+        assertEquals(other, conflated.get(1));
+    }
+
+    @Test
+    void testEventsWithoutIdAreKept() {
+        DataEvent first = new DataEvent(DataEventType.UPDATED, "a", METADATA);
+        DataEvent second = new DataEvent(DataEventType.UPDATED, "a", METADATA);
+
+        assertEquals(List.of(first, second), EventConflater.conflate(List.of(first, second)));
+    }
+
+    private static DataEvent event(DataEventType type, Object id, Object[] state, Object[] oldState, int[] dirtyProperties) {
+        return new DataEvent(type, "entity-" + id, METADATA, id, null, state, oldState, dirtyProperties);
+    }
+}
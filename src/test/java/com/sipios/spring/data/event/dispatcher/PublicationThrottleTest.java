@@ -0,0 +1,231 @@
+package com.sipios.spring.data.event.dispatcher;
+
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class PublicationThrottleTest {
+
+    private final BlockingQueue<List<DataEvent>> released = new LinkedBlockingQueue<>();
+    private final PublicationThrottle throttle = new PublicationThrottle(released::add);
+
+    @AfterEach
+    void afterEach() {
+        throttle.stop();
+    }
+
+    @Test
+    void testEventsWithoutPolicyAreNotHeld() {
+        DataEvent event = update(metadata(null), 1, "a", "b", 0);
+
+        assertSame(event, throttle.offer(event));
+    }
+
+    @Test
+    void testRateLimitedChangesAreMergedIntoTheNextEvent() throws Exception {
+        DataEventMetadata metadata = metadata(PublicationPolicy.rateLimited(10));
+        DataEvent first = update(metadata, 1, "a", "b", 0);
+
+        assertSame(first, throttle.offer(first));
+        assertNull(throttle.offer(update(metadata, 1, "b", "c", 0)));
+        assertNull(throttle.offer(update(metadata, 1, "c", "d", 1)));
+        assertNotNull(throttle.offer(update(metadata, 2, "x", "y", 0)));
+
+        List<DataEvent> events = released.poll(5, TimeUnit.SECONDS);
+        assertNotNull(events);
+        assertEquals(1, events.size());
+        DataEvent merged = events.get(0);
+        assertEquals(1, merged.id());
+        assertArrayEquals(new Object[]{"d", "d"}, merged.state());
+        assertArrayEquals(new Object[]{"b", "b"}, merged.oldState());
+        assertArrayEquals(new int[]{0, 1}, merged.dirtyProperties());
+    }
+
+    @Test
+    void testSampledChangesArePublishedEveryNthChange() {
+        DataEventMetadata metadata = metadata(PublicationPolicy.sampled(3, 60_000));
+
+        assertNull(throttle.offer(update(metadata, 1, "a", "b", 0)));
+        assertNull(throttle.offer(update(metadata, 1, "b", "c", 0)));
+        DataEvent third = throttle.offer(update(metadata, 1, "c", "d", 0));
+        assertNull(throttle.offer(update(metadata, 1, "d", "e", 0)));
+
+        assertNotNull(third);
+        assertArrayEquals(new Object[]{"d", "d"}, third.state());
+        assertArrayEquals(new Object[]{"a", "a"}, third.oldState());
+        assertEquals(1, throttle.getHeldCount());
+    }
+
+    @Test
+    void testSampledChangesOfIdleEntitiesArePublished() throws Exception {
+        DataEventMetadata metadata = metadata(PublicationPolicy.sampled(100, 50));
+
+        assertNull(throttle.offer(update(metadata, 1, "a", "b", 0)));
+
+        List<DataEvent> events = released.poll(5, TimeUnit.SECONDS);
+        assertNotNull(events);
+        assertEquals(1, events.size());
+        assertEquals(0, throttle.getHeldCount());
+    }
+
+    @Test
+    void testSnapshotPublishesTheLatestStateOfEachChangedEntity() throws Exception {
+        DataEventMetadata metadata = metadata(PublicationPolicy.snapshot(50));
+
+        for (int i = 0; i < 10; i++) {
+            assertNull(throttle.offer(update(metadata, 1, "a" + i, "a" + (i + 1), 0)));
+            assertNull(throttle.offer(update(metadata, 2, "b" + i, "b" + (i + 1), 0)));
+        }
+
+        List<DataEvent> events = new ArrayList<>();
+        while (events.size() < 2) {
+            List<DataEvent> batch = released.poll(5, TimeUnit.SECONDS);
+            assertNotNull(batch);
+            events.addAll(batch);
+        }
+        assertEquals(2, events.size());
+        for (DataEvent event : events) {
+            String prefix = event.id().equals(1) ? "a" : "b";
+            assertArrayEquals(new Object[]{prefix + 10, prefix + 10}, event.state());
+            assertArrayEquals(new Object[]{prefix + 0, prefix + 0}, event.oldState());
+        }
+    }
+
+    @Test
+    void testCreationsAndDeletionsAreNotHeld() throws Exception {
+        DataEventMetadata metadata = metadata(PublicationPolicy.snapshot(60_000));
+        DataEvent created = new DataEvent(DataEventType.CREATED, "entity", metadata, 1, null, new Object[]{"a", "a"}, null, null);
+        DataEvent deleted = new DataEvent(DataEventType.DELETED, "entity", metadata, 1, null, new Object[]{"b", "b"}, null, null);
+
+        assertSame(created, throttle.offer(created));
+        assertNull(throttle.offer(update(metadata, 1, "a", "b", 0)));
+        assertSame(deleted, throttle.offer(deleted));
+
+        assertEquals(0, throttle.getHeldCount());
+        throttle.stop();
+        assertTrue(released.isEmpty());
+    }
+
+    @Test
+    void testDeletionWaitsForTheReleaseOfTheHeldChange() throws Exception {
+        CountDownLatch publishing = new CountDownLatch(1);
+        CountDownLatch published = new CountDownLatch(1);
+        List<String> log = new CopyOnWriteArrayList<>();
+        PublicationThrottle blocked = new PublicationThrottle(events -> {
+            publishing.countDown();
+            try {
+                published.await();
+            } catch (InterruptedException error) {
+                Thread.currentThread().interrupt();
+            }
+            events.forEach(event -> log.add(event.type().getLabel()));
+        });
+        DataEventMetadata metadata = metadata(PublicationPolicy.snapshot(10));
+        DataEvent deleted = new DataEvent(DataEventType.DELETED, "entity", metadata, 1, null, new Object[]{"b", "b"}, null, null);
+        try {
+            assertNull(blocked.offer(update(metadata, 1, "a", "b", 0)));
+            assertTrue(publishing.await(5, TimeUnit.SECONDS));
+
+            CompletableFuture<Void> deletion = CompletableFuture.runAsync(() -> log.add(blocked.offer(deleted).type().getLabel()));
+            Thread.sleep(100);
+            assertFalse(deletion.isDone());
+            published.countDown();
+            deletion.get(5, TimeUnit.SECONDS);
+
+            assertEquals(List.of("updated", "deleted"), log);
+            assertEquals(0, blocked.getHeldCount());
+        } finally {
+            published.countDown();
+            blocked.stop();
+        }
+    }
+
+    @Test
+    void testHeldChangesAreNeverPublishedAfterTheDeletionOfTheirEntity() throws Exception {
+        Map<Object, Boolean> deletedEntities = new ConcurrentHashMap<>();
+        List<Object> late = new CopyOnWriteArrayList<>();
+        PublicationThrottle concurrent = new PublicationThrottle(events -> events.stream()
+                .filter(event -> deletedEntities.containsKey(event.id()))
+                .forEach(event -> late.add(event.id())));
+        DataEventMetadata metadata = metadata(PublicationPolicy.snapshot(1));
+        try (ExecutorService executor = Executors.newFixedThreadPool(4)) {
+            for (int thread = 0; thread < 4; thread++) {
+                int first = thread * 2_000;
+                executor.submit(() -> {
+                    for (int id = first; id < first + 2_000; id++) {
+                        for (int change = 0; change < 3; change++) {
+                            concurrent.offer(update(metadata, id, "a" + change, "a" + (change + 1), 0));
+                        }
+                        DataEvent deleted = new DataEvent(DataEventType.DELETED, "entity", metadata, id, null, new Object[]{"b", "b"}, null, null);
+                        concurrent.offer(deleted);
+                        deletedEntities.put(id, true);
+                    }
+                });
+            }
+        } finally {
+            concurrent.stop();
+        }
+
+        assertEquals(List.of(), late);
+        assertEquals(0, concurrent.getHeldCount());
+    }
+
+    @Test
+    void testStopPublishesHeldChanges() {
+        DataEventMetadata metadata = metadata(PublicationPolicy.snapshot(60_000));
+        assertNull(throttle.offer(update(metadata, 1, "a", "b", 0)));
+
+        throttle.stop();
+
+        assertEquals(1, released.size());
+        DataEvent later = update(metadata, 1, "b", "c", 0);
+        assertSame(later, throttle.offer(later));
+    }
+
+    @Test
+    void testUpdatesOfAStoppingThrottleAreMergedWithTheHeldChange() {
+        DataEventMetadata metadata = metadata(PublicationPolicy.snapshot(60_000));
+        assertNull(throttle.offer(update(metadata, 1, "a", "b", 0)));
+        ReflectionTestUtils.setField(throttle, "stopped", true);
+
+        DataEvent merged = throttle.offer(update(metadata, 1, "b", "c", 1));
+
+        assertArrayEquals(new Object[]{"c", "c"}, merged.state());
+        assertArrayEquals(new Object[]{"a", "a"}, merged.oldState());
+        assertArrayEquals(new int[]{0, 1}, merged.dirtyProperties());
+        assertEquals(0, throttle.getHeldCount());
+        throttle.stop();
+        assertTrue(released.isEmpty());
+    }
+
+    private static DataEventMetadata metadata(PublicationPolicy policy) {
+        return DataEventMetadata.builder()
+                .entityClass(String.class)
+                .enabled(true)
+                .publication(policy)
+                .build();
+    }
+
+    private static DataEvent update(DataEventMetadata metadata, Object id, String oldValue, String value, int dirtyProperty) {
+        return new DataEvent(DataEventType.UPDATED, "entity-" + id, metadata, id, null,
+                new Object[]{value, value}, new Object[]{oldValue, oldValue}, new int[]{dirtyProperty});
+    }
+}
@@ -0,0 +1,99 @@
+package com.sipios.spring.data.event.key;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.serializer.EventSerializers;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.mock;
+
+public class RecordKeyStrategyTest {
+
+    private DataEventMetadataRegistry registry;
+
+    @BeforeEach
+    void beforeEach() {
+        DataEventBroadcaster broadcaster = new DataEventBroadcaster(mock(KafkaTemplate.class), new ObjectMapper());
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        registry = new DataEventMetadataRegistry(new EventSerializers(broadcaster, new DataEventProperties(), extensions), extensions);
+    }
+
+    @Test
+    void testKeyIsTheEventIdentifier() {
+        UuidEntity entity = new UuidEntity(UUID.randomUUID());
+        DataEventMetadata metadata = registry.getMetadata(entity);
+        UUID eventId = UUID.randomUUID();
+
+        DataEvent event = new DataEvent(DataEventType.CREATED, entity, metadata, eventId, null, null, null, null);
+
+        assertEquals(eventId.toString(), metadata.key(event));
+    }
+
+    @Test
+    void testKeyIsReadFromIdentifierField() {
+        UuidEntity entity = new UuidEntity(UUID.randomUUID());
+        DataEventMetadata metadata = registry.getMetadata(entity);
+
+        assertEquals(entity.getUuid().toString(), metadata.key(new DataEvent(DataEventType.CREATED, entity, metadata)));
+    }
+
+    @Test
+    void testKeyIsNullWithoutIdentifier() {
+        NoIdentifierEntity entity = new NoIdentifierEntity();
+        DataEventMetadata metadata = registry.getMetadata(entity);
+
+        assertNull(metadata.key(new DataEvent(DataEventType.CREATED, entity, metadata)));
+    }
+
+    @Test
+    void testCustomKeyStrategy() {
+        TenantEntity entity = new TenantEntity(1, "acme");
+        DataEventMetadata metadata = registry.getMetadata(entity);
+
+        assertEquals("acme", metadata.key(new DataEvent(DataEventType.UPDATED, entity, metadata)));
+    }
+
+    @DataEventEntity
+    @Getter
+    @AllArgsConstructor
+    static class UuidEntity {
+        @Id
+        private UUID uuid;
+    }
+
+    @DataEventEntity
+    static class NoIdentifierEntity {
+    }
+
+    @DataEventEntity(keyStrategy = TenantKeyStrategy.class)
+    @Getter
+    @AllArgsConstructor
+    static class TenantEntity {
+        private int id;
+        private String tenant;
+    }
+
+    public static class TenantKeyStrategy implements RecordKeyStrategy {
+        @Override
+        public String getKey(DataEvent event) {
+            return ((TenantEntity) event.entity()).getTenant();
+        }
+    }
+}
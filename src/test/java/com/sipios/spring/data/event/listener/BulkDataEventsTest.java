@@ -0,0 +1,244 @@
+package com.sipios.spring.data.event.listener;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.annotation.BulkMode;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.dispatcher.DataEventDispatcher;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.metrics.DataEventMetrics;
+import com.sipios.spring.data.event.model.BulkChange;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.outbox.OutboxWriter;
+import com.sipios.spring.data.event.serializer.EventSerializers;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.hibernate.Transaction;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.StatementInspector;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.sql.ResultSet;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertInstanceOf;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.*;
+
+public class BulkDataEventsTest {
+
+    private SessionFactory sessionFactory;
+    private DataEventDispatcher dataEventDispatcher;
+    private DataEventBroadcaster broadcaster;
+    private DataEventProperties properties;
+    private BulkDataEvents bulkDataEvents;
+    private final List<String> statements = new CopyOnWriteArrayList<>();
+
+    @BeforeEach
+    void beforeEach() {
+        sessionFactory = new MetadataSources(new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:bulk;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.STATEMENT_INSPECTOR, (StatementInspector) sql -> {
+                    statements.add(sql);
+                    return sql;
+                })
+                .build())
+                .addAnnotatedClass(Product.class)
+                .addAnnotatedClass(PriceChange.class)
+                .addAnnotatedClass(AuditLine.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        broadcaster = new DataEventBroadcaster(mock(KafkaTemplate.class), new ObjectMapper());
+        properties = new DataEventProperties();
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        DataEventMetadataRegistry registry = new DataEventMetadataRegistry(new EventSerializers(broadcaster, properties, extensions), extensions);
+        dataEventDispatcher = mock(DataEventDispatcher.class);
+        bulkDataEvents = new BulkDataEvents(dataEventDispatcher, registry, new OutboxWriter(broadcaster, properties), DataEventMetrics.NOOP);
+        sessionFactory.inTransaction(session -> {
+            session.persist(new Product(1, "Book", 10, "books"));
+            session.persist(new Product(2, "Pen", 2, "office"));
+            session.persist(new Product(3, "Comic", 8, "books"));
+            session.persist(new PriceChange(1, 10));
+            session.persist(new PriceChange(2, 20));
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void testBulkUpdatePublishesTheNewStateOfChangedEntitiesAfterCommit() {
+        sessionFactory.inTransaction(session -> {
+            int count = bulkDataEvents.executeUpdate(session.createMutationQuery("update Product p set p.price = p.price * 2 where p.category = :category")
+                    .setParameter("category", "books"));
+
+            assertEquals(2, count);
+            verifyNoInteractions(dataEventDispatcher);
+        });
+
+        List<DataEvent> events = captureEvents(2);
+        assertEquals(List.of(DataEventType.UPDATED, DataEventType.UPDATED), events.stream().map(DataEvent::type).toList());
+        assertEquals(List.of(20, 16), events.stream().map(event -> ((Product) event.entity()).getPrice()).toList());
+        assertEquals(List.of(1, 3), events.stream().map(DataEvent::id).toList());
+    }
+
+    @Test
+    void testBulkDeletePublishesTheDeletedEntities() {
+        sessionFactory.inTransaction(session -> bulkDataEvents.executeUpdate(session.createMutationQuery("delete from Product where price < ?1")
+                .setParameter(1, 9)));
+
+        List<DataEvent> events = captureEvents(2);
+        assertEquals(List.of(DataEventType.DELETED, DataEventType.DELETED), events.stream().map(DataEvent::type).toList());
+        assertEquals(List.of("Pen", "Comic"), events.stream().map(event -> ((Product) event.entity()).getName()).toList());
+    }
+
+    @Test
+    void testBulkDeleteLocksTheDeletedRowsWithoutManagingTheirEntities() {
+        sessionFactory.inTransaction(session -> {
+            statements.clear();
+            bulkDataEvents.executeUpdate(session.createMutationQuery("delete from Product where category = :category")
+                    .setParameter("category", "books"));
+
+            assertEquals(0, session.getStatistics().getEntityCount());
+            assertTrue(statements.get(0).endsWith(" for update"), statements.get(0));
+        });
+
+        assertEquals(List.of("Book", "Comic"), captureEvents(2).stream().map(event -> ((Product) event.entity()).getName()).toList());
+    }
+
+    @Test
+    void testRolledBackBulkStatementPublishesNothing() {
+        sessionFactory.inSession(session -> {
+            Transaction transaction = session.beginTransaction();
+            bulkDataEvents.executeUpdate(session.createMutationQuery("delete from Product"));
+            transaction.rollback();
+        });
+
+        verifyNoInteractions(dataEventDispatcher);
+    }
+
+    @Test
+    void testBulkStatementModePublishesASingleEvent() {
+        sessionFactory.inTransaction(session -> bulkDataEvents.executeUpdate(session.createMutationQuery("update PriceChange set amount = amount + :delta")
+                .setParameter("delta", 5)));
+
+        DataEvent event = captureEvents(1).get(0);
+        BulkChange change = assertInstanceOf(BulkChange.class, event.entity());
+        assertEquals(new BulkChange("PriceChange", "updated", "update PriceChange set amount = amount + :delta", Map.of("delta", 5), 2), change);
+        assertEquals("pricechange.updated", event.topic());
+        assertEquals("{\"entity\":\"PriceChange\",\"type\":\"updated\",\"statement\":\"update PriceChange set amount = amount + :delta\","
+                + "\"parameters\":{\"delta\":5},\"count\":2}", broadcaster.getJsonSerializer().serializeToString(event));
+    }
+
+    @Test
+    void testStatementOnNonAnnotatedEntityPublishesNothing() {
+        sessionFactory.inTransaction(session -> session.persist(new AuditLine(1, "created")));
+
+        sessionFactory.inTransaction(session -> assertEquals(1, bulkDataEvents.executeUpdate(session.createMutationQuery("delete from AuditLine"))));
+
+        verifyNoInteractions(dataEventDispatcher);
+    }
+
+    @Test
+    void testStatelessInsertsArePublishedAfterCommit() {
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            bulkDataEvents.insertAll(session, List.of(new Product(4, "Ink", 5, "office"), new Product(5, "Novel", 12, "books")));
+            verifyNoInteractions(dataEventDispatcher);
+            transaction.commit();
+        }
+
+        List<DataEvent> events = captureEvents(2);
+        assertEquals(List.of(DataEventType.CREATED, DataEventType.CREATED), events.stream().map(DataEvent::type).toList());
+        assertEquals(List.of(4, 5), events.stream().map(DataEvent::id).toList());
+    }
+
+    @Test
+    void testStatelessInsertsAreWrittenToTheOutbox() {
+        properties.setOutboxEnabled(true);
+        sessionFactory.inSession(session -> session.doWork(connection -> connection.createStatement().execute(
+                "CREATE TABLE data_event_outbox (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                        + "topic VARCHAR(255) NOT NULL, record_key VARCHAR(255), payload BLOB NOT NULL, headers BLOB, compression VARCHAR(16), created_at TIMESTAMP NOT NULL)")));
+
+        try (StatelessSession session = sessionFactory.openStatelessSession()) {
+            Transaction transaction = session.beginTransaction();
+            bulkDataEvents.insert(session, new Product(4, "Ink", 5, "office"));
+            transaction.commit();
+        }
+
+        sessionFactory.inSession(session -> session.doWork(connection -> {
+            ResultSet resultSet = connection.createStatement().executeQuery("SELECT topic, record_key FROM data_event_outbox");
+            resultSet.next();
+            assertEquals("product.created", resultSet.getString(1));
+            assertEquals("4", resultSet.getString(2));
+            connection.createStatement().execute("DROP TABLE data_event_outbox");
+        }));
+        verifyNoInteractions(dataEventDispatcher);
+    }
+
+    private List<DataEvent> captureEvents(int count) {
+        ArgumentCaptor<DataEvent> captor = ArgumentCaptor.forClass(DataEvent.class);
+        verify(dataEventDispatcher, times(count)).dispatch(captor.capture());
+        return captor.getAllValues().stream().sorted(Comparator.comparing(event -> (Integer) event.id())).toList();
+    }
+
+    @Entity(name = "Product")
+    @DataEventEntity
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Product {
+        @Id
+        private int id;
+        private String name;
+        private int price;
+        private String category;
+    }
+
+    @Entity(name = "PriceChange")
+    @DataEventEntity(bulk = BulkMode.STATEMENT)
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class PriceChange {
+        @Id
+        private int id;
+        private int amount;
+    }
+
+    @Entity(name = "AuditLine")
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class AuditLine {
+        @Id
+        private int id;
+        private String label;
+    }
+}
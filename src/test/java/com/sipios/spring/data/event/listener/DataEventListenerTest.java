@@ -2,17 +2,29 @@ package com.sipios.spring.data.event.listener;
 
 import com.sipios.spring.data.event.annotation.DataEventEntity;
 import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.dispatcher.DataEventDispatcher;
+import com.sipios.spring.data.event.filter.DataEventFilter;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.metrics.DataEventMetrics;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.outbox.OutboxWriter;
+import com.sipios.spring.data.event.serializer.EventSerializers;
 import lombok.AllArgsConstructor;
 import lombok.Getter;
 import lombok.Setter;
 import org.hibernate.event.spi.PostDeleteEvent;
 import org.hibernate.event.spi.PostInsertEvent;
 import org.hibernate.event.spi.PostUpdateEvent;
+import org.hibernate.persister.entity.EntityPersister;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
 import org.mockito.junit.jupiter.MockitoExtension;
 
 import static org.junit.jupiter.api.Assertions.assertThrows;
@@ -23,9 +35,21 @@ public class DataEventListenerTest {
     @Mock
     private DataEventBroadcaster dataEventBroadcaster;
 
-    @InjectMocks
+    @Mock
+    private DataEventDispatcher dataEventDispatcher;
+
+    @Mock
+    private OutboxWriter outboxWriter;
+
     private DataEventListener listener;
 
+    @BeforeEach
+    void beforeEach() {
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        EventSerializers eventSerializers = new EventSerializers(dataEventBroadcaster, new DataEventProperties(), extensions);
+        listener = new DataEventListener(dataEventDispatcher, new DataEventMetadataRegistry(eventSerializers, extensions), null, outboxWriter, DataEventMetrics.NOOP);
+    }
+
     @Nested
     class AnnotatedEntityTests {
 
@@ -37,7 +61,9 @@ public class DataEventListenerTest {
 
             listener.onPostInsert(event);
 
-            verify(dataEventBroadcaster).broadcastEntityCreated(entity, "testEntity.created");
+            verify(dataEventDispatcher).dispatch(argThat((DataEvent dataEvent) -> dataEvent.type() == DataEventType.CREATED
+                    && dataEvent.entity() == entity
+                    && "testEntity.created".equals(dataEvent.topic())));
         }
 
         @Test
@@ -48,7 +74,9 @@ public class DataEventListenerTest {
 
             listener.onPostUpdate(event);
 
-            verify(dataEventBroadcaster).broadcastEntityUpdated(entity, "testEntity.updated");
+            verify(dataEventDispatcher).dispatch(argThat((DataEvent dataEvent) -> dataEvent.type() == DataEventType.UPDATED
+                    && dataEvent.entity() == entity
+                    && "testEntity.updated".equals(dataEvent.topic())));
         }
 
         @Test
@@ -59,7 +87,9 @@ public class DataEventListenerTest {
 
             listener.onPostDelete(event);
 
-            verify(dataEventBroadcaster).broadcastEntityDeleted(entity, "testEntity.deleted");
+            verify(dataEventDispatcher).dispatch(argThat((DataEvent dataEvent) -> dataEvent.type() == DataEventType.DELETED
+                    && dataEvent.entity() == entity
+                    && "testEntity.deleted".equals(dataEvent.topic())));
         }
 
         @Test
@@ -67,7 +97,7 @@ public class DataEventListenerTest {
             PostInsertEvent event = mock(PostInsertEvent.class);
             TestEntity entity = new TestEntity(1, "Test Name", true);
             when(event.getEntity()).thenReturn(entity);
-            doThrow(new RuntimeException("JSON processing error")).when(dataEventBroadcaster).broadcastEntityCreated(any(), any());
+            doThrow(new RuntimeException("JSON processing error")).when(dataEventDispatcher).dispatch(any());
 
             assertThrows(RuntimeException.class, () -> listener.onPostInsert(event));
         }
@@ -77,7 +107,7 @@ public class DataEventListenerTest {
             PostUpdateEvent event = mock(PostUpdateEvent.class);
             TestEntity entity = new TestEntity(1, "Test Name", true);
             when(event.getEntity()).thenReturn(entity);
-            doThrow(new RuntimeException("JSON processing error")).when(dataEventBroadcaster).broadcastEntityUpdated(any(), any());
+            doThrow(new RuntimeException("JSON processing error")).when(dataEventDispatcher).dispatch(any());
 
             assertThrows(RuntimeException.class, () -> listener.onPostUpdate(event));
         }
@@ -87,7 +117,7 @@ public class DataEventListenerTest {
             PostDeleteEvent event = mock(PostDeleteEvent.class);
             TestEntity entity = new TestEntity(1, "Test Name", true);
             when(event.getEntity()).thenReturn(entity);
-            doThrow(new RuntimeException("JSON processing error")).when(dataEventBroadcaster).broadcastEntityDeleted(any(), any());
+            doThrow(new RuntimeException("JSON processing error")).when(dataEventDispatcher).dispatch(any());
 
             assertThrows(RuntimeException.class, () -> listener.onPostDelete(event));
         }
@@ -103,6 +133,119 @@ public class DataEventListenerTest {
         }
     }
 
+    @Nested
+    class FilterTests {
+
+        private final EntityPersister persister = mock(EntityPersister.class);
+
+        @Test
+        public void testUpdateOfIgnoredPropertiesIsFiltered() {
+            AuditedEntity entity = new AuditedEntity(1, "Test Name", "ACTIVE", 0);
+
+            listener.onPostUpdate(createUpdateEvent(entity, 2));
+
+            verify(dataEventDispatcher, never()).dispatch(any());
+        }
+
+        @Test
+        public void testUpdateOfOtherPropertiesIsPublished() {
+            AuditedEntity entity = new AuditedEntity(1, "Test Name", "ACTIVE", 0);
+
+            listener.onPostUpdate(createUpdateEvent(entity, 0, 2));
+
+            verify(dataEventDispatcher).dispatch(argThat((DataEvent dataEvent) -> dataEvent.entity() == entity));
+        }
+
+        @Test
+        public void testUpdateOfTriggerPropertiesIsPublished() {
+            StatusEntity entity = new StatusEntity(1, "Test Name", "ACTIVE", 0);
+
+            listener.onPostUpdate(createUpdateEvent(entity, 0));
+            listener.onPostUpdate(createUpdateEvent(entity, 1));
+
+            verify(dataEventDispatcher, times(1)).dispatch(argThat((DataEvent dataEvent) -> dataEvent.dirtyProperties()[0] == 1));
+        }
+
+        @Test
+        public void testCreationIsNotFilteredOnDirtyProperties() {
+            PostInsertEvent event = mock(PostInsertEvent.class);
+            StatusEntity entity = new StatusEntity(1, "Test Name", "ACTIVE", 0);
+            when(event.getEntity()).thenReturn(entity);
+
+            listener.onPostInsert(event);
+
+            verify(dataEventDispatcher).dispatch(any());
+        }
+
+        @Test
+        public void testCustomFilter() {
+            PostInsertEvent draft = mock(PostInsertEvent.class);
+            when(draft.getEntity()).thenReturn(new FilteredEntity(1, "DRAFT"));
+            PostInsertEvent active = mock(PostInsertEvent.class);
+            when(active.getEntity()).thenReturn(new FilteredEntity(2, "ACTIVE"));
+
+            listener.onPostInsert(draft);
+            listener.onPostInsert(active);
+
+            verify(dataEventDispatcher).dispatch(argThat((DataEvent dataEvent) -> ((FilteredEntity) dataEvent.entity()).getId() == 2));
+        }
+
+        @Test
+        public void testUnknownPropertyIsRejected() {
+            UnknownPropertyEntity entity = new UnknownPropertyEntity(1);
+            when(persister.getEntityName()).thenReturn(UnknownPropertyEntity.class.getName());
+
+            assertThrows(IllegalArgumentException.class, () -> listener.onPostUpdate(createUpdateEvent(entity, 0)));
+        }
+
+        private PostUpdateEvent createUpdateEvent(Object entity, int... dirtyProperties) {
+            when(persister.getPropertyNames()).thenReturn(new String[]{"name", "status", "lastModifiedAt"});
+            return new PostUpdateEvent(entity, 1, new Object[3], new Object[3], dirtyProperties, persister, null);
+        }
+
+        @DataEventEntity(ignoredProperties = "lastModifiedAt")
+        @Getter
+        @AllArgsConstructor
+        private static class AuditedEntity {
+            private int id;
+            private String name;
+            private String status;
+            private long lastModifiedAt;
+        }
+
+        @DataEventEntity(triggerProperties = "status")
+        @Getter
+        @AllArgsConstructor
+        private static class StatusEntity {
+            private int id;
+            private String name;
+            private String status;
+            private long lastModifiedAt;
+        }
+
+        @DataEventEntity(triggerProperties = "unknown")
+        @Getter
+        @AllArgsConstructor
+        private static class UnknownPropertyEntity {
+            private int id;
+        }
+
+        @DataEventEntity(filter = ActiveFilter.class)
+        @Getter
+        @AllArgsConstructor
+        private static class FilteredEntity {
+            private int id;
+            private String status;
+        }
+
+        public static class ActiveFilter implements DataEventFilter {
+            @Override
+            public boolean accept(DataEvent event) {
+                return "ACTIVE".equals(((FilteredEntity) event.entity()).getStatus());
+            }
+        }
+    }
+
     @Nested
     class NonAnnotatedEntityTests {
 
@@ -114,7 +257,7 @@ public class DataEventListenerTest {
 
             listener.onPostInsert(event);
 
-            verify(dataEventBroadcaster, never()).broadcastEntityCreated(any(), any());
+            verify(dataEventDispatcher, never()).dispatch(any());
         }
 
         @Test
@@ -125,7 +268,7 @@ public class DataEventListenerTest {
 
             listener.onPostUpdate(event);
 
-            verify(dataEventBroadcaster, never()).broadcastEntityUpdated(any(), any());
+            verify(dataEventDispatcher, never()).dispatch(any());
         }
 
         @Test
@@ -136,7 +279,7 @@ public class DataEventListenerTest {
 
             listener.onPostDelete(event);
 
-            verify(dataEventBroadcaster, never()).broadcastEntityDeleted(any(), any());
+            verify(dataEventDispatcher, never()).dispatch(any());
         }
 
         @Getter
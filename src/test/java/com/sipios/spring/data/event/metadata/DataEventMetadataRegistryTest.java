@@ -0,0 +1,294 @@
+package com.sipios.spring.data.event.metadata;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.annotation.BulkMode;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.annotation.PublicationMode;
+import com.sipios.spring.data.event.annotation.RecordCompression;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.broadcaster.EventHeaders;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.dispatcher.PublicationPolicy;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.routing.TemplateTopicRouter;
+import com.sipios.spring.data.event.routing.TopicRouter;
+import com.sipios.spring.data.event.serializer.EventSerializers;
+import com.sipios.spring.data.event.sink.DataEventSink;
+import com.sipios.spring.data.event.sink.KafkaDataEventSink;
+import com.sipios.spring.data.event.sink.SinkEvent;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.kafka.common.header.Header;
+import org.hibernate.proxy.HibernateProxy;
+import org.hibernate.proxy.LazyInitializer;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.Mockito.mock;
+
+public class DataEventMetadataRegistryTest {
+
+    private DataEventMetadataRegistry registry;
+
+    @BeforeEach
+    void beforeEach() {
+        DataEventBroadcaster broadcaster = new DataEventBroadcaster(mock(KafkaTemplate.class), new ObjectMapper());
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        registry = new DataEventMetadataRegistry(new EventSerializers(broadcaster, new DataEventProperties(), extensions), extensions);
+    }
+
+    @Test
+    void testDefaultTopics() {
+        DataEventMetadata metadata = registry.getMetadata(new DefaultTopicEntity(1));
+
+        assertTrue(metadata.enabled());
+        assertEquals("defaulttopicentity.created", metadata.creationTopic());
+        assertEquals("defaulttopicentity.updated", metadata.updateTopic());
+        assertEquals("defaulttopicentity.deleted", metadata.deletionTopic());
+        assertNotNull(metadata.serializer());
+    }
+
+    @Test
+    void testCustomTopics() {
+        DataEventMetadata metadata = registry.getMetadata(CustomTopicEntity.class);
+
+        assertEquals("custom.created", metadata.topic(DataEventType.CREATED));
+        assertEquals("custom.updated", metadata.topic(DataEventType.UPDATED));
+        assertEquals("custom.deleted", metadata.topic(DataEventType.DELETED));
+    }
+
+    @Test
+    void testStaticTopicTemplateIsResolvedOnce() {
+        DataEventMetadata metadata = registry.getMetadata(AggregateTopicEntity.class);
+
+        assertNull(metadata.topicRouter());
+        assertEquals("aggregatetopicentity", metadata.topic(DataEventType.CREATED));
+        assertEquals("aggregatetopicentity", metadata.topic(DataEventType.DELETED));
+        assertTrue(metadata.typeHeader());
+    }
+
+    @Test
+    void testFieldTopicTemplateRoutesEachEvent() {
+        DataEventMetadata metadata = registry.getMetadata(TenantTopicEntity.class);
+
+        assertInstanceOf(TemplateTopicRouter.class, metadata.topicRouter());
+        assertEquals("tenant.{tenant}.created", metadata.topic(DataEventType.CREATED));
+        assertEquals("tenant.acme.created", new DataEvent(DataEventType.CREATED, new TenantTopicEntity("acme"), metadata).topic());
+        assertFalse(metadata.typeHeader());
+    }
+
+    @Test
+    void testCustomTopicRouter() {
+        DataEventMetadata metadata = registry.getMetadata(RoutedEntity.class);
+
+        assertInstanceOf(FixedTopicRouter.class, metadata.topicRouter());
+        assertEquals("fixed", new DataEvent(DataEventType.UPDATED, new RoutedEntity(), metadata).topic());
+        assertTrue(metadata.typeHeader());
+    }
+
+    @Test
+    void testDefaultTopicTemplate() {
+        DataEventProperties properties = new DataEventProperties();
+        properties.setTopicTemplate("{entity}");
+        registry.configure(properties);
+
+        assertEquals("defaulttopicentity", registry.getMetadata(DefaultTopicEntity.class).topic(DataEventType.UPDATED));
+        assertEquals("custom.updated", registry.getMetadata(CustomTopicEntity.class).topic(DataEventType.UPDATED));
+    }
+
+    @Test
+    void testSharedStaticTopicsRequireTypeHeader() {
+        assertTrue(registry.getMetadata(SharedTopicEntity.class).typeHeader());
+        assertFalse(registry.getMetadata(CustomTopicEntity.class).typeHeader());
+    }
+
+    @Test
+    void testStatementEventsCannotBeRoutedByFields() {
+        assertThrows(IllegalArgumentException.class, () -> registry.getMetadata(StatementTenantEntity.class));
+    }
+
+    @Test
+    void testPublicationPolicy() {
+        PublicationPolicy policy = registry.getMetadata(RateLimitedEntity.class).publication();
+
+        assertEquals(PublicationMode.RATE_LIMITED, policy.mode());
+        assertEquals(TimeUnit.MILLISECONDS.toNanos(200), policy.periodNanos());
+        assertNull(registry.getMetadata(DefaultTopicEntity.class).publication());
+    }
+
+    @Test
+    void testDefaultPublicationPolicy() {
+        DataEventProperties properties = new DataEventProperties();
+        properties.setPublicationMode(PublicationMode.SNAPSHOT);
+        properties.setPublicationSnapshotIntervalMs(500);
+        registry.configure(properties);
+
+        assertEquals(PublicationPolicy.snapshot(500), registry.getMetadata(DefaultTopicEntity.class).publication());
+        assertNull(registry.getMetadata(EveryEventEntity.class).publication());
+    }
+
+    @Test
+    void testSinks() {
+        DataEventMetadata metadata = registry.getMetadata(SunkEntity.class);
+
+        assertEquals(1, metadata.sinks().size());
+        assertInstanceOf(CollectingSink.class, metadata.sinks().get(0));
+        assertFalse(metadata.isKafkaPublished());
+        assertNull(registry.getMetadata(KafkaSunkEntity.class).sinks());
+        assertTrue(registry.getMetadata(KafkaSunkEntity.class).isKafkaPublished());
+    }
+
+    @Test
+    void testMetadataHeaders() {
+        assertNull(registry.getMetadata(CustomTopicEntity.class).headers());
+
+        DataEventProperties properties = new DataEventProperties();
+        properties.setHeadersEnabled(true);
+        registry.configure(properties);
+        EventHeaders headers = registry.getMetadata(DefaultTopicEntity.class).headers();
+        EventHeaders otherHeaders = registry.getMetadata(TenantTopicEntity.class).headers();
+
+        List<Header> created = headers.getSharedHeaders(DataEventType.CREATED);
+        assertEquals("created", new String(created.get(0).value(), StandardCharsets.UTF_8));
+        assertEquals(DefaultTopicEntity.class.getName(), new String(created.get(1).value(), StandardCharsets.UTF_8));
+        assertEquals(EventHeaders.SCHEMA_HEADER, created.get(2).key());
+        assertFalse(Arrays.equals(created.get(2).value(), otherHeaders.getSharedHeaders(DataEventType.CREATED).get(2).value()));
+    }
+
+    @Test
+    void testCompression() {
+        assertNull(registry.getMetadata(CustomTopicEntity.class).compression());
+
+        DataEventProperties properties = new DataEventProperties();
+        properties.setCompressionType(RecordCompression.LZ4);
+        registry.configure(properties);
+
+        assertEquals(RecordCompression.ZSTD, registry.getMetadata(CompressedEntity.class).compression());
+        assertEquals(RecordCompression.LZ4, registry.getMetadata(DefaultTopicEntity.class).compression());
+        assertNull(registry.getMetadata(ProducerCompressedEntity.class).compression());
+    }
+
+    @Test
+    void testNonAnnotatedEntityIsDisabled() {
+        DataEventMetadata metadata = registry.getMetadata(new NonAnnotatedEntity());
+
+        assertFalse(metadata.enabled());
+    }
+
+    @Test
+    void testMetadataIsComputedOnce() {
+        assertSame(registry.getMetadata(DefaultTopicEntity.class), registry.getMetadata(DefaultTopicEntity.class));
+    }
+
+    @Test
+    void testProxyResolvesToEntityClass() {
+        DataEventMetadata metadata = registry.getMetadata(DefaultTopicEntityProxy.class);
+
+        assertEquals(DefaultTopicEntity.class, metadata.entityClass());
+        assertSame(registry.getMetadata(DefaultTopicEntity.class), metadata);
+    }
+
+    @DataEventEntity
+    @Getter
+    @AllArgsConstructor
+    static class DefaultTopicEntity {
+        private int id;
+    }
+
+    static class DefaultTopicEntityProxy extends DefaultTopicEntity implements HibernateProxy {
+        DefaultTopicEntityProxy() {
+            super(1);
+        }
+
+        @Override
+        public Object writeReplace() {
+            return this;
+        }
+
+        @Override
+        public LazyInitializer getHibernateLazyInitializer() {
+            return null;
+        }
+    }
+
+    @DataEventEntity(creationTopic = "custom.created", updateTopic = "custom.updated", deletionTopic = "custom.deleted")
+    static class CustomTopicEntity {
+    }
+
+    static class NonAnnotatedEntity {
+    }
+
+    @DataEventEntity(topic = "{entity}")
+    static class AggregateTopicEntity {
+    }
+
+    @DataEventEntity(topic = "tenant.{tenant}.{type}")
+    @AllArgsConstructor
+    static class TenantTopicEntity {
+        private String tenant;
+    }
+
+    @DataEventEntity(topic = "tenant.{tenant}", bulk = BulkMode.STATEMENT)
+    static class StatementTenantEntity {
+        private String tenant;
+    }
+
+    @DataEventEntity(creationTopic = "shared", updateTopic = "shared")
+    static class SharedTopicEntity {
+    }
+
+    @DataEventEntity(publication = PublicationMode.RATE_LIMITED, maxEventsPerSecond = 5)
+    static class RateLimitedEntity {
+    }
+
+    @DataEventEntity(publication = PublicationMode.ALL)
+    static class EveryEventEntity {
+    }
+
+    @DataEventEntity(sinks = {CollectingSink.class, CollectingSink.class})
+    static class SunkEntity {
+    }
+
+    @DataEventEntity(sinks = KafkaDataEventSink.class)
+    static class KafkaSunkEntity {
+    }
+
+    @DataEventEntity(compression = RecordCompression.ZSTD)
+    static class CompressedEntity {
+    }
+
+    @DataEventEntity(compression = RecordCompression.PRODUCER)
+    static class ProducerCompressedEntity {
+    }
+
+    public static class CollectingSink implements DataEventSink {
+        @Override
+        public void publish(List<SinkEvent> events) {
+        }
+    }
+
+    @DataEventEntity(topicRouter = FixedTopicRouter.class)
+    static class RoutedEntity {
+    }
+
+    public static class FixedTopicRouter implements TopicRouter {
+        @Override
+        public String getTopic(DataEvent event) {
+            return "fixed";
+        }
+
+        @Override
+        public boolean sharesTopicsAcrossTypes() {
+            return true;
+        }
+    }
+}
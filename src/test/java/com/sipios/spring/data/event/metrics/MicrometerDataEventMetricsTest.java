@@ -0,0 +1,156 @@
+package com.sipios.spring.data.event.metrics;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.dispatcher.DataEventDispatcher;
+import com.sipios.spring.data.event.listener.DataEventListener;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.outbox.OutboxWriter;
+import com.sipios.spring.data.event.serializer.EventSerializers;
+import io.micrometer.core.instrument.Meter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.config.MeterFilter;
+import io.micrometer.core.instrument.distribution.DistributionStatisticConfig;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.hibernate.CallbackException;
+import org.hibernate.event.spi.PostInsertEvent;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class MicrometerDataEventMetricsTest {
+
+    private MeterRegistry meterRegistry;
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private DataEventListener listener;
+
+    @BeforeEach
+    void beforeEach() {
+        meterRegistry = new SimpleMeterRegistry();
+        DataEventMetrics metrics = new MicrometerDataEventMetrics(meterRegistry);
+        kafkaTemplate = mock(KafkaTemplate.class);
+        DataEventBroadcaster broadcaster = new DataEventBroadcaster(kafkaTemplate, new ObjectMapper());
+        broadcaster.setMetrics(metrics);
+        DataEventProperties properties = new DataEventProperties();
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        DataEventMetadataRegistry registry = new DataEventMetadataRegistry(new EventSerializers(broadcaster, properties, extensions), extensions);
+        listener = new DataEventListener(new DataEventDispatcher(broadcaster, properties, metrics), registry, null,
+                new OutboxWriter(broadcaster, properties), metrics);
+    }
+
+    @Test
+    void testPublishedEventIsMeasured() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        listener.onPostInsert(createEvent(new MeasuredEntity(1, "Test Name")));
+
+        assertEquals(1, meterRegistry.get("data.event.intercepted").tag("entity", "MeasuredEntity").tag("type", "created").counter().count());
+        assertEquals(1, meterRegistry.get("data.event.published").tag("topic", "measuredentity.created").counter().count());
+        assertEquals(1, meterRegistry.get("data.event.serialization").timer().count());
+        assertEquals("{\"id\":1,\"name\":\"Test Name\"}".length(), meterRegistry.get("data.event.payload.size").summary().totalAmount());
+        assertEquals(1, meterRegistry.get("data.event.send").tag("outcome", "success").timer().count());
+    }
+
+    @Test
+    void testPayloadSizeIsMeasuredInBytes() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        listener.onPostInsert(createEvent(new MeasuredEntity(1, "Zoë Ærø")));
+
+        assertEquals("{\"id\":1,\"name\":\"Zoë Ærø\"}".getBytes(StandardCharsets.UTF_8).length,
+                meterRegistry.get("data.event.payload.size").summary().totalAmount());
+    }
+
+    @Test
+    void testTimesAndSizesArePublishedAsHistograms() {
+        Map<String, Boolean> histograms = new HashMap<>();
+        meterRegistry.config().meterFilter(new MeterFilter() {
+            @Override
+            public DistributionStatisticConfig configure(Meter.Id id, DistributionStatisticConfig config) {
+                histograms.merge(id.getName(), Boolean.TRUE.equals(config.isPercentileHistogram()), Boolean::logicalAnd);
+                return config;
+            }
+        });
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        listener.onPostInsert(createEvent(new MeasuredEntity(1, "Test Name")));
+
+        assertEquals(Map.of("data.event.serialization", true, "data.event.payload.size", true, "data.event.send", true), histograms);
+    }
+
+    @Test
+    void testSendFailureIsMeasured() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+
+        listener.onPostInsert(createEvent(new MeasuredEntity(1, "Test Name")));
+
+        assertEquals(1, meterRegistry.get("data.event.failed").counter().count());
+        assertEquals(1, meterRegistry.get("data.event.send").tag("outcome", "failure").timer().count());
+        assertEquals(0, meterRegistry.get("data.event.published").counter().count());
+    }
+
+    @Test
+    void testSendErrorIsMeasured() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenThrow(new CallbackException("buffer full"));
+
+        assertThrows(CallbackException.class, () -> listener.onPostInsert(createEvent(new MeasuredEntity(1, "Test Name"))));
+
+        assertEquals(1, meterRegistry.get("data.event.failed").counter().count());
+    }
+
+    @Test
+    void testNonAnnotatedEntityIsNotMeasured() {
+        listener.onPostInsert(createEvent(new Object()));
+
+        assertEquals(0, meterRegistry.getMeters().size());
+    }
+
+    @Test
+    void testNoopWithoutMeterRegistry() {
+        DataEventMetrics metrics = new DataEventMetricsConfiguration().dataEventMetrics(new DefaultListableBeanFactory());
+
+        assertSame(DataEventMetrics.NOOP, metrics);
+    }
+
+    @Test
+    void testMicrometerWithMeterRegistry() {
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("meterRegistry", meterRegistry);
+
+        DataEventMetrics metrics = new DataEventMetricsConfiguration().dataEventMetrics(beanFactory);
+
+        assertEquals(MicrometerDataEventMetrics.class, metrics.getClass());
+    }
+
+    private static PostInsertEvent createEvent(Object entity) {
+        PostInsertEvent event = mock(PostInsertEvent.class);
+        when(event.getEntity()).thenReturn(entity);
+        return event;
+    }
+
+    @DataEventEntity
+    @Getter
+    @AllArgsConstructor
+    public static class MeasuredEntity {
+        private int id;
+        private String name;
+    }
+}
@@ -0,0 +1,279 @@
+package com.sipios.spring.data.event.outbox;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.annotation.RecordCompression;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.dispatcher.DataEventDispatcher;
+import com.sipios.spring.data.event.listener.DataEventListener;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metrics.DataEventMetrics;
+import com.sipios.spring.data.event.serializer.EventSerializers;
+import com.sipios.spring.data.event.sink.FileDataEventSink;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.apache.kafka.clients.producer.ProducerRecord;
+import org.h2.jdbcx.JdbcDataSource;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import javax.sql.DataSource;
+import java.nio.charset.StandardCharsets;
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class OutboxTest {
+
+    private static final String URL = "jdbc:h2:mem:outbox;DB_CLOSE_DELAY=-1";
+
+    private KafkaTemplate<String, byte[]> binaryKafkaTemplate;
+    private KafkaTemplate<String, byte[]> compressedKafkaTemplate;
+    private DataEventDispatcher dataEventDispatcher;
+    private JdbcDataSource dataSource;
+    private SessionFactory sessionFactory;
+    private DataEventMetadataRegistry registry;
+    private OutboxRelay relay;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        dataSource = new JdbcDataSource();
+        dataSource.setURL(URL);
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("CREATE TABLE data_event_outbox (id BIGINT GENERATED BY DEFAULT AS IDENTITY PRIMARY KEY, "
+                    + "topic VARCHAR(255) NOT NULL, record_key VARCHAR(255), payload BLOB NOT NULL, headers BLOB, compression VARCHAR(16), created_at TIMESTAMP NOT NULL)");
+        }
+        sessionFactory = new MetadataSources(new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, URL)
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .build())
+                .addAnnotatedClass(Account.class)
+                .addAnnotatedClass(Ledger.class)
+                .addAnnotatedClass(Archive.class)
+                .buildMetadata()
+                .buildSessionFactory();
+
+        binaryKafkaTemplate = mock(KafkaTemplate.class);
+        when(binaryKafkaTemplate.send(any(String.class), any(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(binaryKafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        DataEventBroadcaster broadcaster = new DataEventBroadcaster(mock(KafkaTemplate.class), new ObjectMapper());
+        broadcaster.setBinaryKafkaTemplate(binaryKafkaTemplate);
+        compressedKafkaTemplate = mock(KafkaTemplate.class);
+        when(compressedKafkaTemplate.send(any(ProducerRecord.class))).thenReturn(CompletableFuture.completedFuture(null));
+        broadcaster.setCompressedKafkaTemplate(RecordCompression.GZIP, compressedKafkaTemplate);
+        DataEventProperties properties = new DataEventProperties();
+        properties.setOutboxEnabled(true);
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        registry = new DataEventMetadataRegistry(new EventSerializers(broadcaster, properties, extensions), extensions);
+        registry.configure(properties);
+        dataEventDispatcher = mock(DataEventDispatcher.class);
+        DataEventListener listener = new DataEventListener(dataEventDispatcher, registry, sessionFactory, new OutboxWriter(broadcaster, properties), DataEventMetrics.NOOP);
+        ReflectionTestUtils.invokeMethod(listener, "init");
+
+        DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+        beanFactory.registerSingleton("dataSource", dataSource);
+        relay = new OutboxRelay(broadcaster, properties, beanFactory.getBeanProvider(DataSource.class));
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        sessionFactory.close();
+        try (Connection connection = dataSource.getConnection(); Statement statement = connection.createStatement()) {
+            statement.execute("DROP TABLE data_event_outbox");
+        }
+    }
+
+    @Test
+    void testEventsAreWrittenInTheCommittedTransaction() throws Exception {
+        sessionFactory.inTransaction(session -> {
+            session.persist(new Account(1, "First"));
+            session.persist(new Account(2, "Second"));
+        });
+        sessionFactory.inTransaction(session -> session.find(Account.class, 1).setName("Updated"));
+
+        assertEquals(3, countOutboxEvents());
+        verifyNoInteractions(dataEventDispatcher);
+    }
+
+    @Test
+    void testEventsOfRolledBackTransactionAreNotWritten() throws Exception {
+        try (Session session = sessionFactory.openSession()) {
+            session.beginTransaction();
+            session.persist(new Account(1, "First"));
+            session.flush();
+            session.getTransaction().rollback();
+        }
+
+        assertEquals(0, countOutboxEvents());
+    }
+
+    @Test
+    void testRelayPublishesAndDeletesEvents() throws Exception {
+        sessionFactory.inTransaction(session -> {
+            session.persist(new Account(1, "First"));
+            session.persist(new Account(2, "Second"));
+        });
+
+        assertEquals(2, relay.relay());
+
+        verify(binaryKafkaTemplate).send("account.created", "1", "{\"id\":1,\"name\":\"First\"}".getBytes(StandardCharsets.UTF_8));
+        verify(binaryKafkaTemplate).send("account.created", "2", "{\"id\":2,\"name\":\"Second\"}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(0, countOutboxEvents());
+        assertEquals(0, relay.relay());
+    }
+
+    @Test
+    void testRelaysTakeTurnsOnTheOutbox() throws Exception {
+        sessionFactory.inTransaction(session -> session.persist(new Account(1, "First")));
+
+        try (Connection other = dataSource.getConnection(); Statement statement = other.createStatement()) {
+            other.setAutoCommit(false);
+            statement.executeQuery("SELECT id FROM data_event_outbox ORDER BY id FOR UPDATE").close();
+            CompletableFuture<Integer> relayed = CompletableFuture.supplyAsync(() -> {
+                try {
+                    return relay.relay();
+                } catch (SQLException error) {
+                    throw new IllegalStateException(error);
+                }
+            });
+            Thread.sleep(200);
+            assertFalse(relayed.isDone());
+            statement.execute("DELETE FROM data_event_outbox");
+            other.commit();
+
+            assertEquals(0, relayed.get(5, TimeUnit.SECONDS));
+        }
+        verify(binaryKafkaTemplate, never()).send(any(String.class), any(), any(byte[].class));
+    }
+
+    @Test
+    void testRelayedRecordsKeepTheirHeaders() throws Exception {
+        sessionFactory.inTransaction(session -> session.persist(new Ledger(1, "First")));
+        sessionFactory.inTransaction(session -> session.remove(session.find(Ledger.class, 1)));
+
+        assertEquals(2, relay.relay());
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(binaryKafkaTemplate, times(2)).send(captor.capture());
+        assertEquals(List.of("created", "deleted"), captor.getAllValues().stream()
+                .map(record -> new String(record.headers().lastHeader(DataEventBroadcaster.EVENT_TYPE_HEADER).value(), StandardCharsets.UTF_8))
+                .toList());
+        assertEquals(List.of("ledgers", "ledgers"), captor.getAllValues().stream().map(ProducerRecord::topic).toList());
+    }
+
+    @Test
+    void testRelayedRecordsKeepTheirCompression() throws Exception {
+        sessionFactory.inTransaction(session -> session.persist(new Archive(1, "First")));
+
+        assertEquals(1, relay.relay());
+
+        ArgumentCaptor<ProducerRecord<String, byte[]>> captor = ArgumentCaptor.forClass(ProducerRecord.class);
+        verify(compressedKafkaTemplate).send(captor.capture());
+        assertEquals("archive.created", captor.getValue().topic());
+        verify(binaryKafkaTemplate, never()).send(any(String.class), any(), any(byte[].class));
+    }
+
+    @Test
+    void testEntitiesWithSinksAreRejected() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> registry.getMetadata(Journal.class));
+
+        assertTrue(error.getMessage().contains("outbox"));
+    }
+
+    @Test
+    void testEventsAreKeptWhenPublicationFails() throws Exception {
+        when(binaryKafkaTemplate.send(any(String.class), any(), any(byte[].class))).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("broker down")));
+        sessionFactory.inTransaction(session -> session.persist(new Account(1, "First")));
+
+        try {
+            relay.relay();
+        } catch (RuntimeException ignored) {
+        }
+
+        assertEquals(1, countOutboxEvents());
+    }
+
+    private int countOutboxEvents() throws Exception {
+        try (Connection connection = dataSource.getConnection();
+             Statement statement = connection.createStatement();
+             ResultSet resultSet = statement.executeQuery("SELECT COUNT(*) FROM data_event_outbox")) {
+            resultSet.next();
+            return resultSet.getInt(1);
+        }
+    }
+
+    @Entity
+    @DataEventEntity
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Account {
+        @Id
+        private int id;
+        private String name;
+    }
+
+    @Entity
+    @DataEventEntity(compression = RecordCompression.GZIP)
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Archive {
+        @Id
+        private int id;
+        private String name;
+    }
+
+    @Entity
+    @DataEventEntity(topic = "ledgers")
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Ledger {
+        @Id
+        private int id;
+        private String name;
+    }
+
+    @Entity
+    @DataEventEntity(sinks = FileDataEventSink.class)
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Journal {
+        @Id
+        private int id;
+        private String name;
+    }
+}
@@ -0,0 +1,81 @@
+package com.sipios.spring.data.event.routing;
+
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import lombok.AllArgsConstructor;
+import org.junit.jupiter.api.Test;
+
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class TemplateTopicRouterTest {
+
+    @Test
+    void testStaticTemplate() {
+        TemplateTopicRouter router = TemplateTopicRouter.compile("events.{entity}.{type}", Order.class);
+
+        assertTrue(router.isStatic());
+        assertFalse(router.sharesTopicsAcrossTypes());
+        assertEquals("events.order.created", router.getTopic(DataEventType.CREATED));
+        assertEquals("events.order.deleted", router.getTopic(createEvent(DataEventType.DELETED, new Order("acme", 1))));
+        assertEquals(Set.of("events.order.created", "events.order.updated", "events.order.deleted"), router.getTopics());
+    }
+
+    @Test
+    void testTemplateWithoutTypeSharesTopics() {
+        TemplateTopicRouter router = TemplateTopicRouter.compile("{entity}", Order.class);
+
+        assertTrue(router.sharesTopicsAcrossTypes());
+        assertEquals(Set.of("order"), router.getTopics());
+    }
+
+    @Test
+    void testFieldPlaceholderIsCachedPerValue() {
+        TemplateTopicRouter router = TemplateTopicRouter.compile("{entity}.{tenant}.{type}", Order.class);
+
+        String first = router.getTopic(createEvent(DataEventType.UPDATED, new Order("acme", 1)));
+        String second = router.getTopic(createEvent(DataEventType.UPDATED, new Order("acme", 2)));
+
+        assertFalse(router.isStatic());
+        assertEquals("order.acme.updated", first);
+        assertSame(first, second);
+        assertEquals("order.globex.created", router.getTopic(createEvent(DataEventType.CREATED, new Order("globex", 3))));
+        assertEquals("order.{tenant}.updated", router.getTopic(DataEventType.UPDATED));
+        assertTrue(router.getTopics().isEmpty());
+    }
+
+    @Test
+    void testSeveralFieldPlaceholders() {
+        TemplateTopicRouter router = TemplateTopicRouter.compile("{tenant}-{shard}", Order.class);
+
+        assertEquals("acme-2", router.getTopic(createEvent(DataEventType.CREATED, new Order("acme", 2))));
+    }
+
+    @Test
+    void testNullFieldPlaceholderFailsTheEvent() {
+        TemplateTopicRouter router = TemplateTopicRouter.compile("{tenant}-{shard}", Order.class);
+
+        IllegalStateException error = assertThrows(IllegalStateException.class,
+                () -> router.getTopic(createEvent(DataEventType.CREATED, new Order(null, 7))));
+        assertTrue(error.getMessage().contains("tenant"));
+    }
+
+    @Test
+    void testInvalidTemplates() {
+        assertThrows(IllegalArgumentException.class, () -> TemplateTopicRouter.compile("{unknown}", Order.class));
+        assertThrows(IllegalArgumentException.class, () -> TemplateTopicRouter.compile("orders.{tenant", Order.class));
+        assertThrows(IllegalArgumentException.class, () -> TemplateTopicRouter.compile("", Order.class));
+    }
+
+    private static DataEvent createEvent(DataEventType type, Object entity) {
+        return new DataEvent(type, entity, DataEventMetadata.builder().entityClass(entity.getClass()).enabled(true).build());
+    }
+
+    @AllArgsConstructor
+    static class Order {
+        private String tenant;
+        private int shard;
+    }
+}
@@ -0,0 +1,248 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.annotation.PayloadMode;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.persister.entity.EntityPersister;
+import org.hibernate.stat.Statistics;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class AssociationSerializationTest {
+
+    private SessionFactory sessionFactory;
+    private JacksonEventSerializer serializer;
+    private DataEventMetadataRegistry registry;
+
+    @BeforeEach
+    void beforeEach() {
+        sessionFactory = new MetadataSources(new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:associations;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .applySetting(AvailableSettings.GENERATE_STATISTICS, true)
+                .build())
+                .addAnnotatedClass(Publisher.class)
+                .addAnnotatedClass(Book.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        DataEventBroadcaster broadcaster = new DataEventBroadcaster(mock(KafkaTemplate.class), new ObjectMapper());
+        serializer = broadcaster.getJsonSerializer();
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        registry = new DataEventMetadataRegistry(new EventSerializers(broadcaster, new DataEventProperties(), extensions), extensions);
+    }
+
+    @AfterEach
+    void afterEach() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void testUninitializedAssociationsAreNotLoaded() throws Exception {
+        sessionFactory.inTransaction(session -> {
+            Publisher publisher = new Publisher(1, "Sipios", new ArrayList<>());
+            session.persist(publisher);
+            session.persist(new Book(2, "Spring Data Events", publisher));
+        });
+        Statistics statistics = sessionFactory.getStatistics();
+
+        String bookJson = sessionFactory.fromSession(session -> serializeWithoutStatement(session.find(Book.class, 2), statistics));
+        String publisherJson = sessionFactory.fromSession(session -> serializeWithoutStatement(session.find(Publisher.class, 1), statistics));
+
+        assertJson("{\"id\":2,\"title\":\"Spring Data Events\",\"publisher\":1}", bookJson);
+        assertJson("{\"id\":1,\"name\":\"Sipios\",\"books\":null}", publisherJson);
+    }
+
+    @Test
+    void testInitializedAssociationsAreWritten() throws Exception {
+        sessionFactory.inTransaction(session -> {
+            Publisher publisher = new Publisher(1, "Sipios", new ArrayList<>());
+            session.persist(publisher);
+            session.persist(new Book(2, "Spring Data Events", publisher));
+        });
+
+        String json = sessionFactory.fromSession(session ->
+                serialize(session.createSelectionQuery("from Publisher p join fetch p.books", Publisher.class).getSingleResult()));
+
+        assertJson("{\"id\":1,\"name\":\"Sipios\",\"books\":[{\"id\":2,\"title\":\"Spring Data Events\",\"publisher\":1}]}", json);
+    }
+
+    @Test
+    void testAssociationsBelowMaxDepthAreWrittenAsIdentifiers() throws Exception {
+        Warehouse warehouse = new Warehouse(1, "Paris", new Address(7, "Rivoli"));
+        Shelf shelf = new Shelf(2, warehouse);
+        Parcel parcel = new Parcel(3, "fragile", shelf);
+
+        String json = serialize(parcel);
+
+        assertJson("{\"id\":3,\"label\":\"fragile\",\"shelf\":{\"id\":2,\"warehouse\":1}}", json);
+    }
+
+    @Test
+    void testMaxDepthZeroWritesEveryAssociationAsIdentifier() throws Exception {
+        Warehouse warehouse = new Warehouse(1, "Paris", new Address(7, "Rivoli"));
+
+        String json = serialize(new Pallet(4, new Shelf(2, warehouse)));
+
+        assertJson("{\"id\":4,\"shelf\":2}", json);
+    }
+
+    @Test
+    void testUnlimitedDepthByDefault() throws Exception {
+        Warehouse warehouse = new Warehouse(1, "Paris", new Address(7, "Rivoli"));
+
+        String json = serialize(new Shelf(2, warehouse));
+
+        assertJson("{\"id\":2,\"warehouse\":{\"id\":1,\"city\":\"Paris\",\"address\":{\"id\":7,\"street\":\"Rivoli\"}}}", json);
+    }
+
+    @Test
+    void testProjectionIncludesAndExcludesProperties() throws Exception {
+        assertJson("{\"id\":1,\"name\":\"Jane\"}", serialize(new IncludedCustomer(1, "Jane", "secret")));
+        assertJson("{\"id\":1,\"name\":\"Jane\"}", serialize(new ExcludedCustomer(1, "Jane", "secret")));
+    }
+
+    @Test
+    void testProjectionAppliesToDeltaPayload() throws Exception {
+        EntityPersister persister = mock(EntityPersister.class);
+        when(persister.getPropertyNames()).thenReturn(new String[]{"name", "password"});
+        when(persister.getIdentifierPropertyName()).thenReturn("id");
+        ExcludedCustomer customer = new ExcludedCustomer(1, "John", "new");
+        DataEvent event = new DataEvent(DataEventType.UPDATED, customer, registry.getMetadata(customer), 1, persister,
+                new Object[]{"John", "new"}, new Object[]{"Jane", "old"}, new int[]{0, 1});
+
+        String json = serializer.serializeToString(event);
+
+        assertJson("{\"id\":1,\"changes\":{\"name\":\"John\"}}", json);
+    }
+
+    private static void assertJson(String expected, String actual) throws Exception {
+        assertEquals(new JSONObject(expected).toString(), new JSONObject(actual).toString());
+    }
+
+    private String serializeWithoutStatement(Object entity, Statistics statistics) {
+        long statements = statistics.getPrepareStatementCount();
+        String json = serialize(entity);
+        assertEquals(statements, statistics.getPrepareStatementCount());
+        return json;
+    }
+
+    private String serialize(Object entity) {
+        return serializer.serializeToString(new DataEvent(DataEventType.CREATED, entity, registry.getMetadata(entity)));
+    }
+
+    @Entity(name = "Publisher")
+    @DataEventEntity
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Publisher {
+        @Id
+        private int id;
+        private String name;
+        @OneToMany(mappedBy = "publisher")
+        private List<Book> books;
+    }
+
+    @Entity(name = "Book")
+    @DataEventEntity
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Book {
+        @Id
+        private int id;
+        private String title;
+        @ManyToOne(fetch = FetchType.LAZY)
+        private Publisher publisher;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Address {
+        private int id;
+        private String street;
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Warehouse {
+        private int id;
+        private String city;
+        private Address address;
+    }
+
+    @DataEventEntity
+    @Getter
+    @AllArgsConstructor
+    public static class Shelf {
+        private int id;
+        private Warehouse warehouse;
+    }
+
+    @DataEventEntity(maxDepth = 1)
+    @Getter
+    @AllArgsConstructor
+    public static class Parcel {
+        private int id;
+        private String label;
+        private Shelf shelf;
+    }
+
+    @DataEventEntity(maxDepth = 0)
+    @Getter
+    @AllArgsConstructor
+    public static class Pallet {
+        private int id;
+        private Shelf shelf;
+    }
+
+    @DataEventEntity(includes = {"id", "name"})
+    @Getter
+    @AllArgsConstructor
+    public static class IncludedCustomer {
+        private int id;
+        private String name;
+        private String password;
+    }
+
+    @DataEventEntity(payload = PayloadMode.DELTA, excludes = "password")
+    @Getter
+    @AllArgsConstructor
+    public static class ExcludedCustomer {
+        private int id;
+        private String name;
+        private String password;
+    }
+}
@@ -0,0 +1,243 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.avro.AvroMapper;
+import com.fasterxml.jackson.dataformat.cbor.CBORFactory;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.annotation.SerializationFormat;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+import org.mockito.ArgumentCaptor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+public class EventSerializersTest {
+
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> binaryKafkaTemplate;
+    private DataEventBroadcaster broadcaster;
+    private DataEventProperties properties;
+    private EventSerializers eventSerializers;
+    private DataEventMetadataRegistry registry;
+
+    @BeforeEach
+    void beforeEach() {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        binaryKafkaTemplate = mock(KafkaTemplate.class);
+        broadcaster = new DataEventBroadcaster(kafkaTemplate, new ObjectMapper());
+        broadcaster.setBinaryKafkaTemplate(binaryKafkaTemplate);
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.completedFuture(null));
+        when(binaryKafkaTemplate.send(any(String.class), any(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        properties = new DataEventProperties();
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        eventSerializers = new EventSerializers(broadcaster, properties, extensions);
+        registry = new DataEventMetadataRegistry(eventSerializers, extensions);
+    }
+
+    @Test
+    void testJsonIsTheDefaultFormat() {
+        assertSame(broadcaster.getJsonSerializer(), eventSerializers.getSerializer(SerializationFormat.DEFAULT));
+    }
+
+    @Test
+    void testDefaultFormatFollowsProperties() {
+        properties.setSerializationFormat(SerializationFormat.CBOR);
+
+        assertSame(eventSerializers.getSerializer(SerializationFormat.CBOR), eventSerializers.getSerializer(SerializationFormat.DEFAULT));
+    }
+
+    @Test
+    void testJsonEventsAreSentAsText() {
+        TestEntity entity = new TestEntity(1, "Test Name");
+
+        broadcaster.broadcast(createEvent(entity));
+
+        verify(kafkaTemplate).send("testentity.created", "1", "{\"id\":1,\"name\":\"Test Name\"}");
+        verifyNoInteractions(binaryKafkaTemplate);
+    }
+
+    @Test
+    void testJsonEventsAreSentAsBytesWhenConfigured() {
+        properties.setSerializationJsonAsBytes(true);
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        registry = new DataEventMetadataRegistry(new EventSerializers(broadcaster, properties, extensions), extensions);
+
+        broadcaster.broadcast(createEvent(new TestEntity(1, "Test Name")));
+
+        assertArrayEquals("{\"id\":1,\"name\":\"Test Name\"}".getBytes(StandardCharsets.UTF_8), captureBinaryPayload("testentity.created"));
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @Test
+    void testSmileEventsAreSentAsBytes() throws Exception {
+        TestEntity entity = new TestEntity(1, "Test Name");
+
+        broadcaster.broadcast(createEvent(new SmileEntity(1, "Test Name")));
+
+        byte[] payload = captureBinaryPayload("smileentity.created");
+        TestEntity actual = new ObjectMapper(new SmileFactory()).readValue(payload, TestEntity.class);
+        assertEquals(entity.getName(), actual.getName());
+        verifyNoInteractions(kafkaTemplate);
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SerializationFormat.class, names = {"SMILE", "CBOR"})
+    void testBinaryJacksonFormatsRoundTrip(SerializationFormat format) throws Exception {
+        TestEntity entity = new TestEntity(1, "Test Name");
+        ObjectMapper reader = format == SerializationFormat.SMILE ? new ObjectMapper(new SmileFactory()) : new ObjectMapper(new CBORFactory());
+
+        byte[] payload = eventSerializers.getSerializer(format).serialize(createEvent(entity));
+
+        TestEntity actual = reader.readValue(payload, TestEntity.class);
+        assertEquals(1, actual.getId());
+        assertEquals("Test Name", actual.getName());
+    }
+
+    @Test
+    void testBinaryJacksonEnvelope() throws Exception {
+        EventSerializer serializer = eventSerializers.getSerializer(SerializationFormat.CBOR);
+
+        byte[] payload = serializer.serializeEnvelope(List.of(createEvent(new TestEntity(1, "First")), createEvent(new TestEntity(2, "Second"))));
+
+        TestEntity[] actual = new ObjectMapper(new CBORFactory()).readValue(payload, TestEntity[].class);
+        assertEquals(2, actual.length);
+        assertEquals("Second", actual[1].getName());
+    }
+
+    @Test
+    void testAvroRoundTrip() throws Exception {
+        AvroEventSerializer serializer = (AvroEventSerializer) eventSerializers.getSerializer(SerializationFormat.AVRO);
+        AvroMapper avroMapper = new AvroMapper();
+
+        byte[] payload = serializer.serialize(createEvent(new TestEntity(1, "Test Name")));
+
+        TestEntity actual = avroMapper.readerFor(TestEntity.class).with(serializer.getSchema(TestEntity.class)).readValue(payload);
+        assertEquals(1, actual.getId());
+        assertEquals("Test Name", actual.getName());
+    }
+
+    @ParameterizedTest
+    @EnumSource(value = SerializationFormat.class, names = {"JSON", "AVRO"})
+    void testWarmUp(SerializationFormat format) {
+        assertDoesNotThrow(() -> eventSerializers.getSerializer(format).warmUp(TestEntity.class));
+    }
+
+    @Test
+    void testAvroRejectsLazyAssociations() {
+        EventSerializer serializer = eventSerializers.getSerializer(SerializationFormat.AVRO);
+
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class, () -> serializer.warmUp(LazyOrderEntity.class));
+        assertTrue(error.getMessage().contains("LazyCustomer.orders"));
+        assertDoesNotThrow(() -> serializer.warmUp(EagerOrderEntity.class));
+    }
+
+    @Test
+    void testWarmUpRejectsEntitiesWithoutIdentifierProperty() {
+        IllegalArgumentException error = assertThrows(IllegalArgumentException.class,
+                () -> broadcaster.getJsonSerializer().warmUp(CustomSerializerEntity.class));
+
+        assertEquals("Could not build the serializer of " + CustomSerializerEntity.class.getName(), error.getMessage());
+    }
+
+    @Test
+    void testCustomSerializer() {
+        DataEventMetadata metadata = registry.getMetadata(CustomSerializerEntity.class);
+
+        assertInstanceOf(UpperCaseSerializer.class, metadata.serializer());
+        assertSame(metadata.serializer(), eventSerializers.getSerializer(CustomSerializerEntity.class.getAnnotation(DataEventEntity.class)));
+    }
+
+    private byte[] captureBinaryPayload(String topic) {
+        ArgumentCaptor<byte[]> payloadCaptor = ArgumentCaptor.forClass(byte[].class);
+        verify(binaryKafkaTemplate).send(eq(topic), eq("1"), payloadCaptor.capture());
+        return payloadCaptor.getValue();
+    }
+
+    private DataEvent createEvent(Object entity) {
+        return new DataEvent(DataEventType.CREATED, entity, registry.getMetadata(entity));
+    }
+
+    @DataEventEntity
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class TestEntity {
+        private int id;
+        private String name;
+    }
+
+    @Entity
+    @Getter
+    public static class LazyOrderEntity {
+        @Id
+        private int id;
+        @ManyToOne
+        private LazyCustomer customer;
+    }
+
+    @Entity
+    @Getter
+    public static class LazyCustomer {
+        @Id
+        private int id;
+        @OneToMany
+        private List<LazyOrderEntity> orders;
+    }
+
+    @Entity
+    @Getter
+    public static class EagerOrderEntity {
+        @Id
+        private int id;
+        @OneToMany(fetch = FetchType.EAGER)
+        private List<TestEntity> lines;
+    }
+
+    @DataEventEntity(format = SerializationFormat.SMILE)
+    public static class SmileEntity extends TestEntity {
+        public SmileEntity(int id, String name) {
+            super(id, name);
+        }
+    }
+
+    @DataEventEntity(serializer = UpperCaseSerializer.class)
+    public static class CustomSerializerEntity {
+    }
+
+    public static class UpperCaseSerializer implements EventSerializer {
+        @Override
+        public byte[] serialize(DataEvent event) {
+            return event.entity().toString().toUpperCase().getBytes(StandardCharsets.UTF_8);
+        }
+    }
+}
@@ -0,0 +1,65 @@
+package com.sipios.spring.data.event.serializer;
+
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class SerializationBuffersTest {
+
+    private final SerializationBuffers buffers = new SerializationBuffers(4);
+
+    @Test
+    void testReleasedBufferIsReusedEmpty() {
+        SerializationBuffers.Buffer buffer = buffers.acquire();
+        buffer.write("first".getBytes(StandardCharsets.UTF_8), 0, 5);
+        buffers.release(buffer);
+
+        SerializationBuffers.Buffer reused = buffers.acquire();
+
+        assertSame(buffer, reused);
+        assertEquals(0, reused.size());
+    }
+
+    @Test
+    void testAcquiredBufferIsNotShared() {
+        SerializationBuffers.Buffer first = buffers.acquire();
+        SerializationBuffers.Buffer second = buffers.acquire();
+
+        assertNotSame(first, second);
+    }
+
+    @Test
+    void testBufferGrowsAndCopiesExactSize() {
+        SerializationBuffers.Buffer buffer = buffers.acquire();
+        byte[] payload = new byte[SerializationBuffers.INITIAL_CAPACITY * 3 + 1];
+        payload[payload.length - 1] = 42;
+
+        buffer.write(payload, 0, payload.length);
+        buffer.write('}');
+
+        byte[] bytes = buffer.toByteArray();
+        assertEquals(payload.length + 1, bytes.length);
+        assertEquals(42, bytes[payload.length - 1]);
+        assertEquals('}', bytes[payload.length]);
+    }
+
+    @Test
+    void testOversizedBufferIsNotRetained() {
+        SerializationBuffers.Buffer buffer = buffers.acquire();
+        buffer.write(new byte[SerializationBuffers.MAX_RETAINED_CAPACITY + 1], 0, SerializationBuffers.MAX_RETAINED_CAPACITY + 1);
+        buffers.release(buffer);
+
+        assertNotSame(buffer, buffers.acquire());
+    }
+
+    @Test
+    void testUtf8String() {
+        SerializationBuffers.Buffer buffer = buffers.acquire();
+        byte[] payload = "{\"name\":\"Élodie\"}".getBytes(StandardCharsets.UTF_8);
+        buffer.write(payload, 0, payload.length);
+
+        assertEquals("{\"name\":\"Élodie\"}", buffer.toUtf8String());
+    }
+}
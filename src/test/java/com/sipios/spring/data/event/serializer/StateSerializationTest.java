@@ -0,0 +1,186 @@
+package com.sipios.spring.data.event.serializer;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.annotation.PayloadSource;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import jakarta.persistence.Entity;
+import jakarta.persistence.FetchType;
+import jakarta.persistence.Id;
+import jakarta.persistence.ManyToOne;
+import jakarta.persistence.OneToMany;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.NoArgsConstructor;
+import lombok.Setter;
+import org.hibernate.Session;
+import org.hibernate.SessionFactory;
+import org.hibernate.boot.MetadataSources;
+import org.hibernate.boot.registry.StandardServiceRegistryBuilder;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.engine.spi.SessionImplementor;
+import org.hibernate.persister.entity.EntityPersister;
+import org.json.JSONArray;
+import org.json.JSONObject;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.Mockito.mock;
+
+public class StateSerializationTest {
+
+    private SessionFactory sessionFactory;
+    private JacksonEventSerializer serializer;
+    private DataEventMetadataRegistry registry;
+
+    @BeforeEach
+    void beforeEach() {
+        sessionFactory = new MetadataSources(new StandardServiceRegistryBuilder()
+                .applySetting(AvailableSettings.JAKARTA_JDBC_URL, "jdbc:h2:mem:state;DB_CLOSE_DELAY=-1")
+                .applySetting(AvailableSettings.HBM2DDL_AUTO, "create-drop")
+                .build())
+                .addAnnotatedClass(Team.class)
+                .addAnnotatedClass(Player.class)
+                .addAnnotatedClass(Coach.class)
+                .buildMetadata()
+                .buildSessionFactory();
+        DataEventBroadcaster broadcaster = new DataEventBroadcaster(mock(KafkaTemplate.class), new ObjectMapper());
+        serializer = broadcaster.getJsonSerializer();
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        registry = new DataEventMetadataRegistry(new EventSerializers(broadcaster, new DataEventProperties(), extensions), extensions);
+        sessionFactory.inTransaction(session -> {
+            Team team = new Team(1, "Sipios", 11L, true, new ArrayList<>());
+            session.persist(team);
+            session.persist(new Player(2, "Jane", 10, team));
+            session.persist(new Player(3, "John", 7, team));
+            session.persist(new Coach(4, "Alex", "secret", team));
+        });
+    }
+
+    @AfterEach
+    void afterEach() {
+        sessionFactory.close();
+    }
+
+    @Test
+    void testStateIsWrittenWithAssociationsAsIdentifiers() throws Exception {
+        String json = sessionFactory.fromSession(session -> serializeState(session, session.find(Player.class, 2)));
+
+        assertJson("{\"id\":2,\"name\":\"Jane\",\"number\":10,\"team\":1}", json);
+    }
+
+    @Test
+    void testStateIsWrittenInsteadOfEntity() throws Exception {
+        String json = sessionFactory.fromSession(session -> {
+            Player player = session.find(Player.class, 2);
+            player.setName("Renamed");
+            return serializeState(session, player);
+        });
+
+        assertJson("{\"id\":2,\"name\":\"Jane\",\"number\":10,\"team\":1}", json);
+    }
+
+    @Test
+    void testUninitializedCollectionsAreWrittenAsNull() throws Exception {
+        String json = sessionFactory.fromSession(session -> serializeState(session, session.find(Team.class, 1)));
+
+        assertJson("{\"id\":1,\"name\":\"Sipios\",\"size\":11,\"active\":true,\"players\":null}", json);
+    }
+
+    @Test
+    void testInitializedCollectionsAreWrittenAsIdentifiers() throws Exception {
+        String json = sessionFactory.fromSession(session -> serializeState(session,
+                session.createSelectionQuery("from Team t join fetch t.players", Team.class).getSingleResult()));
+
+        JSONArray players = new JSONObject(json).getJSONArray("players");
+        assertEquals(2, players.length());
+        assertEquals(5, players.getInt(0) + players.getInt(1));
+    }
+
+    @Test
+    void testStateHonoursProjection() throws Exception {
+        String json = sessionFactory.fromSession(session -> serializeState(session, session.find(Coach.class, 4)));
+
+        assertJson("{\"id\":4,\"name\":\"Alex\",\"team\":1}", json);
+    }
+
+    @Test
+    void testEntityIsWrittenWithoutState() throws Exception {
+        String json = sessionFactory.fromSession(session -> {
+            Player player = session.find(Player.class, 2);
+            return serializer.serializeToString(new DataEvent(DataEventType.CREATED, player, registry.getMetadata(player)));
+        });
+
+        assertJson("{\"id\":2,\"name\":\"Jane\",\"number\":10,\"team\":1}", json);
+    }
+
+    private static void assertJson(String expected, String actual) throws Exception {
+        assertEquals(new JSONObject(expected).toString(), new JSONObject(actual).toString());
+    }
+
+    private String serializeState(Session session, Object entity) {
+        SessionImplementor implementor = (SessionImplementor) session;
+        EntityPersister persister = implementor.getEntityPersister(null, entity);
+        Object[] state = implementor.getPersistenceContext().getEntry(entity).getLoadedState();
+        return serializer.serializeToString(new DataEvent(DataEventType.CREATED, entity, registry.getMetadata(entity),
+                persister.getIdentifier(entity, implementor), persister, state, null, null));
+    }
+
+    @Entity(name = "Team")
+    @DataEventEntity(source = PayloadSource.STATE)
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Team {
+        @Id
+        private int id;
+        private String name;
+        private Long size;
+        private Boolean active;
+        @OneToMany(mappedBy = "team")
+        private List<Player> players;
+    }
+
+    @Entity(name = "Player")
+    @DataEventEntity(source = PayloadSource.STATE)
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Player {
+        @Id
+        private int id;
+        private String name;
+        private int number;
+        @ManyToOne(fetch = FetchType.LAZY)
+        private Team team;
+    }
+
+    @Entity(name = "Coach")
+    @DataEventEntity(source = PayloadSource.STATE, excludes = "password")
+    @Getter
+    @Setter
+    @AllArgsConstructor
+    @NoArgsConstructor
+    public static class Coach {
+        @Id
+        private int id;
+        private String name;
+        private String password;
+        @ManyToOne(fetch = FetchType.LAZY)
+        private Team team;
+    }
+}
@@ -0,0 +1,191 @@
+package com.sipios.spring.data.event.sink;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.dataformat.smile.SmileFactory;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.key.IdentifierKeyStrategy;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.model.DataEventRecord;
+import com.sipios.spring.data.event.serializer.JacksonEventSerializer;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Base64;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class DataEventSinkTest {
+
+    @TempDir
+    Path directory;
+
+    private DataEventBroadcaster broadcaster;
+    private KafkaTemplate<String, byte[]> binaryKafkaTemplate;
+    private FileDataEventSink fileSink;
+
+    @BeforeEach
+    @SuppressWarnings("unchecked")
+    void beforeEach() {
+        broadcaster = new DataEventBroadcaster(mock(KafkaTemplate.class), new ObjectMapper());
+        binaryKafkaTemplate = mock(KafkaTemplate.class);
+        when(binaryKafkaTemplate.send(any(String.class), any(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+        broadcaster.setBinaryKafkaTemplate(binaryKafkaTemplate);
+        DataEventProperties properties = new DataEventProperties();
+        properties.setSinkFileDirectory(directory.toString());
+        fileSink = new FileDataEventSink(properties);
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        fileSink.close();
+    }
+
+    @Test
+    void testLocalSinkPublishesEventsWithoutSerializingThem() {
+        ApplicationEventPublisher publisher = mock(ApplicationEventPublisher.class);
+        SinkEvent event = sinkEvent(DataEventType.CREATED, new Counter(1, 10), broadcaster.getJsonSerializer());
+
+        new LocalDataEventSink(publisher).publish(List.of(event));
+
+        verify(publisher).publishEvent(event.event());
+        assertFalse(event.isSerialized());
+    }
+
+    @Test
+    void testKafkaSinkSendsTheSharedRecord() {
+        SinkEvent event = sinkEvent(DataEventType.UPDATED, new Counter(1, 10), broadcaster.getJsonSerializer());
+
+        new KafkaDataEventSink(broadcaster).publish(List.of(event));
+
+        verify(binaryKafkaTemplate).send("counter.updated", "1", event.record().payload());
+        verify(binaryKafkaTemplate, never()).flush();
+    }
+
+    @Test
+    void testKafkaSinkAwaitsBatches() {
+        SinkEvent event = sinkEvent(DataEventType.UPDATED, new Counter(1, 10), broadcaster.getJsonSerializer());
+        DataEventProperties properties = new DataEventProperties();
+        properties.setBatchEnabled(true);
+        KafkaDataEventSink sink = new KafkaDataEventSink(broadcaster);
+        sink.configure(properties);
+
+        sink.publish(List.of(event));
+
+        verify(binaryKafkaTemplate).send("counter.updated", "1", event.record().payload());
+        verify(binaryKafkaTemplate).flush();
+    }
+
+    @Test
+    void testFileSinkAppendsOneLinePerEvent() throws Exception {
+        fileSink.publish(List.of(
+                sinkEvent(DataEventType.CREATED, new Counter(1, 10), broadcaster.getJsonSerializer()),
+                sinkEvent(DataEventType.UPDATED, new Counter(1, 11), broadcaster.getJsonSerializer())));
+        fileSink.publish(List.of(sinkEvent(DataEventType.DELETED, new Counter(2, 0), broadcaster.getJsonSerializer())));
+
+        List<String> created = Files.readAllLines(directory.resolve("counter.created.log"));
+        List<String> deleted = Files.readAllLines(directory.resolve("counter.deleted.log"));
+        assertEquals(1, created.size());
+        assertTrue(created.get(0).endsWith("\tcreated\t1\t{\"id\":1,\"value\":10}"));
+        assertEquals(1, Files.readAllLines(directory.resolve("counter.updated.log")).size());
+        assertTrue(deleted.get(0).endsWith("\tdeleted\t2\t{\"id\":2,\"value\":0}"));
+    }
+
+    @Test
+    void testFileSinkEncodesBinaryPayloads() throws Exception {
+        JacksonEventSerializer smileSerializer = new JacksonEventSerializer(broadcaster.getObjectMapper().copyWith(new SmileFactory()));
+        SinkEvent event = sinkEvent(DataEventType.CREATED, new Counter(1, 10), smileSerializer);
+
+        fileSink.publish(List.of(event));
+
+        String[] fields = Files.readAllLines(directory.resolve("counter.created.log")).get(0).split("\t");
+        assertEquals(4, fields.length);
+        assertArrayEquals(event.record().payload(), Base64.getDecoder().decode(fields[3].getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Test
+    void testFileSinkRejectsTopicsThatAreNotKafkaTopics() {
+        for (String topic : List.of("../counter", "counter/created", "..", "counter created", "")) {
+            SinkEvent event = recordEvent(topic);
+
+            assertThrows(IllegalArgumentException.class, () -> fileSink.publish(List.of(event)), topic);
+        }
+        assertFalse(Files.exists(directory.resolveSibling("counter.log")));
+        assertEquals(0, fileSink.getOpenFileCount());
+    }
+
+    @Test
+    void testFileSinkClosesTheLeastRecentlyWrittenFiles() throws Exception {
+        DataEventProperties properties = new DataEventProperties();
+        properties.setSinkFileDirectory(directory.toString());
+        properties.setSinkFileMaxOpenFiles(2);
+        FileDataEventSink sink = new FileDataEventSink(properties);
+        try {
+            for (String topic : List.of("first", "second", "first", "third", "second")) {
+                sink.publish(List.of(recordEvent(topic)));
+                assertTrue(sink.getOpenFileCount() <= 2);
+            }
+        } finally {
+            sink.close();
+        }
+
+        assertEquals(2, Files.readAllLines(directory.resolve("first.log")).size());
+        assertEquals(2, Files.readAllLines(directory.resolve("second.log")).size());
+        assertEquals(1, Files.readAllLines(directory.resolve("third.log")).size());
+    }
+
+    @Test
+    void testEventIsSerializedOnce() {
+        int[] serializations = new int[1];
+        DataEvent dataEvent = sinkEvent(DataEventType.CREATED, new Counter(1, 10), broadcaster.getJsonSerializer()).event();
+        SinkEvent event = new SinkEvent(dataEvent, serialized -> {
+            serializations[0]++;
+            return broadcaster.serialize(serialized);
+        });
+
+        new KafkaDataEventSink(broadcaster).publish(List.of(event));
+        fileSink.publish(List.of(event));
+
+        assertEquals(1, serializations[0]);
+    }
+
+    private SinkEvent sinkEvent(DataEventType type, Counter counter, JacksonEventSerializer serializer) {
+        DataEventMetadata metadata = DataEventMetadata.builder()
+                .entityClass(Counter.class)
+                .enabled(true)
+                .creationTopic("counter.created")
+                .updateTopic("counter.updated")
+                .deletionTopic("counter.deleted")
+                .serializer(serializer)
+                .keyStrategy(IdentifierKeyStrategy.forEntity(Counter.class, null))
+                .build();
+        return new SinkEvent(new DataEvent(type, counter, metadata), broadcaster::serialize);
+    }
+
+    private SinkEvent recordEvent(String topic) {
+        DataEvent dataEvent = sinkEvent(DataEventType.CREATED, new Counter(1, 10), broadcaster.getJsonSerializer()).event();
+        return new SinkEvent(dataEvent, event -> new DataEventRecord(topic, "1", "{}".getBytes(StandardCharsets.UTF_8)));
+    }
+
+    @Getter
+    @AllArgsConstructor
+    public static class Counter {
+        private int id;
+        private int value;
+    }
+}
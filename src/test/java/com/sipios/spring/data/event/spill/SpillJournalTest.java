@@ -0,0 +1,195 @@
+package com.sipios.spring.data.event.spill;
+
+import com.sipios.spring.data.event.annotation.RecordCompression;
+import com.sipios.spring.data.event.model.DataEventRecord;
+import org.apache.kafka.common.header.Header;
+import org.apache.kafka.common.header.internals.RecordHeader;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.List;
+import java.util.stream.IntStream;
+import java.util.stream.Stream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SpillJournalTest {
+
+    private static final long SEGMENT_BYTES = 256;
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void testRecordsAreReadInAppendOrder() throws Exception {
+        try (SpillJournal journal = SpillJournal.open(directory, SEGMENT_BYTES, 4 * SEGMENT_BYTES)) {
+            assertTrue(journal.append(record(1)));
+            assertTrue(journal.append(new DataEventRecord("entity.deleted", null, payload(2))));
+
+            List<DataEventRecord> records = journal.read(10).records();
+
+            assertEquals(2, records.size());
+            assertRecord(record(1), records.get(0));
+            assertEquals("entity.deleted", records.get(1).topic());
+            assertNull(records.get(1).key());
+            assertEquals(2, journal.getPendingRecordCount());
+        }
+    }
+
+    @Test
+    void testRecordsKeepTheirHeadersAndCompression() throws Exception {
+        try (SpillJournal journal = SpillJournal.open(directory, SEGMENT_BYTES, 4 * SEGMENT_BYTES)) {
+            journal.append(new DataEventRecord("entity.created", "1", payload(1), List.of(
+                    new RecordHeader("data-event-type", "created".getBytes(StandardCharsets.UTF_8)),
+                    new RecordHeader("empty", null)), RecordCompression.ZSTD));
+            journal.append(record(2));
+
+            List<DataEventRecord> records = journal.read(10).records();
+
+            List<Header> headers = records.get(0).headers();
+            assertEquals(List.of("data-event-type", "empty"), headers.stream().map(Header::key).toList());
+            assertArrayEquals("created".getBytes(StandardCharsets.UTF_8), headers.get(0).value());
+            assertNull(headers.get(1).value());
+            assertArrayEquals(payload(1), records.get(0).payload());
+            assertEquals(RecordCompression.ZSTD, records.get(0).compression());
+            assertNull(records.get(1).headers());
+            assertNull(records.get(1).compression());
+        }
+    }
+
+    @Test
+    void testAcknowledgedRecordsAreNotReadAgain() throws Exception {
+        try (SpillJournal journal = SpillJournal.open(directory, SEGMENT_BYTES, 4 * SEGMENT_BYTES)) {
+            journal.append(record(1));
+            journal.append(record(2));
+            journal.append(record(3));
+
+            journal.acknowledge(journal.read(2));
+
+            List<DataEventRecord> records = journal.read(10).records();
+            assertEquals(1, records.size());
+            assertRecord(record(3), records.get(0));
+            journal.acknowledge(journal.read(10));
+            assertTrue(journal.isEmpty());
+            assertEquals(0, journal.getPendingBytes());
+        }
+    }
+
+    @Test
+    void testSegmentsRollOverAndAreDeletedOnceAcknowledged() throws Exception {
+        try (SpillJournal journal = SpillJournal.open(directory, SEGMENT_BYTES, 4 * SEGMENT_BYTES)) {
+            IntStream.range(0, 10).forEach(id -> assertTrue(journal.append(record(id))));
+            assertTrue(segmentCount() > 1);
+
+            SpillJournal.Batch batch = journal.read(100);
+            assertEquals(IntStream.range(0, 10).boxed().toList(), batch.records().stream().map(record -> Integer.parseInt(record.key())).toList());
+            journal.acknowledge(batch);
+
+            assertEquals(1, segmentCount());
+            assertTrue(journal.isEmpty());
+        }
+    }
+
+    @Test
+    void testAppendFailsOnceTheDiskBudgetIsUsed() throws Exception {
+        try (SpillJournal journal = SpillJournal.open(directory, SEGMENT_BYTES, 2 * SEGMENT_BYTES)) {
+            int appended = 0;
+            while (journal.append(record(appended))) {
+                appended++;
+            }
+
+            assertEquals(2, segmentCount());
+            assertEquals(2 * SEGMENT_BYTES, journal.getSize());
+            assertFalse(journal.append(new DataEventRecord("entity.created", "1", new byte[(int) SEGMENT_BYTES])));
+            journal.acknowledge(journal.read(appended));
+            assertTrue(journal.append(record(appended)));
+        }
+    }
+
+    @Test
+    void testSingleSegmentIsReusedOnceAcknowledged() throws Exception {
+        try (SpillJournal journal = SpillJournal.open(directory, SEGMENT_BYTES, SEGMENT_BYTES)) {
+            int appended = 0;
+            while (journal.append(record(appended))) {
+                appended++;
+            }
+            journal.acknowledge(journal.read(appended));
+
+            assertTrue(journal.append(record(appended)));
+            assertEquals(1, segmentCount());
+            assertEquals(List.of(String.valueOf(appended)), journal.read(100).records().stream().map(DataEventRecord::key).toList());
+        }
+
+        try (SpillJournal journal = SpillJournal.open(directory, SEGMENT_BYTES, SEGMENT_BYTES)) {
+            assertEquals(1, journal.getPendingRecordCount());
+        }
+    }
+
+    @Test
+    void testPendingRecordsAreRecoveredOnReopen() throws Exception {
+        try (SpillJournal journal = SpillJournal.open(directory, SEGMENT_BYTES, 4 * SEGMENT_BYTES)) {
+            IntStream.range(0, 8).forEach(id -> journal.append(record(id)));
+            journal.acknowledge(journal.read(3));
+        }
+
+        try (SpillJournal journal = SpillJournal.open(directory, SEGMENT_BYTES, 4 * SEGMENT_BYTES)) {
+            assertEquals(5, journal.getPendingRecordCount());
+            List<DataEventRecord> records = journal.read(100).records();
+            assertEquals(List.of("3", "4", "5", "6", "7"), records.stream().map(DataEventRecord::key).toList());
+            assertTrue(journal.append(record(8)));
+            assertEquals(6, journal.read(100).records().size());
+        }
+    }
+
+    @Test
+    void testTornRecordIsIgnoredOnReopen() throws Exception {
+        try (SpillJournal journal = SpillJournal.open(directory, SEGMENT_BYTES, 4 * SEGMENT_BYTES)) {
+            journal.append(record(1));
+            journal.append(record(2));
+        }
+        Path segment;
+        try (Stream<Path> files = Files.list(directory)) {
+            segment = files.filter(file -> file.getFileName().toString().startsWith("spill-")).findFirst().orElseThrow();
+        }
+        int secondRecord = 8 + 2 + "entity.created".length() + 4 + 1 + payload(1).length;
+        try (FileChannel channel = FileChannel.open(segment, StandardOpenOption.WRITE)) {
+            channel.write(ByteBuffer.wrap(new byte[]{42}), secondRecord + 12);
+        }
+
+        try (SpillJournal journal = SpillJournal.open(directory, SEGMENT_BYTES, 4 * SEGMENT_BYTES)) {
+            assertEquals(1, journal.getPendingRecordCount());
+            assertRecord(record(1), journal.read(10).records().get(0));
+        }
+    }
+
+    private long segmentCount() throws IOException {
+        try (Stream<Path> files = Files.list(directory)) {
+            return files.filter(file -> file.getFileName().toString().startsWith("spill-")).count();
+        }
+    }
+
+    private static DataEventRecord record(int id) {
+        return new DataEventRecord("entity.created", String.valueOf(id), payload(id));
+    }
+
+    private static byte[] payload(int id) {
+        return ("{\"id\":" + id + ",\"name\":\"Name\"}").getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static void assertRecord(DataEventRecord expected, DataEventRecord actual) {
+        assertEquals(expected.topic(), actual.topic());
+        assertEquals(expected.key(), actual.key());
+        assertArrayEquals(expected.payload(), actual.payload());
+    }
+}
@@ -0,0 +1,127 @@
+package com.sipios.spring.data.event.spill;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.annotation.DataEventEntity;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventExtensions;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.metrics.DataEventMetrics;
+import com.sipios.spring.data.event.model.DataEvent;
+import com.sipios.spring.data.event.serializer.EventSerializers;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.apache.kafka.common.errors.TimeoutException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InOrder;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.KafkaTemplate;
+
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.*;
+
+public class SpillReplayerTest {
+
+    @TempDir
+    Path directory;
+
+    private KafkaTemplate<String, String> kafkaTemplate;
+    private KafkaTemplate<String, byte[]> binaryKafkaTemplate;
+    private DataEventBroadcaster broadcaster;
+    private DataEventMetadataRegistry registry;
+    private SpillReplayer replayer;
+
+    @BeforeEach
+    void beforeEach() throws Exception {
+        kafkaTemplate = mock(KafkaTemplate.class);
+        binaryKafkaTemplate = mock(KafkaTemplate.class);
+        broadcaster = new DataEventBroadcaster(kafkaTemplate, new ObjectMapper());
+        broadcaster.setBinaryKafkaTemplate(binaryKafkaTemplate);
+        DataEventProperties properties = new DataEventProperties();
+        properties.setSpillEnabled(true);
+        properties.setSpillDirectory(directory.toString());
+        DataEventExtensions extensions = new DataEventExtensions(new DefaultListableBeanFactory());
+        registry = new DataEventMetadataRegistry(new EventSerializers(broadcaster, properties, extensions), extensions);
+        replayer = new SpillReplayer(broadcaster, properties, DataEventMetrics.NOOP);
+        replayer.open();
+    }
+
+    @AfterEach
+    void afterEach() throws Exception {
+        replayer.stop();
+    }
+
+    @Test
+    void testEventsAreSpilledDuringAnOutageAndReplayedInOrder() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")));
+        when(binaryKafkaTemplate.send(any(String.class), any(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        broadcaster.broadcast(createEvent(new SpilledEntity(1, "First")));
+        broadcaster.broadcast(createEvent(new SpilledEntity(2, "Second")));
+
+        verify(kafkaTemplate, times(1)).send(any(String.class), any(), any(String.class));
+        assertEquals(2, replayer.replay());
+        InOrder inOrder = inOrder(binaryKafkaTemplate);
+        inOrder.verify(binaryKafkaTemplate).send("spilledentity.created", "1", "{\"id\":1,\"name\":\"First\"}".getBytes(StandardCharsets.UTF_8));
+        inOrder.verify(binaryKafkaTemplate).send("spilledentity.created", "2", "{\"id\":2,\"name\":\"Second\"}".getBytes(StandardCharsets.UTF_8));
+        assertEquals(0, replayer.replay());
+    }
+
+    @Test
+    void testEventsAreSentAgainOnceTheJournalIsReplayed() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+        when(binaryKafkaTemplate.send(any(String.class), any(), any(byte[].class))).thenReturn(CompletableFuture.completedFuture(null));
+
+        broadcaster.broadcast(createEvent(new SpilledEntity(1, "First")));
+        replayer.replay();
+        broadcaster.broadcast(createEvent(new SpilledEntity(2, "Second")));
+
+        verify(kafkaTemplate).send("spilledentity.created", "2", "{\"id\":2,\"name\":\"Second\"}");
+    }
+
+    @Test
+    void testFailedReplayKeepsTheRecords() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")));
+        when(binaryKafkaTemplate.send(any(String.class), any(), any(byte[].class)))
+                .thenReturn(CompletableFuture.failedFuture(new TimeoutException("broker down")))
+                .thenReturn(CompletableFuture.completedFuture(null));
+
+        broadcaster.broadcast(createEvent(new SpilledEntity(1, "First")));
+
+        assertThrows(RuntimeException.class, () -> replayer.replay());
+        assertEquals(1, replayer.replay());
+    }
+
+    @Test
+    void testNonRetriableFailuresAreNotSpilled() {
+        when(kafkaTemplate.send(any(String.class), any(), any(String.class))).thenReturn(CompletableFuture.failedFuture(new IllegalStateException("invalid record")));
+
+        broadcaster.broadcast(createEvent(new SpilledEntity(1, "First")));
+
+        assertEquals(0, replayer.replay());
+    }
+
+    private DataEvent createEvent(Object entity) {
+        return new DataEvent(DataEventType.CREATED, entity, registry.getMetadata(entity));
+    }
+
+    @DataEventEntity
+    @Getter
+    @AllArgsConstructor
+    public static class SpilledEntity {
+        private int id;
+        private String name;
+    }
+}
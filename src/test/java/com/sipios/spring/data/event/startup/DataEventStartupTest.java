@@ -0,0 +1,178 @@
+package com.sipios.spring.data.event.startup;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.sipios.spring.data.event.broadcaster.DataEventBroadcaster;
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.delivery.SendFailurePolicy;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventMetadataRegistry;
+import com.sipios.spring.data.event.serializer.EventSerializer;
+import lombok.Getter;
+import org.apache.kafka.clients.admin.AdminClient;
+import org.apache.kafka.clients.admin.TopicDescription;
+import org.apache.kafka.clients.producer.ProducerConfig;
+import org.apache.kafka.common.serialization.StringSerializer;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.kafka.core.DefaultKafkaProducerFactory;
+import org.springframework.kafka.core.KafkaAdmin;
+import org.springframework.kafka.core.KafkaTemplate;
+import org.springframework.kafka.test.EmbeddedKafkaBroker;
+import org.springframework.kafka.test.EmbeddedKafkaKraftBroker;
+import org.springframework.kafka.test.utils.KafkaTestUtils;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.Mockito.*;
+
+public class DataEventStartupTest {
+
+    private static EmbeddedKafkaBroker broker;
+    private DataEventMetadataRegistry metadataRegistry;
+    private DataEventBroadcaster broadcaster;
+    private DataEventProperties properties;
+    private DefaultListableBeanFactory beanFactory;
+    private DataEventStartup startup;
+
+    @BeforeAll
+    static void startBroker() {
+        broker = new EmbeddedKafkaKraftBroker(1, 1, "order.created", "order.updated", "order.deleted");
+        broker.afterPropertiesSet();
+    }
+
+    @AfterAll
+    static void stopBroker() {
+        broker.destroy();
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        metadataRegistry = mock(DataEventMetadataRegistry.class);
+        Map<String, Object> producerProperties = KafkaTestUtils.producerProps(broker);
+        producerProperties.put(ProducerConfig.KEY_SERIALIZER_CLASS_CONFIG, StringSerializer.class);
+        KafkaTemplate<String, String> kafkaTemplate = new KafkaTemplate<>(new DefaultKafkaProducerFactory<>(producerProperties));
+        broadcaster = new DataEventBroadcaster(kafkaTemplate, new ObjectMapper());
+        properties = new DataEventProperties();
+        beanFactory = new DefaultListableBeanFactory();
+        startup = new DataEventStartup(metadataRegistry, broadcaster, properties, kafkaTemplate, beanFactory.getBeanProvider(KafkaAdmin.class));
+    }
+
+    @Test
+    void testWarmUpEveryEnabledEntity() {
+        EventSerializer serializer = mock(EventSerializer.class);
+        when(metadataRegistry.getRegisteredMetadata()).thenReturn(List.of(
+                createMetadata(Order.class, "order", serializer),
+                createMetadata(Invoice.class, "invoice", serializer),
+                DataEventMetadata.disabled(Object.class)));
+
+        startup.afterSingletonsInstantiated();
+
+        verify(serializer).warmUp(Order.class);
+        verify(serializer).warmUp(Invoice.class);
+        verifyNoMoreInteractions(serializer);
+    }
+
+    @Test
+    void testWarmUpFailureFailsStartup() {
+        EventSerializer serializer = mock(EventSerializer.class);
+        IllegalArgumentException failure = new IllegalArgumentException("Could not build the serializer of Order");
+        doThrow(failure).when(serializer).warmUp(Order.class);
+        when(metadataRegistry.getRegisteredMetadata()).thenReturn(List.of(createMetadata(Order.class, "order", serializer)));
+
+        assertSame(failure, assertThrows(IllegalArgumentException.class, () -> startup.afterSingletonsInstantiated()));
+    }
+
+    @Test
+    void testWarmUpOfTheDefaultSerializer() {
+        when(metadataRegistry.getRegisteredMetadata()).thenReturn(List.of(createMetadata(Order.class, "order", null)));
+
+        startup.afterSingletonsInstantiated();
+
+        verify(metadataRegistry).getMetadata(Order.class);
+    }
+
+    @Test
+    void testTopicsIncludeDeadLetterTopics() {
+        properties.setSendFailurePolicy(SendFailurePolicy.DEAD_LETTER_TOPIC);
+
+        Set<String> topics = startup.getTopics(List.of(createMetadata(Order.class, "order", null)));
+
+        assertEquals(Set.of("order.created", "order.updated", "order.deleted",
+                "order.created.dlt", "order.updated.dlt", "order.deleted.dlt"), topics);
+    }
+
+    @Test
+    void testValidationFailsOnMissingTopics() {
+        properties.setStartupWarmUpEnabled(false);
+        properties.setStartupTopicsMode(TopicProvisioning.VALIDATE);
+        when(metadataRegistry.getRegisteredMetadata()).thenReturn(List.of(
+                createMetadata(Order.class, "order", null),
+                createMetadata(Invoice.class, "invoice", null)));
+
+        IllegalStateException error = assertThrows(IllegalStateException.class, () -> startup.afterSingletonsInstantiated());
+
+        assertEquals("Data event topics [invoice.created, invoice.updated, invoice.deleted] do not exist", error.getMessage());
+    }
+
+    @Test
+    void testValidationPassesWhenTopicsExist() {
+        properties.setStartupTopicsMode(TopicProvisioning.VALIDATE);
+        when(metadataRegistry.getRegisteredMetadata()).thenReturn(List.of(createMetadata(Order.class, "order", null)));
+
+        startup.afterSingletonsInstantiated();
+    }
+
+    @Test
+    void testMissingTopicsAreCreatedThroughTheKafkaAdminBean() throws Exception {
+        KafkaAdmin kafkaAdmin = spy(new KafkaAdmin(Map.of("bootstrap.servers", broker.getBrokersAsString())));
+        beanFactory.registerSingleton("kafkaAdmin", kafkaAdmin);
+        properties.setStartupTopicsMode(TopicProvisioning.CREATE);
+        properties.setStartupTopicsPartitions(3);
+        when(metadataRegistry.getRegisteredMetadata()).thenReturn(List.of(
+                createMetadata(Order.class, "order", null),
+                createMetadata(Payment.class, "payment", null)));
+
+        startup.afterSingletonsInstantiated();
+
+        verify(kafkaAdmin).createOrModifyTopics(any());
+        try (AdminClient adminClient = AdminClient.create(kafkaAdmin.getConfigurationProperties())) {
+            Map<String, TopicDescription> descriptions = adminClient.describeTopics(List.of("payment.created", "payment.updated", "payment.deleted"))
+                    .allTopicNames().get();
+            assertEquals(List.of(3, 3, 3), descriptions.values().stream().map(description -> description.partitions().size()).toList());
+        }
+    }
+
+    private static DataEventMetadata createMetadata(Class<?> entityClass, String name, EventSerializer serializer) {
+        return DataEventMetadata.builder()
+                .entityClass(entityClass)
+                .enabled(true)
+                .creationTopic(name + ".created")
+                .updateTopic(name + ".updated")
+                .deletionTopic(name + ".deleted")
+                .serializer(serializer)
+                .build();
+    }
+
+    @Getter
+    public static class Order {
+        private int id;
+    }
+
+    @Getter
+    public static class Invoice {
+        private int id;
+    }
+
+    @Getter
+    public static class Payment {
+        private int id;
+    }
+}
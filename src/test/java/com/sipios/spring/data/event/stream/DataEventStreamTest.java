@@ -0,0 +1,183 @@
+package com.sipios.spring.data.event.stream;
+
+import com.sipios.spring.data.event.config.DataEventProperties;
+import com.sipios.spring.data.event.metadata.DataEventMetadata;
+import com.sipios.spring.data.event.metadata.DataEventType;
+import com.sipios.spring.data.event.model.DataEvent;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.BufferOverflowException;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Flow;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.*;
+
+public class DataEventStreamTest {
+
+    private final DataEventStream stream = new DataEventStream(new DataEventProperties());
+
+    @AfterEach
+    void afterEach() {
+        stream.stop();
+    }
+
+    @Test
+    void testEventsAreDeliveredOnRequest() throws Exception {
+        TestSubscriber subscriber = new TestSubscriber();
+        stream.publisher(Order.class).subscribe(subscriber);
+        DataEvent first = event(DataEventType.CREATED, new Order(1));
+        DataEvent second = event(DataEventType.UPDATED, new Order(1));
+
+        stream.publish(List.of(first, second));
+        subscriber.subscription.request(1);
+
+        assertSame(first, subscriber.next());
+        assertNull(subscriber.events.poll(100, TimeUnit.MILLISECONDS));
+        subscriber.subscription.request(1);
+        assertSame(second, subscriber.next());
+    }
+
+    @Test
+    void testEventsAreFilteredByEntityClassAndType() throws Exception {
+        TestSubscriber subscriber = new TestSubscriber();
+        stream.publisher(Order.class, DataEventType.DELETED).subscribe(subscriber);
+        Order order = new SpecialOrder(2);
+        DataEvent deleted = event(DataEventType.DELETED, order);
+
+        stream.publish(List.of(event(DataEventType.DELETED, "other"), event(DataEventType.UPDATED, new Order(1)), deleted));
+        subscriber.subscription.request(Long.MAX_VALUE);
+
+        DataEvent received = subscriber.next();
+        assertSame(deleted, received);
+        assertSame(order, received.entity());
+        assertNull(subscriber.events.poll(100, TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void testOldestEventsAreDroppedWhenTheBufferIsFull() throws Exception {
+        TestSubscriber subscriber = new TestSubscriber();
+        stream.publisher(Order.class, EnumSet.allOf(DataEventType.class), 2, BufferOverflow.DROP_OLDEST).subscribe(subscriber);
+        List<DataEvent> events = List.of(event(DataEventType.CREATED, new Order(1)), event(DataEventType.CREATED, new Order(2)),
+                event(DataEventType.CREATED, new Order(3)));
+
+        stream.publish(events);
+        subscriber.subscription.request(3);
+
+        assertSame(events.get(1), subscriber.next());
+        assertSame(events.get(2), subscriber.next());
+        assertEquals(1, stream.getDroppedEventCount());
+    }
+
+    @Test
+    void testLatestEventsAreDroppedWhenTheBufferIsFull() throws Exception {
+        TestSubscriber subscriber = new TestSubscriber();
+        stream.publisher(Order.class, EnumSet.allOf(DataEventType.class), 2, BufferOverflow.DROP_LATEST).subscribe(subscriber);
+        List<DataEvent> events = List.of(event(DataEventType.CREATED, new Order(1)), event(DataEventType.CREATED, new Order(2)),
+                event(DataEventType.CREATED, new Order(3)));
+
+        stream.publish(events);
+        subscriber.subscription.request(3);
+
+        assertSame(events.get(0), subscriber.next());
+        assertSame(events.get(1), subscriber.next());
+        assertEquals(1, stream.getDroppedEventCount());
+    }
+
+    @Test
+    void testSubscriptionFailsWhenTheBufferOverflows() throws Exception {
+        TestSubscriber subscriber = new TestSubscriber();
+        stream.publisher(Order.class, EnumSet.allOf(DataEventType.class), 1, BufferOverflow.ERROR).subscribe(subscriber);
+
+        stream.publish(List.of(event(DataEventType.CREATED, new Order(1)), event(DataEventType.CREATED, new Order(2))));
+
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertInstanceOf(BufferOverflowException.class, subscriber.error);
+        assertTrue(subscriber.events.isEmpty());
+        assertEquals(0, stream.getSubscriptionCount());
+    }
+
+    @Test
+    void testCancelledSubscriptionsAreRemoved() {
+        TestSubscriber subscriber = new TestSubscriber();
+        stream.publisher().subscribe(subscriber);
+        assertEquals(1, stream.getSubscriptionCount());
+
+        subscriber.subscription.cancel();
+
+        assertEquals(0, stream.getSubscriptionCount());
+    }
+
+    @Test
+    void testSubscriptionsAreCompletedOnStop() throws Exception {
+        TestSubscriber subscriber = new TestSubscriber();
+        stream.publisher().subscribe(subscriber);
+        DataEvent event = event(DataEventType.CREATED, new Order(1));
+        stream.publish(List.of(event));
+        subscriber.subscription.request(1);
+
+        stream.stop();
+
+        assertTrue(subscriber.terminated.await(5, TimeUnit.SECONDS));
+        assertSame(event, subscriber.events.poll());
+        assertNull(subscriber.error);
+    }
+
+    private static DataEvent event(DataEventType type, Object entity) {
+        return new DataEvent(type, entity, DataEventMetadata.builder().entityClass(entity.getClass()).enabled(true).build());
+    }
+
+    private static class TestSubscriber implements Flow.Subscriber<DataEvent> {
+
+        private final BlockingQueue<DataEvent> events = new LinkedBlockingQueue<>();
+        private final CountDownLatch terminated = new CountDownLatch(1);
+        private Flow.Subscription subscription;
+        private volatile Throwable error;
+
+        @Override
+        public void onSubscribe(Flow.Subscription subscription) {
+            this.subscription = subscription;
+        }
+
+        @Override
+        public void onNext(DataEvent event) {
+            events.add(event);
+        }
+
+        @Override
+        public void onError(Throwable error) {
+            this.error = error;
+            terminated.countDown();
+        }
+
+        @Override
+        public void onComplete() {
+            terminated.countDown();
+        }
+
+        DataEvent next() throws InterruptedException {
+            DataEvent event = events.poll(5, TimeUnit.SECONDS);
+            assertNotNull(event);
+            return event;
+        }
+    }
+
+    public static class Order {
+        private final int id;
+
+        public Order(int id) {
+            this.id = id;
+        }
+    }
+
+    public static class SpecialOrder extends Order {
+        public SpecialOrder(int id) {
+            super(id);
+        }
+    }
+}